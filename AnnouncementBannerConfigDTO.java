@@ -14,6 +14,7 @@ public class AnnouncementBannerConfigDTO {
     private String textColor;
     private String updatedBy;
     private Long updatedAtEpochMs;
+    private long version;
 
     public AnnouncementBannerConfigDTO() {
     }
@@ -102,6 +103,32 @@ public class AnnouncementBannerConfigDTO {
         this.updatedAtEpochMs = updatedAtEpochMs;
     }
 
+    /**
+     * Incremented on every save; used as the ETag of the public banner endpoint.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public AnnouncementBannerConfigDTO copy() {
+        AnnouncementBannerConfigDTO copy = new AnnouncementBannerConfigDTO();
+        copy.setEnabled(enabled);
+        copy.setTitle(title);
+        copy.setMessage(message);
+        copy.setIcon(icon);
+        copy.setBackgroundColor(backgroundColor);
+        copy.setBorderColor(borderColor);
+        copy.setTextColor(textColor);
+        copy.setUpdatedBy(updatedBy);
+        copy.setUpdatedAtEpochMs(updatedAtEpochMs);
+        copy.setVersion(version);
+        return copy;
+    }
+
     private static String safe(String value) {
         return value == null ? "" : value.trim();
     }
@@ -118,7 +145,8 @@ public class AnnouncementBannerConfigDTO {
             && Objects.equals(borderColor, that.borderColor)
             && Objects.equals(textColor, that.textColor)
             && Objects.equals(updatedBy, that.updatedBy)
-            && Objects.equals(updatedAtEpochMs, that.updatedAtEpochMs);
+            && Objects.equals(updatedAtEpochMs, that.updatedAtEpochMs)
+            && version == that.version;
     }
 
     @Override
@@ -126,7 +154,7 @@ public class AnnouncementBannerConfigDTO {
         return Objects.hash(
             enabled, title, message, icon,
             backgroundColor, borderColor, textColor,
-            updatedBy, updatedAtEpochMs
+            updatedBy, updatedAtEpochMs, version
         );
     }
 }
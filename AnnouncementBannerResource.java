@@ -15,7 +15,11 @@ import org.slf4j.LoggerFactory;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.ws.rs.*;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
 @Named
@@ -39,8 +43,12 @@ public class AnnouncementBannerResource {
         this.groupManager = ComponentAccessor.getGroupManager();
     }
 
+    /**
+     * Banner for customer pages. Sends an ETag and answers If-None-Match with 304, so clients
+     * polling for banner changes only transfer headers until the banner is saved again.
+     */
     @GET
-    public Response getPublicConfig() {
+    public Response getPublicConfig(@Context Request request) {
         ApplicationUser user = currentUser();
         if (user == null) {
             return Response.status(Response.Status.UNAUTHORIZED)
@@ -49,7 +57,16 @@ public class AnnouncementBannerResource {
         }
 
         AnnouncementBannerConfigDTO config = announcementBannerService.getConfig();
-        return Response.ok(config).build();
+        EntityTag etag = new EntityTag(config.getVersion() + "-" + config.getUpdatedAtEpochMs());
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.cacheControl(cacheControl).build();
+        }
+        return Response.ok(config).tag(etag).cacheControl(cacheControl).build();
     }
 
     @GET
@@ -29,10 +29,13 @@ public class AnnouncementBannerService {
     private static final int MAX_MESSAGE_LEN = 1000;
 
     private final PluginSettingsFactory pluginSettingsFactory;
+    private final ConfigChangeBroadcaster changeBroadcaster;
 
     @Inject
-    public AnnouncementBannerService(@ComponentImport PluginSettingsFactory pluginSettingsFactory) {
+    public AnnouncementBannerService(@ComponentImport PluginSettingsFactory pluginSettingsFactory,
+            ConfigChangeBroadcaster changeBroadcaster) {
         this.pluginSettingsFactory = pluginSettingsFactory;
+        this.changeBroadcaster = changeBroadcaster;
     }
 
     public AnnouncementBannerConfigDTO getConfig() {
@@ -73,6 +76,7 @@ public class AnnouncementBannerService {
             settings.put(KEY_TEXT_COLOR, normalized.getTextColor());
             settings.put(KEY_UPDATED_BY, normalized.getUpdatedBy());
             settings.put(KEY_UPDATED_AT, String.valueOf(normalized.getUpdatedAtEpochMs()));
+            changeBroadcaster.publish(ConfigChangeBroadcaster.Scope.ANNOUNCEMENT_BANNER, null);
 
             log.info(
                 "Saved RAIL announcement banner config. enabled={}, icon={}, updatedBy={}",
@@ -5,18 +5,30 @@ import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
 import com.atlassian.sal.api.pluginsettings.PluginSettings;
 import com.atlassian.sal.api.pluginsettings.PluginSettingsFactory;
 import com.samsungbuilder.jsm.dto.AnnouncementBannerConfigDTO;
+import org.codehaus.jackson.map.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 
 import javax.inject.Inject;
 import javax.inject.Named;
-
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Announcement banner settings, stored as one versioned JSON record and served from an in-memory
+ * snapshot that is replaced on save and dropped when another cluster node saves.
+ */
 @Named
 @ExportAsService({AnnouncementBannerService.class})
-public class AnnouncementBannerServiceImpl implements AnnouncementBannerService {
+public class AnnouncementBannerServiceImpl implements AnnouncementBannerService, InitializingBean, DisposableBean {
     private static final Logger log = LoggerFactory.getLogger(AnnouncementBannerServiceImpl.class);
 
     private static final String KEY_PREFIX = "com.samsungbuilder.jsm.rail-portal.announcementBanner.";
+    private static final String KEY_RECORD = KEY_PREFIX + "record";
+    // Per-field keys of the previous layout, read once for migration
     private static final String KEY_ENABLED = KEY_PREFIX + "enabled";
     private static final String KEY_TITLE = KEY_PREFIX + "title";
     private static final String KEY_MESSAGE = KEY_PREFIX + "message";
@@ -29,35 +41,45 @@ public class AnnouncementBannerServiceImpl implements AnnouncementBannerService
 
     private static final int MAX_TITLE_LEN = 120;
     private static final int MAX_MESSAGE_LEN = 1000;
+    private static final long MAX_AGE_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final Pattern HEX_COLOR = Pattern.compile("^#([A-Fa-f0-9]{6})$");
 
     private final PluginSettingsFactory pluginSettingsFactory;
+    private final ConfigChangeBroadcaster changeBroadcaster;
+    private final ConfigChangeBroadcaster.Listener remoteChangeListener = (scope, key, version) -> snapshot = null;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile AnnouncementBannerConfigDTO snapshot;
+    private volatile long snapshotLoadedAt;
 
     @Inject
-    public AnnouncementBannerServiceImpl(@ComponentImport PluginSettingsFactory pluginSettingsFactory) {
+    public AnnouncementBannerServiceImpl(@ComponentImport PluginSettingsFactory pluginSettingsFactory,
+            ConfigChangeBroadcaster changeBroadcaster) {
         this.pluginSettingsFactory = pluginSettingsFactory;
+        this.changeBroadcaster = changeBroadcaster;
     }
 
     @Override
-    public AnnouncementBannerConfigDTO getConfig() {
-        try {
-            PluginSettings settings = pluginSettingsFactory.createGlobalSettings();
+    public void afterPropertiesSet() {
+        changeBroadcaster.subscribe(ConfigChangeBroadcaster.Scope.ANNOUNCEMENT_BANNER, remoteChangeListener);
+    }
 
-            AnnouncementBannerConfigDTO dto = AnnouncementBannerConfigDTO.defaultDisabled();
-            dto.setEnabled(parseBoolean(settings.get(KEY_ENABLED), false));
-            dto.setTitle(readString(settings.get(KEY_TITLE), ""));
-            dto.setMessage(readString(settings.get(KEY_MESSAGE), ""));
-            dto.setIcon(validateIcon(readString(settings.get(KEY_ICON), "info")));
-            dto.setBackgroundColor(validateHex(readString(settings.get(KEY_BACKGROUND_COLOR), "#EFF6FF"), "#EFF6FF"));
-            dto.setBorderColor(validateHex(readString(settings.get(KEY_BORDER_COLOR), "#BFDBFE"), "#BFDBFE"));
-            dto.setTextColor(validateHex(readString(settings.get(KEY_TEXT_COLOR), "#1E3A8A"), "#1E3A8A"));
-            dto.setUpdatedBy(readString(settings.get(KEY_UPDATED_BY), ""));
-            dto.setUpdatedAtEpochMs(parseLong(settings.get(KEY_UPDATED_AT)));
+    @Override
+    public void destroy() {
+        changeBroadcaster.unsubscribe(ConfigChangeBroadcaster.Scope.ANNOUNCEMENT_BANNER, remoteChangeListener);
+    }
 
-            return normalize(dto);
-        } catch (Exception e) {
-            log.error("Failed to load announcement banner config", e);
-            return AnnouncementBannerConfigDTO.defaultDisabled();
+    /**
+     * Copy of the cached snapshot; PluginSettings is only read after a save on another node,
+     * after {@link #MAX_AGE_MS}, or while the stored record cannot be read.
+     */
+    @Override
+    public AnnouncementBannerConfigDTO getConfig() {
+        AnnouncementBannerConfigDTO current = snapshot;
+        if (current == null || System.currentTimeMillis() - snapshotLoadedAt >= MAX_AGE_MS) {
+            current = reload();
         }
+        return current.copy();
     }
 
     @Override
@@ -68,21 +90,20 @@ public class AnnouncementBannerServiceImpl implements AnnouncementBannerService
 
         try {
             PluginSettings settings = pluginSettingsFactory.createGlobalSettings();
-            settings.put(KEY_ENABLED, String.valueOf(normalized.isEnabled()));
-            settings.put(KEY_TITLE, normalized.getTitle());
-            settings.put(KEY_MESSAGE, normalized.getMessage());
-            settings.put(KEY_ICON, normalized.getIcon());
-            settings.put(KEY_BACKGROUND_COLOR, normalized.getBackgroundColor());
-            settings.put(KEY_BORDER_COLOR, normalized.getBorderColor());
-            settings.put(KEY_TEXT_COLOR, normalized.getTextColor());
-            settings.put(KEY_UPDATED_BY, normalized.getUpdatedBy());
-            settings.put(KEY_UPDATED_AT, String.valueOf(normalized.getUpdatedAtEpochMs()));
+            synchronized (this) {
+                AnnouncementBannerConfigDTO stored = readRecord(settings);
+                normalized.setVersion((stored != null ? stored.getVersion() : 0L) + 1);
+                settings.put(KEY_RECORD, objectMapper.writeValueAsString(normalized));
+                publishSnapshot(normalized.copy());
+            }
+            changeBroadcaster.publish(ConfigChangeBroadcaster.Scope.ANNOUNCEMENT_BANNER, null);
 
             log.info(
-                "Saved RAIL announcement banner config. enabled={}, icon={}, updatedBy={}",
+                "Saved RAIL announcement banner config. enabled={}, icon={}, updatedBy={}, version={}",
                 normalized.isEnabled(),
                 normalized.getIcon(),
-                updatedBy
+                updatedBy,
+                normalized.getVersion()
             );
 
             return normalized;
@@ -92,6 +113,61 @@ public class AnnouncementBannerServiceImpl implements AnnouncementBannerService
         }
     }
 
+    private synchronized AnnouncementBannerConfigDTO reload() {
+        try {
+            PluginSettings settings = pluginSettingsFactory.createGlobalSettings();
+            AnnouncementBannerConfigDTO config = readRecord(settings);
+            if (config == null) {
+                config = migrateLegacy(settings);
+            }
+            publishSnapshot(config);
+            return config;
+        } catch (Exception e) {
+            // Not cached: retry on the next request instead of serving "disabled" for MAX_AGE_MS
+            log.error("Failed to load announcement banner config", e);
+            return AnnouncementBannerConfigDTO.defaultDisabled();
+        }
+    }
+
+    private void publishSnapshot(AnnouncementBannerConfigDTO config) {
+        snapshotLoadedAt = System.currentTimeMillis();
+        snapshot = config;
+    }
+
+    private AnnouncementBannerConfigDTO readRecord(PluginSettings settings) throws IOException {
+        Object raw = settings.get(KEY_RECORD);
+        if (raw == null) {
+            return null;
+        }
+        return normalize(objectMapper.readValue(raw.toString(), AnnouncementBannerConfigDTO.class));
+    }
+
+    /**
+     * Build the record from the per-field keys written by earlier versions. Saves do not update
+     * those keys, so downgrading the plugin after the first save here is not supported.
+     */
+    private AnnouncementBannerConfigDTO migrateLegacy(PluginSettings settings) throws IOException {
+        AnnouncementBannerConfigDTO dto = AnnouncementBannerConfigDTO.defaultDisabled();
+        if (settings.get(KEY_ENABLED) == null && settings.get(KEY_UPDATED_AT) == null) {
+            return normalize(dto);
+        }
+        dto.setEnabled(parseBoolean(settings.get(KEY_ENABLED), false));
+        dto.setTitle(readString(settings.get(KEY_TITLE), ""));
+        dto.setMessage(readString(settings.get(KEY_MESSAGE), ""));
+        dto.setIcon(readString(settings.get(KEY_ICON), "info"));
+        dto.setBackgroundColor(readString(settings.get(KEY_BACKGROUND_COLOR), "#EFF6FF"));
+        dto.setBorderColor(readString(settings.get(KEY_BORDER_COLOR), "#BFDBFE"));
+        dto.setTextColor(readString(settings.get(KEY_TEXT_COLOR), "#1E3A8A"));
+        dto.setUpdatedBy(readString(settings.get(KEY_UPDATED_BY), ""));
+        dto.setUpdatedAtEpochMs(parseLong(settings.get(KEY_UPDATED_AT)));
+        dto.setVersion(1L);
+
+        AnnouncementBannerConfigDTO normalized = normalize(dto);
+        settings.put(KEY_RECORD, objectMapper.writeValueAsString(normalized));
+        log.info("Migrated announcement banner config to a single record");
+        return normalized;
+    }
+
     private AnnouncementBannerConfigDTO normalize(AnnouncementBannerConfigDTO input) {
         AnnouncementBannerConfigDTO dto = input == null
             ? AnnouncementBannerConfigDTO.defaultDisabled()
@@ -107,6 +183,7 @@ public class AnnouncementBannerServiceImpl implements AnnouncementBannerService
         normalized.setTextColor(validateHex(dto.getTextColor(), "#1E3A8A"));
         normalized.setUpdatedBy(dto.getUpdatedBy());
         normalized.setUpdatedAtEpochMs(dto.getUpdatedAtEpochMs());
+        normalized.setVersion(dto.getVersion());
         return normalized;
     }
 
@@ -132,7 +209,7 @@ public class AnnouncementBannerServiceImpl implements AnnouncementBannerService
 
     private String validateHex(String value, String fallback) {
         String safe = value == null ? "" : value.trim();
-        return safe.matches("^#([A-Fa-f0-9]{6})$") ? safe : fallback;
+        return HEX_COLOR.matcher(safe).matches() ? safe : fallback;
     }
 
     private String readString(Object raw, String fallback) {
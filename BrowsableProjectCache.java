@@ -0,0 +1,296 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/BrowsableProjectCache.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.crowd.event.group.GroupMembershipCreatedEvent;
+import com.atlassian.crowd.event.group.GroupMembershipDeletedEvent;
+import com.atlassian.event.api.EventListener;
+import com.atlassian.event.api.EventPublisher;
+import com.atlassian.jira.event.ProjectCreatedEvent;
+import com.atlassian.jira.event.ProjectDeletedEvent;
+import com.atlassian.jira.event.ProjectUpdatedEvent;
+import com.atlassian.jira.event.permission.PermissionAddedEvent;
+import com.atlassian.jira.event.permission.PermissionDeletedEvent;
+import com.atlassian.jira.event.permission.PermissionSchemeAddedToProjectEvent;
+import com.atlassian.jira.event.permission.PermissionSchemeRemovedFromProjectEvent;
+import com.atlassian.jira.permission.ProjectPermissions;
+import com.atlassian.jira.project.Project;
+import com.atlassian.jira.project.ProjectManager;
+import com.atlassian.jira.security.PermissionManager;
+import com.atlassian.jira.user.ApplicationUser;
+import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived per-user cache of the projects a user can browse.
+ *
+ * The portal list, search, issue fallback and project role/field endpoints each asked
+ * PermissionManager about one project at a time, so one landing page render resolved the
+ * permission schemes hundreds of times. Here the user's browsable projects are resolved once
+ * with PermissionManager#getProjects and kept as a project id bitset (plus the key set) for
+ * {@link #TTL_MS}:
+ *  - LRU bounded to {@link #MAX_USERS} users
+ *  - permission scheme edits, scheme (un)assignment, group membership changes, project
+ *    creation/deletion and project key changes drop every entry (memberships are nested and
+ *    schemes are shared, so the affected users cannot be narrowed down cheaply)
+ *  - every invalidation bumps a generation; a load that started before it is returned to its
+ *    caller but not cached, so it cannot put a pre-event entry back for the whole TTL
+ *
+ * Jira publishes these events on the node where the change was made only; the TTL is the bound
+ * on staleness for changes made on other cluster nodes and for project role actor edits.
+ */
+@Named
+public class BrowsableProjectCache implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BrowsableProjectCache.class);
+
+    private static final int MAX_USERS = 5000;
+    private static final long TTL_MS = TimeUnit.SECONDS.toMillis(60);
+    private static final String ANONYMOUS = "";
+
+    private final PermissionManager permissionManager;
+    private final ProjectManager projectManager;
+    private final EventPublisher eventPublisher;
+
+    // Access-ordered for LRU eviction; guarded by "this"
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > MAX_USERS) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // Bumped by every invalidation; guarded by "this"
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong loadFailures = new AtomicLong();
+
+    @Inject
+    public BrowsableProjectCache(
+            @ComponentImport PermissionManager permissionManager,
+            @ComponentImport ProjectManager projectManager,
+            @ComponentImport EventPublisher eventPublisher) {
+        this.permissionManager = permissionManager;
+        this.projectManager = projectManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        eventPublisher.register(this);
+    }
+
+    @Override
+    public void destroy() {
+        eventPublisher.unregister(this);
+        invalidateAll();
+    }
+
+    /**
+     * Whether the user (null = anonymous) has Browse Projects permission on the project.
+     */
+    public boolean canBrowse(ApplicationUser user, Project project) {
+        if (project == null || project.getId() == null) {
+            return false;
+        }
+        Entry entry = getEntry(user);
+        if (entry == null) {
+            return checkDirectly(user, project);
+        }
+        long id = project.getId();
+        return id >= 0 && id <= Integer.MAX_VALUE ? entry.projectIds.get((int) id) : entry.projectKeys.contains(project.getKey());
+    }
+
+    public boolean canBrowse(ApplicationUser user, String projectKey) {
+        if (projectKey == null) {
+            return false;
+        }
+        Entry entry = getEntry(user);
+        if (entry != null) {
+            return entry.projectKeys.contains(projectKey);
+        }
+        return checkDirectly(user, projectManager.getProjectObjByKey(projectKey));
+    }
+
+    /**
+     * Keys of all projects the user can browse. Unmodifiable.
+     */
+    public Set<String> getBrowsableProjectKeys(ApplicationUser user) {
+        Entry entry = getEntry(user);
+        if (entry != null) {
+            return entry.projectKeys;
+        }
+        // Resolution failed; do not cache and let the caller see nothing rather than everything
+        return Collections.emptySet();
+    }
+
+    /**
+     * Forget one user's projects, e.g. after changing their group memberships through RAIL.
+     */
+    public synchronized void invalidate(ApplicationUser user) {
+        generation++;
+        entries.remove(userKey(user));
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        if (!entries.isEmpty()) {
+            invalidations.incrementAndGet();
+        }
+        entries.clear();
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxUsers", MAX_USERS);
+        stats.put("ttlMs", TTL_MS);
+        stats.put("hits", hits.get());
+        stats.put("loads", loads.get());
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("loadFailures", loadFailures.get());
+        return stats;
+    }
+
+    @EventListener
+    public void onPermissionAdded(PermissionAddedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onPermissionDeleted(PermissionDeletedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onPermissionSchemeAddedToProject(PermissionSchemeAddedToProjectEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onPermissionSchemeRemovedFromProject(PermissionSchemeRemovedFromProjectEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onGroupMembershipCreated(GroupMembershipCreatedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onGroupMembershipDeleted(GroupMembershipDeletedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onProjectCreated(ProjectCreatedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onProjectDeleted(ProjectDeletedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onProjectUpdated(ProjectUpdatedEvent event) {
+        // Entries hold project keys; other project edits do not change who can browse what
+        if (event.getOldProject() != null && event.getProject() != null
+                && !event.getOldProject().getKey().equals(event.getProject().getKey())) {
+            invalidateAll();
+        }
+    }
+
+    private Entry getEntry(ApplicationUser user) {
+        String key = userKey(user);
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (this) {
+            Entry cached = entries.get(key);
+            if (cached != null && cached.expiresAt > now) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+
+        Entry loaded = load(user);
+        if (loaded != null) {
+            synchronized (this) {
+                // Invalidated while loading: the result may predate the change, do not keep it
+                if (generation == loadGeneration) {
+                    entries.put(key, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private Entry load(ApplicationUser user) {
+        loads.incrementAndGet();
+        try {
+            BitSet projectIds = new BitSet();
+            Set<String> projectKeys = new HashSet<>();
+            for (Project project : permissionManager.getProjects(ProjectPermissions.BROWSE_PROJECTS, user)) {
+                Long id = project.getId();
+                if (id != null && id >= 0 && id <= Integer.MAX_VALUE) {
+                    projectIds.set(id.intValue());
+                }
+                projectKeys.add(project.getKey());
+            }
+            return new Entry(projectIds, Collections.unmodifiableSet(projectKeys),
+                    System.currentTimeMillis() + TTL_MS);
+        } catch (Exception e) {
+            loadFailures.incrementAndGet();
+            log.warn("Failed to resolve browsable projects for {}: {}", userKey(user), e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean checkDirectly(ApplicationUser user, Project project) {
+        try {
+            return project != null && permissionManager.hasPermission(ProjectPermissions.BROWSE_PROJECTS, project, user);
+        } catch (Exception e) {
+            log.debug("Unable to evaluate browse permission for project {}: {}", project.getKey(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static String userKey(ApplicationUser user) {
+        return user != null ? user.getKey() : ANONYMOUS;
+    }
+
+    private static final class Entry {
+        private final BitSet projectIds;
+        private final Set<String> projectKeys;
+        private final long expiresAt;
+
+        private Entry(BitSet projectIds, Set<String> projectKeys, long expiresAt) {
+            this.projectIds = projectIds;
+            this.projectKeys = projectKeys;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/ConfigChangeBroadcaster.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.jira.cluster.ClusterManager;
+import com.atlassian.jira.cluster.ClusterMessageConsumer;
+import com.atlassian.jira.cluster.ClusterMessagingService;
+import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cluster-wide "config changed" channel for RAIL state kept in PluginSettings.
+ *
+ * PluginSettings is shared by all Data Center nodes, but the in-memory caches in front of it
+ * (PortalConfigCache, PortalLiveStateRegistry, RequestTypeSearchIndex, ...) are per node. Every
+ * write publishes "scope, key, version" here; peer nodes receive it through Jira's
+ * ClusterMessagingService and drop their local copy, which is re-read on the next access.
+ *
+ * Versions come from a Lamport clock (max of the wall clock and everything seen so far, plus one),
+ * so they increase across nodes even with some clock skew. Invalidation is idempotent, so messages
+ * are applied even when they arrive out of order; the versions are reported for diagnostics.
+ *
+ * Listeners for a scope run in subscription order. Components subscribe in afterPropertiesSet,
+ * so a dependency (e.g. PortalLiveStateRegistry) always runs before its dependents.
+ * On a single node Jira delivers nothing remotely and publishing only bumps the version.
+ */
+@Named
+public class ConfigChangeBroadcaster implements ClusterMessageConsumer, InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigChangeBroadcaster.class);
+
+    // Jira limits channel names to 20 characters and messages to 200 characters
+    static final String CHANNEL = "RAIL-CONFIG-CHANGE";
+    private static final int MAX_MESSAGE_LENGTH = 200;
+    private static final String SEPARATOR = "|";
+    private static final String ALL_KEYS = "*";
+
+    /**
+     * What changed. The key is a project key for project-scoped state, or null for "everything".
+     */
+    public enum Scope {
+        PORTAL_CONFIG,
+        PORTAL_HISTORY,
+        GLOBAL_CONFIG,
+        ANNOUNCEMENT_BANNER
+    }
+
+    /**
+     * Receives changes made on other nodes.
+     */
+    public interface Listener {
+        void onRemoteChange(Scope scope, String key, long version);
+    }
+
+    private final ClusterMessagingService clusterMessagingService;
+    private final ClusterManager clusterManager;
+
+    private final Map<Scope, List<Listener>> listeners = new EnumMap<>(Scope.class);
+    private final ConcurrentMap<Scope, Long> lastVersions = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong listenerFailures = new AtomicLong();
+
+    @Inject
+    public ConfigChangeBroadcaster(
+            @ComponentImport ClusterMessagingService clusterMessagingService,
+            @ComponentImport ClusterManager clusterManager) {
+        this.clusterMessagingService = clusterMessagingService;
+        this.clusterManager = clusterManager;
+        for (Scope scope : Scope.values()) {
+            listeners.put(scope, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        clusterMessagingService.registerListener(CHANNEL, this);
+    }
+
+    @Override
+    public void destroy() {
+        clusterMessagingService.unregisterListener(CHANNEL, this);
+    }
+
+    public void subscribe(Scope scope, Listener listener) {
+        listeners.get(scope).add(listener);
+    }
+
+    public void unsubscribe(Scope scope, Listener listener) {
+        listeners.get(scope).remove(listener);
+    }
+
+    /**
+     * Tell the other nodes that {@code key} (null = everything) in {@code scope} changed.
+     * Call after the PluginSettings write succeeded. Never throws.
+     *
+     * @return the version assigned to the change
+     */
+    public long publish(Scope scope, String key) {
+        long version = nextVersion();
+        lastVersions.merge(scope, version, Math::max);
+        String message = scope.name() + SEPARATOR + version + SEPARATOR + (key != null ? key : ALL_KEYS);
+        if (message.length() > MAX_MESSAGE_LENGTH) {
+            // Fall back to invalidating the whole scope rather than sending a truncated key
+            message = scope.name() + SEPARATOR + version + SEPARATOR + ALL_KEYS;
+        }
+        try {
+            clusterMessagingService.sendRemote(CHANNEL, message);
+            published.incrementAndGet();
+            log.debug("Published config change {}", message);
+        } catch (Exception e) {
+            log.warn("Could not publish config change {}: {}", message, e.getMessage());
+        }
+        return version;
+    }
+
+    @Override
+    public void receive(String channel, String message, String senderId) {
+        if (!CHANNEL.equals(channel) || message == null) {
+            return;
+        }
+        String[] parts = message.split("\\" + SEPARATOR, 3);
+        Scope scope;
+        long version;
+        try {
+            scope = Scope.valueOf(parts[0]);
+            version = Long.parseLong(parts[1]);
+        } catch (RuntimeException e) {
+            // Unknown scope (e.g. a newer plugin version on a peer during a rolling upgrade)
+            rejected.incrementAndGet();
+            log.debug("Ignoring config change message '{}' from node {}", message, senderId);
+            return;
+        }
+        String key = parts.length > 2 && !ALL_KEYS.equals(parts[2]) ? parts[2] : null;
+
+        received.incrementAndGet();
+        clock.accumulateAndGet(version, Math::max);
+        lastVersions.merge(scope, version, Math::max);
+        log.debug("Config change {} {} (version {}) from node {}", scope, key != null ? key : ALL_KEYS, version, senderId);
+
+        for (Listener listener : listeners.get(scope)) {
+            try {
+                listener.onRemoteChange(scope, key, version);
+            } catch (Exception e) {
+                listenerFailures.incrementAndGet();
+                log.warn("Config change listener failed for {} {}: {}", scope, key, e.getMessage());
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("clustered", clusterManager.isClustered());
+        stats.put("nodeId", clusterManager.getNodeId());
+        stats.put("channel", CHANNEL);
+        stats.put("published", published.get());
+        stats.put("received", received.get());
+        stats.put("rejected", rejected.get());
+        stats.put("listenerFailures", listenerFailures.get());
+        Map<String, Object> versions = new LinkedHashMap<>();
+        for (Scope scope : Scope.values()) {
+            versions.put(scope.name().toLowerCase(Locale.ROOT), lastVersions.get(scope));
+        }
+        stats.put("lastVersions", versions);
+        return stats;
+    }
+
+    private long nextVersion() {
+        long now = System.currentTimeMillis();
+        return clock.updateAndGet(current -> Math.max(now, current + 1));
+    }
+}
@@ -0,0 +1,288 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/CustomFieldApplicabilityIndex.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.event.api.EventListener;
+import com.atlassian.event.api.EventPublisher;
+import com.atlassian.jira.event.ProjectCreatedEvent;
+import com.atlassian.jira.event.ProjectDeletedEvent;
+import com.atlassian.jira.event.issue.field.CustomFieldCreatedEvent;
+import com.atlassian.jira.event.issue.field.CustomFieldDeletedEvent;
+import com.atlassian.jira.event.issue.field.CustomFieldUpdatedEvent;
+import com.atlassian.jira.issue.CustomFieldManager;
+import com.atlassian.jira.issue.fields.CustomField;
+import com.atlassian.jira.issue.fields.config.FieldConfigScheme;
+import com.atlassian.jira.project.Project;
+import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory project -> applicable custom field index.
+ *
+ * Resolving which custom fields apply to a project means walking every field's
+ * configuration schemes (contexts) and their associated projects. This index does that
+ * walk once for all fields and keeps the result until a custom field or project event
+ * invalidates it, so /projects/{projectKey}/fields becomes a map lookup.
+ *
+ * Context edits do not publish a dedicated event, so the index also expires after
+ * {@link #MAX_AGE_MS} as a safety net.
+ */
+@Named
+public class CustomFieldApplicabilityIndex implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomFieldApplicabilityIndex.class);
+    private static final long MAX_AGE_MS = TimeUnit.MINUTES.toMillis(15);
+
+    private final CustomFieldManager customFieldManager;
+    private final EventPublisher eventPublisher;
+
+    private volatile Snapshot snapshot;
+
+    @Inject
+    public CustomFieldApplicabilityIndex(
+            @ComponentImport CustomFieldManager customFieldManager,
+            @ComponentImport EventPublisher eventPublisher) {
+        this.customFieldManager = customFieldManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        eventPublisher.register(this);
+    }
+
+    @Override
+    public void destroy() {
+        eventPublisher.unregister(this);
+    }
+
+    /**
+     * Custom fields applicable to the project (global contexts + project-scoped contexts),
+     * in the same order as CustomFieldManager#getCustomFieldObjects().
+     */
+    public List<FieldEntry> getApplicableFields(Project project) {
+        if (project == null || project.getId() == null) {
+            return Collections.emptyList();
+        }
+        Snapshot current = currentSnapshot();
+        List<FieldEntry> scoped = current.fieldsByProject.getOrDefault(project.getId(), Collections.emptyList());
+        if (scoped.isEmpty()) {
+            return current.globalFields;
+        }
+        return mergeByOrdinal(current.globalFields, scoped);
+    }
+
+    /**
+     * Index statistics for diagnostics.
+     */
+    public Map<String, Object> getStats() {
+        Snapshot current = currentSnapshot();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("customFieldCount", current.allFields.size());
+        stats.put("globalFieldCount", current.globalFields.size());
+        stats.put("indexedProjectCount", current.fieldsByProject.size());
+        stats.put("builtAt", current.builtAt);
+        stats.put("buildTimeMs", current.buildTimeMs);
+        return stats;
+    }
+
+    /**
+     * Drop the index; it is rebuilt on the next lookup.
+     */
+    public void invalidate() {
+        snapshot = null;
+        log.debug("Custom field applicability index invalidated");
+    }
+
+    @EventListener
+    public void onCustomFieldCreated(CustomFieldCreatedEvent event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void onCustomFieldUpdated(CustomFieldUpdatedEvent event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void onCustomFieldDeleted(CustomFieldDeletedEvent event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void onProjectCreated(ProjectCreatedEvent event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void onProjectDeleted(ProjectDeletedEvent event) {
+        invalidate();
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.builtAt < MAX_AGE_MS) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || System.currentTimeMillis() - current.builtAt >= MAX_AGE_MS) {
+                current = build();
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot build() {
+        long start = System.currentTimeMillis();
+        List<FieldEntry> allFields = new ArrayList<>();
+        List<FieldEntry> globalFields = new ArrayList<>();
+        Map<Long, List<FieldEntry>> fieldsByProject = new HashMap<>();
+
+        int ordinal = 0;
+        for (CustomField cf : customFieldManager.getCustomFieldObjects()) {
+            FieldEntry entry = indexField(cf, ordinal++);
+            allFields.add(entry);
+            if (entry.global) {
+                globalFields.add(entry);
+                continue;
+            }
+            for (Long projectId : entry.projectIds) {
+                fieldsByProject.computeIfAbsent(projectId, id -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        Map<Long, List<FieldEntry>> frozen = new HashMap<>();
+        fieldsByProject.forEach((projectId, fields) -> frozen.put(projectId, Collections.unmodifiableList(fields)));
+
+        long buildTimeMs = System.currentTimeMillis() - start;
+        log.debug("Built custom field applicability index: {} fields ({} global), {} projects in {}ms",
+                allFields.size(), globalFields.size(), frozen.size(), buildTimeMs);
+        return new Snapshot(
+                Collections.unmodifiableList(allFields),
+                Collections.unmodifiableList(globalFields),
+                frozen,
+                System.currentTimeMillis(),
+                buildTimeMs);
+    }
+
+    /**
+     * Inspect ALL field config schemes (contexts) of the field. A global context is
+     * represented by an empty associated-project list on a scheme.
+     */
+    private FieldEntry indexField(CustomField cf, int ordinal) {
+        String typeName = cf.getCustomFieldType() != null ? cf.getCustomFieldType().getName() : "unknown";
+        boolean global = false;
+        Set<Long> projectIds = new LinkedHashSet<>();
+        List<Map<String, Object>> schemes = new ArrayList<>();
+
+        try {
+            @SuppressWarnings("unchecked")
+            List<FieldConfigScheme> configSchemes = (List<FieldConfigScheme>) cf.getConfigurationSchemes();
+            if (configSchemes != null) {
+                for (FieldConfigScheme scheme : configSchemes) {
+                    List<Project> associated = scheme.getAssociatedProjectObjects();
+                    boolean schemeGlobal = associated == null || associated.isEmpty();
+                    List<String> projectKeys = new ArrayList<>();
+                    if (schemeGlobal) {
+                        global = true;
+                    } else {
+                        for (Project p : associated) {
+                            if (p != null && p.getId() != null) {
+                                projectIds.add(p.getId());
+                                projectKeys.add(p.getKey());
+                            }
+                        }
+                    }
+                    Map<String, Object> schemeInfo = new LinkedHashMap<>();
+                    schemeInfo.put("id", scheme.getId());
+                    schemeInfo.put("name", scheme.getName());
+                    schemeInfo.put("global", schemeGlobal);
+                    schemeInfo.put("projectKeys", projectKeys);
+                    schemes.add(schemeInfo);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to evaluate context schemes for custom field {}: {}", cf.getId(), e.getMessage());
+        }
+
+        return new FieldEntry(cf.getId(), cf.getName(), typeName, ordinal, global,
+                Collections.unmodifiableList(new ArrayList<>(projectIds)), Collections.unmodifiableList(schemes));
+    }
+
+    private List<FieldEntry> mergeByOrdinal(List<FieldEntry> a, List<FieldEntry> b) {
+        List<FieldEntry> merged = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() || j < b.size()) {
+            if (j >= b.size() || (i < a.size() && a.get(i).ordinal <= b.get(j).ordinal)) {
+                merged.add(a.get(i++));
+            } else {
+                merged.add(b.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    private static final class Snapshot {
+        private final List<FieldEntry> allFields;
+        private final List<FieldEntry> globalFields;
+        private final Map<Long, List<FieldEntry>> fieldsByProject;
+        private final long builtAt;
+        private final long buildTimeMs;
+
+        private Snapshot(List<FieldEntry> allFields, List<FieldEntry> globalFields,
+                         Map<Long, List<FieldEntry>> fieldsByProject, long builtAt, long buildTimeMs) {
+            this.allFields = allFields;
+            this.globalFields = globalFields;
+            this.fieldsByProject = fieldsByProject;
+            this.builtAt = builtAt;
+            this.buildTimeMs = buildTimeMs;
+        }
+    }
+
+    /**
+     * Immutable custom field entry in the index.
+     */
+    public static final class FieldEntry {
+        private final String id;
+        private final String name;
+        private final String typeName;
+        private final int ordinal;
+        private final boolean global;
+        private final List<Long> projectIds;
+        private final List<Map<String, Object>> schemes;
+
+        private FieldEntry(String id, String name, String typeName, int ordinal, boolean global,
+                           List<Long> projectIds, List<Map<String, Object>> schemes) {
+            this.id = id;
+            this.name = name;
+            this.typeName = typeName;
+            this.ordinal = ordinal;
+            this.global = global;
+            this.projectIds = projectIds;
+            this.schemes = schemes;
+        }
+
+        public String getId() { return id; }
+        public String getName() { return name; }
+        public String getTypeName() { return typeName; }
+        public boolean isGlobal() { return global; }
+        public List<Map<String, Object>> getSchemes() { return schemes; }
+    }
+}
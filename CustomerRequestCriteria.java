@@ -0,0 +1,205 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/CustomerRequestCriteria.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.jira.issue.Issue;
+import com.atlassian.jira.issue.IssueConstant;
+import com.atlassian.jira.user.ApplicationUser;
+
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Search term, status/priority filters and sort of an issue search, evaluated in memory for the
+ * service desk customer request fallback (the customer request API cannot filter by status or
+ * priority, sort, or search the description).
+ *
+ * Matching mirrors the query built by IssueService#buildSearchQuery: an issue-key-like term matches the
+ * key exactly or summary/description text, any other term matches key, summary or description text;
+ * status and priority filters are name lists. Sorting supports the system fields of the sort
+ * allow-list; custom field sorts keep the fallback's newest-first order.
+ */
+public final class CustomerRequestCriteria {
+
+    private final String rawSearchTerm;
+    private final String searchTerm;
+    private final boolean keyLikeTerm;
+    private final Set<String> statuses;
+    private final Set<String> priorities;
+    private final String sortField;
+    private final boolean descending;
+    private final Function<Issue, Comparable<?>> sortKey;
+    private final Comparator<Comparable<?>> keyOrder;
+    private final Comparator<Issue> order;
+
+    private CustomerRequestCriteria(String rawSearchTerm, Set<String> statuses, Set<String> priorities,
+                                    String sortField, boolean descending) {
+        this.rawSearchTerm = rawSearchTerm;
+        this.searchTerm = rawSearchTerm != null ? rawSearchTerm.toLowerCase(Locale.ROOT) : null;
+        this.keyLikeTerm = searchTerm != null && searchTerm.matches("^[a-z]+-\\d+$");
+        this.statuses = statuses;
+        this.priorities = priorities;
+        this.sortField = sortField;
+        this.descending = descending;
+        this.sortKey = sortField != null ? sortKeyFor(sortField) : null;
+        this.keyOrder = keyOrder(descending);
+        this.order = sortKey != null ? Comparator.comparing(sortKey, keyOrder) : null;
+    }
+
+    /**
+     * @param sortField normalized sort field (see IssueService#normalizeSortField), or null
+     * @param sortDir   normalized sort direction ("asc" or "desc")
+     */
+    public static CustomerRequestCriteria of(String searchTerm, String statusFilter, String priorityFilter,
+                                             String sortField, String sortDir) {
+        String term = searchTerm != null && !searchTerm.trim().isEmpty() ? searchTerm.trim() : null;
+        return new CustomerRequestCriteria(term, parseNames(statusFilter), parseNames(priorityFilter),
+                sortField, "desc".equals(sortDir));
+    }
+
+    /**
+     * The search term as typed (trimmed), for pushing down into CustomerRequestQuery#filter.
+     */
+    public String getSearchTerm() {
+        return rawSearchTerm;
+    }
+
+    public boolean hasFilters() {
+        return searchTerm != null || !statuses.isEmpty() || !priorities.isEmpty();
+    }
+
+    public boolean isSorted() {
+        return order != null;
+    }
+
+    /**
+     * Key of the result of {@link #matches} plus the sort, for memoizing filtered id lists.
+     */
+    public String resultKey() {
+        return "match|" + searchKey() + "|" + String.join(",", statuses) + "|" + String.join(",", priorities)
+                + "|" + (order != null ? sortField + (descending ? ":desc" : ":asc") : "");
+    }
+
+    /**
+     * Key of the facet counts, which depend on the search term only (like the JQL path).
+     */
+    public String searchKey() {
+        return searchTerm != null ? searchTerm : "";
+    }
+
+    public boolean matches(Issue issue) {
+        return matchesSearchTerm(issue)
+                && matchesName(statuses, issue.getStatus())
+                && matchesName(priorities, issue.getPriority());
+    }
+
+    public boolean matchesSearchTerm(Issue issue) {
+        if (searchTerm == null) {
+            return true;
+        }
+        String key = issue.getKey() != null ? issue.getKey().toLowerCase(Locale.ROOT) : "";
+        if (keyLikeTerm ? key.equals(searchTerm) : key.contains(searchTerm)) {
+            return true;
+        }
+        return contains(issue.getSummary()) || contains(issue.getDescription());
+    }
+
+    /**
+     * Order of the requested sort, or null when unsorted (or sorted by a custom field).
+     */
+    public Comparator<Issue> getOrder() {
+        return order;
+    }
+
+    /**
+     * Value the issue is sorted by (only when {@link #isSorted()}), so callers can sort ids without
+     * holding the issues.
+     */
+    public Comparable<?> sortKey(Issue issue) {
+        return sortKey.apply(issue);
+    }
+
+    /**
+     * Order of {@link #sortKey} values, in the requested direction.
+     */
+    public Comparator<Comparable<?>> getKeyOrder() {
+        return keyOrder;
+    }
+
+    private boolean contains(String text) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(searchTerm);
+    }
+
+    private static boolean matchesName(Set<String> names, IssueConstant value) {
+        if (names.isEmpty()) {
+            return true;
+        }
+        return value != null && value.getName() != null && names.contains(value.getName().toLowerCase(Locale.ROOT));
+    }
+
+    private static Set<String> parseNames(String filter) {
+        Set<String> names = new LinkedHashSet<>();
+        if (filter != null) {
+            for (String name : filter.split(",")) {
+                if (!name.trim().isEmpty()) {
+                    names.add(name.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static Function<Issue, Comparable<?>> sortKeyFor(String sortField) {
+        switch (sortField) {
+            case "key":
+                return Issue::getNumber;
+            case "summary":
+                return issue -> lower(issue.getSummary());
+            case "status":
+                return issue -> sequence(issue.getStatus());
+            case "priority":
+                // Lower sequence = higher priority; ORDER BY priority ASC lists the lowest first
+                return issue -> issue.getPriority() != null && issue.getPriority().getSequence() != null
+                        ? -issue.getPriority().getSequence() : null;
+            case "created":
+                return Issue::getCreated;
+            case "updated":
+                return Issue::getUpdated;
+            case "due":
+                return Issue::getDueDate;
+            case "assignee":
+                return issue -> displayName(issue.getAssignee());
+            case "reporter":
+                return issue -> displayName(issue.getReporter());
+            case "issuetype":
+                return issue -> issue.getIssueType() != null ? lower(issue.getIssueType().getName()) : null;
+            case "resolution":
+                return issue -> issue.getResolution() != null ? lower(issue.getResolution().getName()) : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Natural order with nulls last (first when descending, like reversing the ascending order).
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Comparable<?>> keyOrder(boolean descending) {
+        Comparator ascending = Comparator.nullsLast(Comparator.naturalOrder());
+        return descending ? ascending.reversed() : ascending;
+    }
+
+    private static Long sequence(IssueConstant constant) {
+        return constant != null ? constant.getSequence() : null;
+    }
+
+    private static String displayName(ApplicationUser user) {
+        return user != null ? lower(user.getDisplayName()) : null;
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+}
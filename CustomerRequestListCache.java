@@ -0,0 +1,388 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/CustomerRequestListCache.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.event.api.EventListener;
+import com.atlassian.event.api.EventPublisher;
+import com.atlassian.jira.event.issue.IssueEvent;
+import com.atlassian.jira.event.type.EventType;
+import com.atlassian.jira.issue.Issue;
+import com.atlassian.jira.issue.IssueManager;
+import com.atlassian.jira.project.Project;
+import com.atlassian.jira.user.ApplicationUser;
+import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
+import com.atlassian.servicedesk.api.ServiceDesk;
+import com.atlassian.servicedesk.api.request.CustomerRequest;
+import com.atlassian.servicedesk.api.request.CustomerRequestQuery;
+import com.atlassian.servicedesk.api.request.ServiceDeskCustomerRequestService;
+import com.atlassian.servicedesk.api.util.paging.PagedResponse;
+import com.atlassian.servicedesk.api.util.paging.SimplePagedRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived per-user list of the customer requests a portal-only customer can see in one service
+ * desk, for the issue search fallback.
+ *
+ * The customer request API only pages forward and reports hasNextPage, so the fallback could neither
+ * show a real total nor jump to a page without re-querying everything before it. Here the visible
+ * requests are listed once (up to {@link #MAX_REQUESTS}) and kept as issue ids, newest first, for
+ * {@link #TTL_MS}; pages are served from the id list with an exact total. Filtered and sorted id
+ * lists and facet counts computed from a list are memoized with it ({@link VisibleRequests#derive}).
+ *
+ * Issue events keep the lists current on this node: deleted issues are removed, and created or
+ * updated issues of the project are queued and their visibility re-checked for the user on the next
+ * read (request participants, organisation sharing and reporter changes all go through updates).
+ * Moved issues drop every list. The TTL bounds staleness for changes made on other nodes and for
+ * organisation membership edits, which publish no issue event.
+ */
+@Named
+public class CustomerRequestListCache implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerRequestListCache.class);
+
+    private static final int MAX_LISTS = 1000;
+    private static final int MAX_REQUESTS = 5000;
+    private static final int LOAD_PAGE_SIZE = 100;
+    private static final int MAX_DERIVED = 16;
+    private static final long TTL_MS = TimeUnit.MINUTES.toMillis(2);
+
+    private final ServiceDeskCustomerRequestService customerRequestService;
+    private final IssueManager issueManager;
+    private final EventPublisher eventPublisher;
+
+    // Access-ordered for LRU eviction; guarded by "this"
+    private final LinkedHashMap<String, RequestList> lists = new LinkedHashMap<String, RequestList>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RequestList> eldest) {
+            if (size() > MAX_LISTS) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong rechecks = new AtomicLong();
+    private final AtomicLong loadFailures = new AtomicLong();
+
+    @Inject
+    public CustomerRequestListCache(
+            @ComponentImport ServiceDeskCustomerRequestService customerRequestService,
+            @ComponentImport IssueManager issueManager,
+            @ComponentImport EventPublisher eventPublisher) {
+        this.customerRequestService = customerRequestService;
+        this.issueManager = issueManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        eventPublisher.register(this);
+    }
+
+    @Override
+    public void destroy() {
+        eventPublisher.unregister(this);
+        invalidateAll();
+    }
+
+    /**
+     * Ids of the requests the user can see in the service desk, newest first, or null when the
+     * customer request API failed.
+     */
+    public VisibleRequests getVisibleRequests(ApplicationUser user, Project project, ServiceDesk serviceDesk) {
+        String key = listKey(user, project);
+        long now = System.currentTimeMillis();
+        RequestList cached;
+        synchronized (this) {
+            cached = lists.get(key);
+        }
+        if (cached != null && cached.expiresAt > now) {
+            hits.incrementAndGet();
+            return cached.current(user);
+        }
+
+        RequestList loaded = load(user, project, serviceDesk);
+        if (loaded == null) {
+            return null;
+        }
+        synchronized (this) {
+            lists.put(key, loaded);
+        }
+        return loaded.current(user);
+    }
+
+    public synchronized void invalidateAll() {
+        lists.clear();
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", lists.size());
+        stats.put("maxLists", MAX_LISTS);
+        stats.put("maxRequests", MAX_REQUESTS);
+        stats.put("ttlMs", TTL_MS);
+        stats.put("hits", hits.get());
+        stats.put("loads", loads.get());
+        stats.put("evictions", evictions.get());
+        stats.put("rechecks", rechecks.get());
+        stats.put("loadFailures", loadFailures.get());
+        return stats;
+    }
+
+    @EventListener
+    public void onIssueEvent(IssueEvent event) {
+        Issue issue = event.getIssue();
+        if (issue == null || issue.getId() == null || issue.getProjectId() == null) {
+            return;
+        }
+        Long eventTypeId = event.getEventTypeId();
+        if (EventType.ISSUE_MOVED_ID.equals(eventTypeId)) {
+            invalidateAll();
+            return;
+        }
+        boolean deleted = EventType.ISSUE_DELETED_ID.equals(eventTypeId);
+        List<RequestList> affected = new ArrayList<>();
+        synchronized (this) {
+            for (RequestList list : lists.values()) {
+                if (list.projectId == issue.getProjectId().longValue()) {
+                    affected.add(list);
+                }
+            }
+        }
+        for (RequestList list : affected) {
+            if (deleted) {
+                list.remove(issue.getId());
+            } else {
+                list.markChanged(issue.getId());
+            }
+        }
+    }
+
+    private RequestList load(ApplicationUser user, Project project, ServiceDesk serviceDesk) {
+        loads.incrementAndGet();
+        long start = System.currentTimeMillis();
+        try {
+            List<Long> ids = new ArrayList<>();
+            boolean truncated = false;
+            int offset = 0;
+            while (true) {
+                CustomerRequestQuery query = customerRequestService.newQueryBuilder()
+                        // ALL_ORGANIZATIONS_AND_GROUPS matches JSM portal visibility (reporter + org + shared groups)
+                        .requestOwnership(CustomerRequestQuery.REQUEST_OWNERSHIP.ALL_ORGANIZATIONS_AND_GROUPS)
+                        .serviceDesk(serviceDesk.getId())
+                        .pagedRequest(SimplePagedRequest.paged(offset, LOAD_PAGE_SIZE))
+                        .build();
+                PagedResponse<CustomerRequest> page = customerRequestService.getCustomerRequests(user, query);
+                int pageCount = 0;
+                for (CustomerRequest request : page.getResults()) {
+                    pageCount++;
+                    Issue issue = request.getIssue();
+                    if (issue != null && issue.getId() != null) {
+                        ids.add(issue.getId());
+                    }
+                }
+                offset += pageCount;
+                if (!page.hasNextPage() || pageCount == 0) {
+                    break;
+                }
+                if (offset >= MAX_REQUESTS) {
+                    truncated = true;
+                    break;
+                }
+            }
+
+            long[] sorted = toSortedIds(new HashSet<>(ids));
+            log.debug("Listed {} customer requests in {} for {} in {}ms{}", sorted.length, project.getKey(),
+                    user != null ? user.getKey() : "anonymous", System.currentTimeMillis() - start,
+                    truncated ? " (truncated)" : "");
+            return new RequestList(project.getId(), sorted, truncated, System.currentTimeMillis() + TTL_MS);
+        } catch (Exception e) {
+            loadFailures.incrementAndGet();
+            log.warn("Failed to list customer requests in {}: {}", project.getKey(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Whether the user can still see the issue as a customer request in the list's project
+     */
+    private boolean isVisible(ApplicationUser user, long projectId, long issueId) {
+        rechecks.incrementAndGet();
+        try {
+            Issue issue = issueManager.getIssueObject(issueId);
+            if (issue == null || issue.getProjectId() == null || issue.getProjectId().longValue() != projectId) {
+                return false;
+            }
+            return customerRequestService.getCustomerRequestForIssue(user, issue) != null;
+        } catch (Exception e) {
+            // Thrown when the user cannot see the request
+            return false;
+        }
+    }
+
+    /**
+     * Distinct ids, highest (newest) first
+     */
+    private static long[] toSortedIds(Set<Long> ids) {
+        long[] sorted = new long[ids.size()];
+        int i = 0;
+        for (Long id : ids) {
+            sorted[i++] = id;
+        }
+        Arrays.sort(sorted);
+        for (int left = 0, right = sorted.length - 1; left < right; left++, right--) {
+            long tmp = sorted[left];
+            sorted[left] = sorted[right];
+            sorted[right] = tmp;
+        }
+        return sorted;
+    }
+
+    private static String listKey(ApplicationUser user, Project project) {
+        return (user != null ? user.getKey() : "") + "|" + project.getId();
+    }
+
+    /**
+     * Immutable snapshot of one user's visible requests in a service desk.
+     */
+    public static final class VisibleRequests {
+        private final long[] issueIds;
+        private final boolean truncated;
+
+        // Results computed from this snapshot (filtered id lists, facet counts); guarded by itself
+        private final Map<String, Object> derived = new LinkedHashMap<String, Object>(8, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return size() > MAX_DERIVED;
+            }
+        };
+
+        private VisibleRequests(long[] issueIds, boolean truncated) {
+            this.issueIds = issueIds;
+            this.truncated = truncated;
+        }
+
+        /**
+         * Number of visible requests (a lower bound when {@link #isTruncated()}).
+         */
+        public int size() {
+            return issueIds.length;
+        }
+
+        /**
+         * Issue ids from {@code start} (inclusive) to {@code end} (exclusive), newest first.
+         */
+        public List<Long> getIssueIds(int start, int end) {
+            int from = Math.max(0, Math.min(start, issueIds.length));
+            int to = Math.max(from, Math.min(end, issueIds.length));
+            List<Long> ids = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                ids.add(issueIds[i]);
+            }
+            return ids;
+        }
+
+        /**
+         * Whether the user has more than {@link #MAX_REQUESTS} requests and only the newest are listed.
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        /**
+         * A value computed from this snapshot, memoized until the list changes or expires.
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T derive(String key, Supplier<T> compute) {
+            synchronized (derived) {
+                Object cached = derived.get(key);
+                if (cached != null) {
+                    return (T) cached;
+                }
+            }
+            T value = compute.get();
+            synchronized (derived) {
+                derived.put(key, value);
+            }
+            return value;
+        }
+    }
+
+    private final class RequestList {
+        private final long projectId;
+        private final long expiresAt;
+        private final Set<Long> changed = new HashSet<>(); // guarded by "this"
+        private volatile VisibleRequests requests;
+
+        private RequestList(long projectId, long[] issueIds, boolean truncated, long expiresAt) {
+            this.projectId = projectId;
+            this.expiresAt = expiresAt;
+            this.requests = new VisibleRequests(issueIds, truncated);
+        }
+
+        private synchronized void markChanged(long issueId) {
+            changed.add(issueId);
+        }
+
+        private synchronized void remove(long issueId) {
+            changed.remove(issueId);
+            VisibleRequests current = requests;
+            if (Arrays.stream(current.issueIds).anyMatch(id -> id == issueId)) {
+                requests = new VisibleRequests(
+                        Arrays.stream(current.issueIds).filter(id -> id != issueId).toArray(), current.truncated);
+            }
+        }
+
+        /**
+         * The list with queued changes applied for the user it belongs to.
+         */
+        private VisibleRequests current(ApplicationUser user) {
+            Set<Long> pending;
+            synchronized (this) {
+                if (changed.isEmpty()) {
+                    return requests;
+                }
+                pending = new HashSet<>(changed);
+                changed.clear();
+            }
+
+            // Visibility checks run outside the lock; results are merged into the latest list
+            Set<Long> visible = new HashSet<>();
+            Set<Long> hidden = new HashSet<>();
+            for (Long issueId : pending) {
+                (isVisible(user, projectId, issueId) ? visible : hidden).add(issueId);
+            }
+            synchronized (this) {
+                VisibleRequests current = requests;
+                Set<Long> ids = new HashSet<>();
+                for (long id : current.issueIds) {
+                    if (!hidden.contains(id)) {
+                        ids.add(id);
+                    }
+                }
+                ids.addAll(visible);
+                requests = new VisibleRequests(toSortedIds(ids), current.truncated);
+                return requests;
+            }
+        }
+    }
+}
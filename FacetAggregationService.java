@@ -0,0 +1,155 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/FacetAggregationService.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.jira.issue.Issue;
+import com.atlassian.jira.issue.IssueConstant;
+import com.atlassian.jira.issue.search.SearchException;
+import com.atlassian.jira.issue.search.SearchRequest;
+import com.atlassian.jira.user.ApplicationUser;
+import com.atlassian.jira.web.bean.StatisticAccessorBean;
+import com.atlassian.jira.web.bean.StatisticMapWrapper;
+import com.atlassian.query.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Facet aggregation engine for issue search.
+ *
+ * Counts values per facet (status, priority, issue type, assignee, resolution) straight from the
+ * Lucene index using Jira's statistics mappers - the same mechanism the "Filter Statistics" gadget uses.
+ * No Issue objects are loaded, and there is no scan cap, so counts always cover the full match-set.
+ */
+@Named
+public class FacetAggregationService {
+
+    private static final Logger log = LoggerFactory.getLogger(FacetAggregationService.class);
+
+    /** Label used for the "no value" bucket (unassigned, unresolved, ...). */
+    public static final String NONE_LABEL = "None";
+
+    /**
+     * Facet key (as exposed in the REST response) -> StatisticAccessorBean filter type.
+     * Order is preserved so the response is stable.
+     */
+    private static final Map<String, String> FACET_STATISTIC_TYPES = new LinkedHashMap<>();
+    static {
+        FACET_STATISTIC_TYPES.put("statuses", "statuses");
+        FACET_STATISTIC_TYPES.put("priorities", "priorities");
+        FACET_STATISTIC_TYPES.put("issueTypes", "issuetype");
+        FACET_STATISTIC_TYPES.put("assignees", "assignees");
+        FACET_STATISTIC_TYPES.put("resolutions", "resolution");
+    }
+
+    /**
+     * Compute per-facet value counts for the given (already parsed) query.
+     *
+     * @param user The user to search as (permissions are applied by the index search)
+     * @param query The parsed facet query (should NOT include the user's status/priority selections)
+     * @return facet key -> (value label -> count), labels sorted case-insensitively
+     */
+    public Map<String, Map<String, Long>> computeFacetCounts(ApplicationUser user, Query query) throws SearchException {
+        StatisticAccessorBean statistics = new StatisticAccessorBean(user, new SearchRequest(query));
+
+        Map<String, Map<String, Long>> facetCounts = new LinkedHashMap<>();
+        for (Map.Entry<String, String> facet : FACET_STATISTIC_TYPES.entrySet()) {
+            facetCounts.put(facet.getKey(), countFacet(statistics, facet.getValue()));
+        }
+        return facetCounts;
+    }
+
+    /**
+     * Counter for issues that are already loaded (the customer request fallback cannot use the index).
+     * Produces the same keys and labels as {@link #computeFacetCounts}.
+     */
+    public FacetCounter newCounter() {
+        return new FacetCounter();
+    }
+
+    /**
+     * Flatten facet counts into the legacy "distinct values" shape used by the table filter dropdowns.
+     * The "None" bucket is left out since it cannot be used as a filter value.
+     */
+    public Map<String, List<String>> toFacetValues(Map<String, Map<String, Long>> facetCounts) {
+        Map<String, List<String>> facets = new LinkedHashMap<>();
+        if (facetCounts == null) {
+            return facets;
+        }
+        for (Map.Entry<String, Map<String, Long>> entry : facetCounts.entrySet()) {
+            List<String> values = new ArrayList<>(entry.getValue().keySet());
+            values.remove(NONE_LABEL);
+            facets.put(entry.getKey(), values);
+        }
+        return facets;
+    }
+
+    private Map<String, Long> countFacet(StatisticAccessorBean statistics, String statisticType) throws SearchException {
+        Map<String, Long> counts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        @SuppressWarnings("unchecked")
+        StatisticMapWrapper<Object, Number> stats = statistics.getAllFilterBy(statisticType);
+        if (stats == null) {
+            return counts;
+        }
+
+        for (Map.Entry<Object, Number> entry : stats.entrySet()) {
+            Number count = entry.getValue();
+            if (count == null || count.longValue() <= 0) {
+                continue;
+            }
+            String label = toLabel(entry.getKey());
+            counts.merge(label, count.longValue(), Long::sum);
+        }
+
+        log.debug("Facet '{}' aggregated {} distinct values (irrelevant: {})",
+                statisticType, counts.size(), stats.getIrrelevantCount());
+        return counts;
+    }
+
+    public final class FacetCounter {
+        private final Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+
+        private FacetCounter() {
+            for (String facet : FACET_STATISTIC_TYPES.keySet()) {
+                counts.put(facet, new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
+            }
+        }
+
+        public void add(Issue issue) {
+            count("statuses", issue.getStatus());
+            count("priorities", issue.getPriority());
+            count("issueTypes", issue.getIssueType());
+            count("assignees", issue.getAssignee());
+            count("resolutions", issue.getResolution());
+        }
+
+        public Map<String, Map<String, Long>> getCounts() {
+            return counts;
+        }
+
+        private void count(String facet, Object value) {
+            counts.get(facet).merge(toLabel(value), 1L, Long::sum);
+        }
+    }
+
+    private String toLabel(Object value) {
+        if (value == null) {
+            return NONE_LABEL;
+        }
+        if (value instanceof IssueConstant) {
+            String name = ((IssueConstant) value).getName();
+            return name != null ? name : NONE_LABEL;
+        }
+        if (value instanceof ApplicationUser) {
+            String displayName = ((ApplicationUser) value).getDisplayName();
+            return displayName != null ? displayName : ((ApplicationUser) value).getName();
+        }
+        return String.valueOf(value);
+    }
+}
@@ -11,7 +11,21 @@ import com.samsungbuilder.jsm.dto.AnnouncementBannerConfigDTO;
 import com.samsungbuilder.jsm.dto.GlobalConfigDTO;
 import com.samsungbuilder.jsm.dto.ProjectDTO;
 import com.samsungbuilder.jsm.service.AnnouncementBannerService;
+import com.samsungbuilder.jsm.service.ConfigChangeBroadcaster;
 import com.samsungbuilder.jsm.service.GlobalConfigService;
+import com.samsungbuilder.jsm.service.PortalConfigCache;
+import com.samsungbuilder.jsm.service.PortalConfigStore;
+import com.samsungbuilder.jsm.service.PortalCatalog;
+import com.samsungbuilder.jsm.service.BrowsableProjectCache;
+import com.samsungbuilder.jsm.service.CustomerRequestListCache;
+import com.samsungbuilder.jsm.service.IssueSearchPlanner;
+import com.samsungbuilder.jsm.service.JqlQueryCache;
+import com.samsungbuilder.jsm.service.VisibilityRuleEvaluator;
+import com.samsungbuilder.jsm.service.GroupSearchIndex;
+import com.samsungbuilder.jsm.service.PortalSearchIndex;
+import com.samsungbuilder.jsm.service.PortalHistoryStore;
+import com.samsungbuilder.jsm.service.PortalProjectKeyCache;
+import com.samsungbuilder.jsm.service.PortalRedirectTracer;
 import com.samsungbuilder.jsm.service.ProjectService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,8 +36,11 @@ import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * REST API resource for Global Admin Configuration
@@ -42,18 +59,86 @@ public class GlobalConfigResource {
     private final GlobalConfigService globalConfigService;
     private final ProjectService projectService;
     private final AnnouncementBannerService announcementBannerService;
+    private final PortalProjectKeyCache portalProjectKeyCache;
+    private final PortalConfigCache portalConfigCache;
+    private final PortalConfigStore portalConfigStore;
+    private final PortalCatalog portalCatalog;
+    private final BrowsableProjectCache browsableProjects;
+    private final CustomerRequestListCache customerRequestLists;
+    private final IssueSearchPlanner searchPlanner;
+    private final JqlQueryCache jqlQueryCache;
+    private final VisibilityRuleEvaluator visibilityRuleEvaluator;
+    private final GroupSearchIndex groupSearchIndex;
+    private final PortalSearchIndex portalSearchIndex;
+    private final PortalHistoryStore portalHistoryStore;
+    private final PortalRedirectTracer portalRedirectTracer;
+    private final ConfigChangeBroadcaster changeBroadcaster;
     private final JiraAuthenticationContext authenticationContext;
 
+    // Caches and indexes exposed under /admin/cache/{name}
+    private final Map<String, AdminCache> caches = new LinkedHashMap<>();
+
     @Inject
     public GlobalConfigResource(
             GlobalConfigService globalConfigService,
             ProjectService projectService,
             AnnouncementBannerService announcementBannerService,
+            PortalProjectKeyCache portalProjectKeyCache,
+            PortalConfigCache portalConfigCache,
+            PortalConfigStore portalConfigStore,
+            PortalCatalog portalCatalog,
+            BrowsableProjectCache browsableProjects,
+            CustomerRequestListCache customerRequestLists,
+            IssueSearchPlanner searchPlanner,
+            JqlQueryCache jqlQueryCache,
+            VisibilityRuleEvaluator visibilityRuleEvaluator,
+            GroupSearchIndex groupSearchIndex,
+            PortalSearchIndex portalSearchIndex,
+            PortalHistoryStore portalHistoryStore,
+            PortalRedirectTracer portalRedirectTracer,
+            ConfigChangeBroadcaster changeBroadcaster,
             @ComponentImport JiraAuthenticationContext authenticationContext) {
         this.globalConfigService = globalConfigService;
         this.projectService = projectService;
         this.announcementBannerService = announcementBannerService;
+        this.portalProjectKeyCache = portalProjectKeyCache;
+        this.portalConfigCache = portalConfigCache;
+        this.portalConfigStore = portalConfigStore;
+        this.portalCatalog = portalCatalog;
+        this.browsableProjects = browsableProjects;
+        this.customerRequestLists = customerRequestLists;
+        this.searchPlanner = searchPlanner;
+        this.jqlQueryCache = jqlQueryCache;
+        this.visibilityRuleEvaluator = visibilityRuleEvaluator;
+        this.groupSearchIndex = groupSearchIndex;
+        this.portalSearchIndex = portalSearchIndex;
+        this.portalHistoryStore = portalHistoryStore;
+        this.portalRedirectTracer = portalRedirectTracer;
+        this.changeBroadcaster = changeBroadcaster;
         this.authenticationContext = authenticationContext;
+
+        // Portal ID -> project key (customer portal redirect filter)
+        caches.put("portal-ids", new AdminCache(portalProjectKeyCache::getStats, portalProjectKeyCache::invalidateAll));
+        // Parsed portal configurations
+        caches.put("portal-configs", new AdminCache(portalConfigCache::getStats, () -> portalConfigCache.invalidate(null)));
+        // Precomputed portal catalog (projects listed by GET /portals), rebuilt on the next request
+        caches.put("portal-catalog", new AdminCache(portalCatalog::getStats, portalCatalog::invalidate));
+        // Per-user browsable projects
+        caches.put("browsable-projects", new AdminCache(browsableProjects::getStats, browsableProjects::invalidateAll));
+        // Per-user customer request lists (service desk search fallback)
+        caches.put("customer-requests", new AdminCache(customerRequestLists::getStats, customerRequestLists::invalidateAll));
+        // Memoized issue search plans (search engine per user and project)
+        caches.put("search-plans", new AdminCache(searchPlanner::getStats, searchPlanner::invalidateAll));
+        // Parsed base JQL of issue searches
+        caches.put("jql-queries", new AdminCache(jqlQueryCache::getStats, jqlQueryCache::invalidateAll));
+        // Landing page portal and request type search index, rebuilt on the next search
+        caches.put("portal-search", new AdminCache(portalSearchIndex::getStats, portalSearchIndex::invalidate));
+        // Group name index and member counts (visibility rule group search)
+        caches.put("group-search", new AdminCache(groupSearchIndex::getStats, groupSearchIndex::invalidate));
+        // Compiled visibility rule sets
+        caches.put("visibility-rules", new AdminCache(visibilityRuleEvaluator::getStats, visibilityRuleEvaluator::invalidateAll));
+        // Cluster config change propagation (statistics only)
+        caches.put("cluster-sync", new AdminCache(changeBroadcaster::getStats, null));
     }
 
     /**
@@ -68,6 +153,35 @@ public class GlobalConfigResource {
         return adminGroup != null && groupManager.isUserInGroup(user, adminGroup);
     }
 
+    /**
+     * Run an admin endpoint body: 401 without a user, 403 for non-admins, 500 (with the given
+     * message prefix) if the body throws.
+     */
+    private Response adminOnly(String errorMessage, Function<ApplicationUser, Response> body) {
+        try {
+            ApplicationUser currentUser = authenticationContext.getLoggedInUser();
+            if (currentUser == null) {
+                return Response.status(Response.Status.UNAUTHORIZED)
+                        .entity(createErrorResponse("Authentication required"))
+                        .build();
+            }
+
+            if (!isAdmin(currentUser)) {
+                return Response.status(Response.Status.FORBIDDEN)
+                        .entity(createErrorResponse("Administrator access required"))
+                        .build();
+            }
+
+            return body.apply(currentUser);
+
+        } catch (Exception e) {
+            log.error(errorMessage, e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse(errorMessage + ": " + e.getMessage()))
+                    .build();
+        }
+    }
+
     /**
      * Create error response map
      */
@@ -92,6 +206,7 @@ public class GlobalConfigResource {
         map.put("textColor", config.getTextColor());
         map.put("updatedBy", config.getUpdatedBy());
         map.put("updatedAtEpochMs", config.getUpdatedAtEpochMs());
+        map.put("version", config.getVersion());
         return map;
     }
 
@@ -190,6 +305,7 @@ public class GlobalConfigResource {
             }
 
             GlobalConfigDTO saved = globalConfigService.saveGlobalConfig(config, currentUser.getUsername());
+            changeBroadcaster.publish(ConfigChangeBroadcaster.Scope.GLOBAL_CONFIG, null);
 
             Map<String, Object> configMap = new HashMap<>();
             configMap.put("restrictedProjectKeys", saved.getRestrictedProjectKeys());
@@ -414,6 +530,240 @@ public class GlobalConfigResource {
         }
     }
 
+    /**
+     * Statistics of one admin-visible cache or index (see {@link #caches} for the names)
+     * GET /rest/rail/1.0/admin/cache/{name}, e.g. /admin/cache/portal-ids
+     */
+    @GET
+    @Path("cache/{name}")
+    public Response getCacheStats(@PathParam("name") String name) {
+        log.debug("GET /admin/cache/{} - Fetching cache statistics", name);
+        return adminOnly("Error fetching cache statistics", user -> {
+            AdminCache cache = caches.get(name);
+            if (cache == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(createErrorResponse("Unknown cache: " + name))
+                        .build();
+            }
+            return Response.ok(cache.stats.get()).build();
+        });
+    }
+
+    /**
+     * Clear one admin-visible cache or index; returns its statistics after clearing
+     * DELETE /rest/rail/1.0/admin/cache/{name}, e.g. /admin/cache/portal-ids
+     */
+    @DELETE
+    @Path("cache/{name}")
+    public Response clearCache(@PathParam("name") String name) {
+        log.info("DELETE /admin/cache/{} - Clearing cache", name);
+        return adminOnly("Error clearing cache", user -> {
+            AdminCache cache = caches.get(name);
+            if (cache == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(createErrorResponse("Unknown cache: " + name))
+                        .build();
+            }
+            if (cache.reset == null) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(createErrorResponse("Cache cannot be cleared: " + name))
+                        .build();
+            }
+            cache.reset.run();
+            log.info("Cache {} cleared by {}", name, user.getUsername());
+            return Response.ok(cache.stats.get()).build();
+        });
+    }
+
+    /**
+     * Chunked portal config and delta-encoded history storage statistics
+     * GET /rest/rail/1.0/admin/portal-storage
+     */
+    @GET
+    @Path("portal-storage")
+    public Response getPortalStorageStats() {
+        log.debug("GET /admin/portal-storage - Fetching portal config storage statistics");
+
+        try {
+            ApplicationUser currentUser = authenticationContext.getLoggedInUser();
+            if (currentUser == null) {
+                return Response.status(Response.Status.UNAUTHORIZED)
+                        .entity(createErrorResponse("Authentication required"))
+                        .build();
+            }
+
+            if (!isAdmin(currentUser)) {
+                return Response.status(Response.Status.FORBIDDEN)
+                        .entity(createErrorResponse("Administrator access required"))
+                        .build();
+            }
+
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("config", portalConfigStore.getStats());
+            stats.put("history", portalHistoryStore.getStats());
+            return Response.ok(stats).build();
+
+        } catch (Exception e) {
+            log.error("Error fetching portal config storage statistics", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse("Error fetching storage statistics: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Migrate every legacy single-blob portal config to the chunked layout
+     * POST /rest/rail/1.0/admin/portal-storage/migrate
+     */
+    @POST
+    @Path("portal-storage/migrate")
+    public Response migratePortalStorage() {
+        log.info("POST /admin/portal-storage/migrate - Migrating portal configs to chunked storage");
+
+        try {
+            ApplicationUser currentUser = authenticationContext.getLoggedInUser();
+            if (currentUser == null) {
+                return Response.status(Response.Status.UNAUTHORIZED)
+                        .entity(createErrorResponse("Authentication required"))
+                        .build();
+            }
+
+            if (!isAdmin(currentUser)) {
+                log.warn("Non-admin user {} attempted to migrate portal storage", currentUser.getUsername());
+                return Response.status(Response.Status.FORBIDDEN)
+                        .entity(createErrorResponse("Administrator access required"))
+                        .build();
+            }
+
+            Map<String, Object> result = portalConfigStore.migrateAll();
+            log.info("Portal storage migration triggered by {}: {}", currentUser.getUsername(), result);
+
+            return Response.ok(result).build();
+
+        } catch (Exception e) {
+            log.error("Error migrating portal config storage", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse("Error migrating portal storage: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Get portal redirect trace settings and the most recent decisions (newest first)
+     * GET /rest/rail/1.0/admin/diagnostics/redirect-trace?limit=100
+     */
+    @GET
+    @Path("diagnostics/redirect-trace")
+    public Response getRedirectTrace(@QueryParam("limit") @DefaultValue("100") int limit) {
+        log.debug("GET /admin/diagnostics/redirect-trace - limit={}", limit);
+
+        try {
+            ApplicationUser currentUser = authenticationContext.getLoggedInUser();
+            if (currentUser == null) {
+                return Response.status(Response.Status.UNAUTHORIZED)
+                        .entity(createErrorResponse("Authentication required"))
+                        .build();
+            }
+
+            if (!isAdmin(currentUser)) {
+                return Response.status(Response.Status.FORBIDDEN)
+                        .entity(createErrorResponse("Administrator access required"))
+                        .build();
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("settings", portalRedirectTracer.getSettings());
+            response.put("traces", portalRedirectTracer.getRecent(limit));
+            return Response.ok(response).build();
+
+        } catch (Exception e) {
+            log.error("Error fetching redirect traces", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse("Error fetching redirect traces: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Update portal redirect trace settings (enabled, sampleRate, capacity)
+     * PUT /rest/rail/1.0/admin/diagnostics/redirect-trace
+     */
+    @PUT
+    @Path("diagnostics/redirect-trace")
+    public Response updateRedirectTrace(Map<String, Object> body) {
+        log.info("PUT /admin/diagnostics/redirect-trace - Updating trace settings");
+
+        try {
+            ApplicationUser currentUser = authenticationContext.getLoggedInUser();
+            if (currentUser == null) {
+                return Response.status(Response.Status.UNAUTHORIZED)
+                        .entity(createErrorResponse("Authentication required"))
+                        .build();
+            }
+
+            if (!isAdmin(currentUser)) {
+                return Response.status(Response.Status.FORBIDDEN)
+                        .entity(createErrorResponse("Administrator access required"))
+                        .build();
+            }
+
+            if (body == null) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(createErrorResponse("Trace settings payload is required"))
+                        .build();
+            }
+
+            Boolean enabled = body.get("enabled") instanceof Boolean ? (Boolean) body.get("enabled") : null;
+            Integer sampleRate = body.get("sampleRate") instanceof Number ? ((Number) body.get("sampleRate")).intValue() : null;
+            Integer capacity = body.get("capacity") instanceof Number ? ((Number) body.get("capacity")).intValue() : null;
+
+            portalRedirectTracer.configure(enabled, sampleRate, capacity);
+            log.info("Redirect trace settings updated by {}: {}", currentUser.getUsername(), portalRedirectTracer.getSettings());
+
+            return Response.ok(portalRedirectTracer.getSettings()).build();
+
+        } catch (Exception e) {
+            log.error("Error updating redirect trace settings", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse("Error updating trace settings: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Clear recorded portal redirect traces
+     * DELETE /rest/rail/1.0/admin/diagnostics/redirect-trace
+     */
+    @DELETE
+    @Path("diagnostics/redirect-trace")
+    public Response clearRedirectTrace() {
+        log.info("DELETE /admin/diagnostics/redirect-trace - Clearing recorded traces");
+
+        try {
+            ApplicationUser currentUser = authenticationContext.getLoggedInUser();
+            if (currentUser == null) {
+                return Response.status(Response.Status.UNAUTHORIZED)
+                        .entity(createErrorResponse("Authentication required"))
+                        .build();
+            }
+
+            if (!isAdmin(currentUser)) {
+                return Response.status(Response.Status.FORBIDDEN)
+                        .entity(createErrorResponse("Administrator access required"))
+                        .build();
+            }
+
+            portalRedirectTracer.clear();
+            return Response.ok(portalRedirectTracer.getSettings()).build();
+
+        } catch (Exception e) {
+            log.error("Error clearing redirect traces", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse("Error clearing traces: " + e.getMessage()))
+                    .build();
+        }
+    }
+
     /**
      * Health check for admin API
      * GET /rest/rail/1.0/admin/health
@@ -473,6 +823,20 @@ public class GlobalConfigResource {
                     .build();
         }
     }
+
+    /**
+     * Statistics and reset of one cache exposed under /admin/cache/{name}; reset is null for
+     * statistics-only entries.
+     */
+    private static final class AdminCache {
+        private final Supplier<Map<String, Object>> stats;
+        private final Runnable reset;
+
+        private AdminCache(Supplier<Map<String, Object>> stats, Runnable reset) {
+            this.stats = stats;
+            this.reset = reset;
+        }
+    }
 }
 
 
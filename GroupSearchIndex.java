@@ -0,0 +1,255 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/GroupSearchIndex.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.crowd.embedded.api.Group;
+import com.atlassian.crowd.event.group.GroupCreatedEvent;
+import com.atlassian.crowd.event.group.GroupDeletedEvent;
+import com.atlassian.crowd.event.group.GroupMembershipCreatedEvent;
+import com.atlassian.crowd.event.group.GroupMembershipDeletedEvent;
+import com.atlassian.crowd.model.membership.MembershipType;
+import com.atlassian.event.api.EventListener;
+import com.atlassian.event.api.EventPublisher;
+import com.atlassian.jira.security.groups.GroupManager;
+import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory group name index and member count table for the group pickers.
+ *
+ * Group names are kept sorted by their lower-case form, so prefix matches are a binary search
+ * and substring matches a scan over pre-lowered names (no per-request getAllGroups() or
+ * lower-casing). Member counts are loaded only when asked for, one group at a time, with
+ * GroupManager#getUsersInGroupCount instead of materializing the membership, and cached for
+ * {@link #COUNT_TTL_MS}.
+ *
+ * Group create/delete events drop the name index; membership events drop the affected count
+ * (all counts for nested group changes). {@link #NAMES_MAX_AGE_MS} covers changes synchronised
+ * from external directories, which publish no per-group events on every node.
+ */
+@Named
+public class GroupSearchIndex implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupSearchIndex.class);
+
+    private static final long NAMES_MAX_AGE_MS = TimeUnit.MINUTES.toMillis(10);
+    private static final long COUNT_TTL_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private final GroupManager groupManager;
+    private final EventPublisher eventPublisher;
+
+    private final Object buildLock = new Object();
+    private volatile Names names;
+    private final ConcurrentMap<String, MemberCount> counts = new ConcurrentHashMap<>();
+
+    private final AtomicLong nameBuilds = new AtomicLong();
+    private final AtomicLong countHits = new AtomicLong();
+    private final AtomicLong countLoads = new AtomicLong();
+
+    @Inject
+    public GroupSearchIndex(
+            @ComponentImport GroupManager groupManager,
+            @ComponentImport EventPublisher eventPublisher) {
+        this.groupManager = groupManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        eventPublisher.register(this);
+    }
+
+    @Override
+    public void destroy() {
+        eventPublisher.unregister(this);
+    }
+
+    /**
+     * Group names matching the query: names starting with it first, then names containing it,
+     * each alphabetically.
+     */
+    public List<String> search(String query, int maxResults) {
+        String needle = query != null ? query.trim().toLowerCase(Locale.ROOT) : "";
+        if (needle.isEmpty() || maxResults <= 0) {
+            return Collections.emptyList();
+        }
+        Names current = currentNames();
+        List<String> results = new ArrayList<>(Math.min(maxResults, 32));
+
+        // Prefix matches are one contiguous run of the sorted names
+        int from = Arrays.binarySearch(current.lowerNames, needle);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        int prefixEnd = from;
+        while (prefixEnd < current.lowerNames.length && current.lowerNames[prefixEnd].startsWith(needle)) {
+            if (results.size() < maxResults) {
+                results.add(current.names[prefixEnd]);
+            }
+            prefixEnd++;
+        }
+
+        for (int i = 0; i < current.lowerNames.length && results.size() < maxResults; i++) {
+            if (i >= from && i < prefixEnd) {
+                continue; // Already added as a prefix match
+            }
+            if (current.lowerNames[i].contains(needle)) {
+                results.add(current.names[i]);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Number of users in the group, or -1 when it cannot be determined.
+     */
+    public int getMemberCount(String groupName) {
+        if (groupName == null) {
+            return -1;
+        }
+        String key = groupName.toLowerCase(Locale.ROOT);
+        MemberCount cached = counts.get(key);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt < COUNT_TTL_MS) {
+            countHits.incrementAndGet();
+            return cached.count;
+        }
+        countLoads.incrementAndGet();
+        try {
+            Group group = groupManager.getGroup(groupName);
+            if (group == null) {
+                return -1;
+            }
+            int count = groupManager.getUsersInGroupCount(group);
+            counts.put(key, new MemberCount(count));
+            return count;
+        } catch (Exception e) {
+            log.debug("Could not count members of group {}: {}", groupName, e.getMessage());
+            return -1;
+        }
+    }
+
+    public void invalidate() {
+        names = null;
+        counts.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        Names current = names;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("built", current != null);
+        stats.put("groupCount", current != null ? current.names.length : 0);
+        stats.put("builtAt", current != null ? current.builtAt : null);
+        stats.put("nameBuilds", nameBuilds.get());
+        stats.put("cachedCounts", counts.size());
+        stats.put("countHits", countHits.get());
+        stats.put("countLoads", countLoads.get());
+        return stats;
+    }
+
+    @EventListener
+    public void onGroupCreated(GroupCreatedEvent event) {
+        names = null;
+    }
+
+    @EventListener
+    public void onGroupDeleted(GroupDeletedEvent event) {
+        names = null;
+        if (event.getGroupName() != null) {
+            counts.remove(event.getGroupName().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @EventListener
+    public void onGroupMembershipCreated(GroupMembershipCreatedEvent event) {
+        onMembershipChanged(event.getGroupName(), event.getMembershipType());
+    }
+
+    @EventListener
+    public void onGroupMembershipDeleted(GroupMembershipDeletedEvent event) {
+        onMembershipChanged(event.getGroupName(), event.getMembershipType());
+    }
+
+    private void onMembershipChanged(String groupName, MembershipType membershipType) {
+        if (groupName == null || membershipType == MembershipType.GROUP_GROUP) {
+            // Nested groups change the counts of every ancestor group
+            counts.clear();
+            return;
+        }
+        counts.remove(groupName.toLowerCase(Locale.ROOT));
+    }
+
+    private Names currentNames() {
+        Names current = names;
+        if (current != null && System.currentTimeMillis() - current.builtAt < NAMES_MAX_AGE_MS) {
+            return current;
+        }
+        synchronized (buildLock) {
+            current = names;
+            if (current != null && System.currentTimeMillis() - current.builtAt < NAMES_MAX_AGE_MS) {
+                return current;
+            }
+            Names built = Names.of(groupManager.getAllGroups());
+            names = built;
+            nameBuilds.incrementAndGet();
+            log.debug("Built group name index: {} groups", built.names.length);
+            return built;
+        }
+    }
+
+    private static final class MemberCount {
+        private final int count;
+        private final long loadedAt;
+
+        private MemberCount(int count) {
+            this.count = count;
+            this.loadedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Group names and their lower-case forms, both sorted by the lower-case form.
+     */
+    private static final class Names {
+        private final String[] names;
+        private final String[] lowerNames;
+        private final long builtAt;
+
+        private Names(String[] names, String[] lowerNames) {
+            this.names = names;
+            this.lowerNames = lowerNames;
+            this.builtAt = System.currentTimeMillis();
+        }
+
+        private static Names of(Collection<Group> groups) {
+            List<String[]> pairs = new ArrayList<>(groups.size());
+            for (Group group : groups) {
+                pairs.add(new String[]{group.getName(), group.getName().toLowerCase(Locale.ROOT)});
+            }
+            pairs.sort((a, b) -> a[1].compareTo(b[1]));
+            String[] names = new String[pairs.size()];
+            String[] lowerNames = new String[pairs.size()];
+            for (int i = 0; i < pairs.size(); i++) {
+                names[i] = pairs.get(i)[0];
+                lowerNames[i] = pairs.get(i)[1];
+            }
+            return new Names(names, lowerNames);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/IssueConversionContext.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.jira.avatar.Avatar;
+import com.atlassian.jira.avatar.AvatarService;
+import com.atlassian.jira.issue.CustomFieldManager;
+import com.atlassian.jira.issue.Issue;
+import com.atlassian.jira.issue.fields.CustomField;
+import com.atlassian.jira.project.Project;
+import com.atlassian.jira.user.ApplicationUser;
+import com.atlassian.servicedesk.api.ServiceDesk;
+import com.atlassian.servicedesk.api.ServiceDeskManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lookup cache scoped to a single issue search.
+ *
+ * Converting a page of issues repeats the same service desk, avatar and custom field
+ * context lookups for every row. This context memoizes them so each distinct lookup
+ * happens once per search:
+ *  - project id -> service desk id
+ *  - user key -> avatar URL
+ *  - (project id, issue type id) -> applicable custom fields
+ *
+ * Not thread-safe; create one per search and discard it afterwards.
+ */
+class IssueConversionContext {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueConversionContext.class);
+
+    private final ServiceDeskManager serviceDeskManager;
+    private final AvatarService avatarService;
+    private final CustomFieldManager customFieldManager;
+
+    private final Map<Long, Optional<String>> serviceDeskIdsByProject = new HashMap<>();
+    private final Map<String, Optional<String>> avatarUrlsByUser = new HashMap<>();
+    private final Map<String, List<CustomField>> customFieldsByContext = new HashMap<>();
+
+    private int hits;
+    private int misses;
+
+    IssueConversionContext(ServiceDeskManager serviceDeskManager,
+                           AvatarService avatarService,
+                           CustomFieldManager customFieldManager) {
+        this.serviceDeskManager = serviceDeskManager;
+        this.avatarService = avatarService;
+        this.customFieldManager = customFieldManager;
+    }
+
+    /**
+     * Service desk (portal) id for the project, or null when it is not a service desk project.
+     */
+    String getServiceDeskId(Project project) {
+        if (project == null) {
+            return null;
+        }
+        Optional<String> cached = serviceDeskIdsByProject.get(project.getId());
+        if (cached != null) {
+            hits++;
+            return cached.orElse(null);
+        }
+        misses++;
+
+        String serviceDeskId = null;
+        try {
+            if (serviceDeskManager != null) {
+                ServiceDesk serviceDesk = serviceDeskManager.getServiceDeskForProject(project);
+                if (serviceDesk != null) {
+                    serviceDeskId = String.valueOf(serviceDesk.getId());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not resolve Service Desk ID for project {}: {}", project.getKey(), e.getMessage());
+        }
+        serviceDeskIdsByProject.put(project.getId(), Optional.ofNullable(serviceDeskId));
+        return serviceDeskId;
+    }
+
+    /**
+     * Small avatar URL for the user, or null if it cannot be resolved.
+     */
+    String getAvatarUrl(ApplicationUser user) {
+        if (user == null) {
+            return null;
+        }
+        Optional<String> cached = avatarUrlsByUser.get(user.getKey());
+        if (cached != null) {
+            hits++;
+            return cached.orElse(null);
+        }
+        misses++;
+
+        String avatarUrl = null;
+        try {
+            if (avatarService != null) {
+                URI avatarUri = avatarService.getAvatarURL(user, user, Avatar.Size.SMALL);
+                avatarUrl = avatarUri != null ? avatarUri.toString() : null;
+            }
+        } catch (Exception e) {
+            log.debug("Could not get avatar URL for user {}: {}", user.getKey(), e.getMessage());
+        }
+        avatarUrlsByUser.put(user.getKey(), Optional.ofNullable(avatarUrl));
+        return avatarUrl;
+    }
+
+    /**
+     * Custom fields applicable to the issue's (project, issue type) context.
+     */
+    List<CustomField> getCustomFields(Issue issue) {
+        if (customFieldManager == null || issue == null) {
+            return Collections.emptyList();
+        }
+        Long projectId = issue.getProjectId();
+        String issueTypeId = issue.getIssueType() != null ? issue.getIssueType().getId() : null;
+        String contextKey = projectId + ":" + issueTypeId;
+
+        List<CustomField> cached = customFieldsByContext.get(contextKey);
+        if (cached != null) {
+            hits++;
+            return cached;
+        }
+        misses++;
+
+        List<CustomField> fields;
+        try {
+            fields = customFieldManager.getCustomFieldObjects(issue);
+        } catch (Exception e) {
+            log.debug("Could not resolve custom fields for context {}: {}", contextKey, e.getMessage());
+            fields = null;
+        }
+        fields = fields != null ? fields : Collections.emptyList();
+        customFieldsByContext.put(contextKey, fields);
+        return fields;
+    }
+
+    /**
+     * Hit/miss counters for the response debug fields.
+     */
+    Map<String, Integer> getStats() {
+        Map<String, Integer> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("serviceDesks", serviceDeskIdsByProject.size());
+        stats.put("avatars", avatarUrlsByUser.size());
+        stats.put("customFieldContexts", customFieldsByContext.size());
+        return stats;
+    }
+}
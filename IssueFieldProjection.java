@@ -0,0 +1,152 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/IssueFieldProjection.java
+package com.samsungbuilder.jsm.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Field projection for issue search responses ("fields=" query parameter).
+ *
+ * Accepts a comma-separated list of system field names (e.g. "summary,status,assignee"),
+ * custom field ids (e.g. "customfield_10001") or "customFields" for every custom field.
+ * Related properties travel with their field: "status" also returns statusId, statusIconUrl
+ * and statusCategoryKey, "assignee" returns the display name, email and avatar, and so on.
+ *
+ * id, key, projectKey, projectName and serviceDeskId are always returned since the portal
+ * tables need them to link rows.
+ */
+public final class IssueFieldProjection {
+
+    /** Projection that returns every field (default when "fields" is not provided). */
+    public static final IssueFieldProjection ALL = new IssueFieldProjection(null, null, true);
+
+    public static final String ALL_CUSTOM_FIELDS = "customfields";
+    private static final String CUSTOM_FIELD_PREFIX = "customfield_";
+
+    private static final Set<String> SYSTEM_FIELDS = Set.of(
+        "summary",
+        "description",
+        "status",
+        "priority",
+        "issuetype",
+        "created",
+        "updated",
+        "duedate",
+        "reporter",
+        "assignee",
+        "resolution",
+        "labels",
+        "components",
+        "fixversions",
+        "affectedversions",
+        "environment",
+        "timetracking",
+        "votes",
+        "watches"
+    );
+
+    private final Set<String> systemFields;
+    private final Set<String> customFieldIds;
+    private final boolean allCustomFields;
+
+    private IssueFieldProjection(Set<String> systemFields, Set<String> customFieldIds, boolean allCustomFields) {
+        this.systemFields = systemFields;
+        this.customFieldIds = customFieldIds;
+        this.allCustomFields = allCustomFields;
+    }
+
+    /**
+     * Parse the "fields" parameter. Unknown names are ignored; null/blank means all fields.
+     */
+    public static IssueFieldProjection parse(String fields) {
+        if (fields == null || fields.trim().isEmpty() || "*all".equalsIgnoreCase(fields.trim())) {
+            return ALL;
+        }
+
+        Set<String> system = new LinkedHashSet<>();
+        Set<String> custom = new LinkedHashSet<>();
+        boolean allCustom = false;
+
+        for (String raw : fields.split(",")) {
+            String field = raw.trim().toLowerCase(Locale.ROOT);
+            if (field.isEmpty()) {
+                continue;
+            }
+            // Accept the DTO property names used by the frontend as aliases
+            switch (field) {
+                case "issuetype":
+                case "type":
+                    field = "issuetype";
+                    break;
+                case "due":
+                    field = "duedate";
+                    break;
+                case "watchercount":
+                    field = "watches";
+                    break;
+                case "timeoriginalestimate":
+                case "timeestimate":
+                case "timespent":
+                    field = "timetracking";
+                    break;
+                default:
+                    break;
+            }
+
+            if (ALL_CUSTOM_FIELDS.equals(field)) {
+                allCustom = true;
+            } else if (field.startsWith(CUSTOM_FIELD_PREFIX)) {
+                custom.add(field);
+            } else if (SYSTEM_FIELDS.contains(field)) {
+                system.add(field);
+            }
+        }
+
+        return new IssueFieldProjection(
+                Collections.unmodifiableSet(system),
+                Collections.unmodifiableSet(custom),
+                allCustom);
+    }
+
+    public boolean isAll() {
+        return this == ALL;
+    }
+
+    /**
+     * Whether the given system field (lower-case name from SYSTEM_FIELDS) should be loaded.
+     */
+    public boolean includes(String systemField) {
+        return systemFields == null || systemFields.contains(systemField);
+    }
+
+    /**
+     * Whether any custom field values need to be extracted at all.
+     */
+    public boolean includesAnyCustomField() {
+        return allCustomFields || !customFieldIds.isEmpty();
+    }
+
+    public boolean includesCustomField(String customFieldId) {
+        return allCustomFields
+                || (customFieldId != null && customFieldIds.contains(customFieldId.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Normalized field list echoed back in the response (null when all fields were returned).
+     */
+    public List<String> toList() {
+        if (isAll()) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>(systemFields);
+        if (allCustomFields) {
+            fields.add(ALL_CUSTOM_FIELDS);
+        }
+        fields.addAll(customFieldIds);
+        return fields;
+    }
+}
@@ -0,0 +1,147 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/IssueSearchCursor.java
+package com.samsungbuilder.jsm.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque page cursor for issue search ("cursor=" query parameter).
+ *
+ * Keyset cursors carry the sort value (epoch ms) and issue id of the last row of the previous page,
+ * so the next page is found by seeking past that row instead of skipping an offset. They are only
+ * issued for sorts JQL can seek on (created, updated); other sorts get offset cursors that carry the
+ * next start position. Both carry the position (for "x to y of total") and a fingerprint of the query
+ * they were issued for, so a cursor cannot be replayed against a different search.
+ *
+ * "*" (or a blank value) requests the first page in cursor mode.
+ */
+public final class IssueSearchCursor {
+
+    public static final String FIRST_PAGE = "*";
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = ":";
+    private static final IssueSearchCursor FIRST = new IssueSearchCursor(false, null, false, 0L, 0L, 0, null);
+
+    private final boolean keyset;
+    private final String sortField;
+    private final boolean descending;
+    private final long lastValue;
+    private final long lastId;
+    private final int position;
+    private final String fingerprint;
+
+    private IssueSearchCursor(boolean keyset, String sortField, boolean descending,
+                              long lastValue, long lastId, int position, String fingerprint) {
+        this.keyset = keyset;
+        this.sortField = sortField;
+        this.descending = descending;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+        this.position = position;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Parse the "cursor" parameter; null means cursor mode was not requested.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static IssueSearchCursor parse(String token) {
+        if (token == null) {
+            return null;
+        }
+        String trimmed = token.trim();
+        if (trimmed.isEmpty() || FIRST_PAGE.equals(trimmed)) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(trimmed), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, -1);
+            if (parts.length != 8 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor");
+            }
+            boolean keyset = "k".equals(parts[1]);
+            int position = Integer.parseInt(parts[6]);
+            if (position < 0) {
+                throw new IllegalArgumentException("Negative cursor position");
+            }
+            return new IssueSearchCursor(
+                    keyset,
+                    keyset ? parts[2] : null,
+                    "d".equals(parts[3]),
+                    Long.parseLong(parts[4]),
+                    Long.parseLong(parts[5]),
+                    position,
+                    parts[7]);
+        } catch (IllegalArgumentException e) {
+            // Also covers NumberFormatException and invalid Base64
+            throw new IllegalArgumentException("Invalid cursor: " + e.getMessage(), e);
+        }
+    }
+
+    static IssueSearchCursor keyset(String sortField, boolean descending, long lastValue, long lastId,
+                                    int position, String fingerprint) {
+        return new IssueSearchCursor(true, sortField, descending, lastValue, lastId, position, fingerprint);
+    }
+
+    static IssueSearchCursor offset(int position, String fingerprint) {
+        return new IssueSearchCursor(false, null, false, 0L, 0L, position, fingerprint);
+    }
+
+    /**
+     * Fingerprint of the effective query a cursor is issued for.
+     */
+    static String fingerprint(String jql) {
+        return Integer.toHexString(jql != null ? jql.hashCode() : 0);
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                VERSION,
+                keyset ? "k" : "o",
+                sortField != null ? sortField : "",
+                descending ? "d" : "a",
+                Long.toString(lastValue),
+                Long.toString(lastId),
+                Integer.toString(position),
+                fingerprint != null ? fingerprint : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirstPage() {
+        return this == FIRST;
+    }
+
+    public boolean isKeyset() {
+        return keyset;
+    }
+
+    /**
+     * Whether this cursor was issued for the given sort and query fingerprint. The first page cursor
+     * matches everything.
+     */
+    public boolean matches(String fingerprint, String sortField, boolean descending) {
+        if (isFirstPage()) {
+            return true;
+        }
+        if (!this.fingerprint.equals(fingerprint)) {
+            return false;
+        }
+        return !keyset || (this.sortField.equals(sortField) && this.descending == descending);
+    }
+
+    /**
+     * Whether a row with this sort value and issue id comes after the cursor row (keyset cursors only).
+     * Rows are ordered by sort value, then issue id, both in the cursor's direction.
+     */
+    public boolean precedes(long value, long id) {
+        if (value != lastValue) {
+            return descending ? value < lastValue : value > lastValue;
+        }
+        return descending ? id < lastId : id > lastId;
+    }
+
+    public long getLastValue() { return lastValue; }
+    public int getPosition() { return position; }
+}
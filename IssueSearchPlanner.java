@@ -0,0 +1,198 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/IssueSearchPlanner.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.jira.project.Project;
+import com.atlassian.jira.project.ProjectManager;
+import com.atlassian.jira.user.ApplicationUser;
+import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
+import com.atlassian.servicedesk.api.ServiceDesk;
+import com.atlassian.servicedesk.api.ServiceDeskManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides, once per issue search, which engine serves the project named in the JQL: the JQL index
+ * (the user can browse the project) or the service desk customer request API (a portal-only
+ * customer of a service desk project).
+ *
+ * The decision used to be re-derived up to three times per search (before the search, after zero
+ * results and after a search failure), each time looking up the project, the browse permission and
+ * the service desk again. Plans are memoized per (user, project) for {@link #TTL_MS}, which is
+ * shorter than the browsable project cache it reads, and returned in the search response for
+ * debugging.
+ */
+@Named
+public class IssueSearchPlanner {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueSearchPlanner.class);
+
+    private static final int MAX_PLANS = 5000;
+    private static final long TTL_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private final ProjectManager projectManager;
+    private final ServiceDeskManager serviceDeskManager;
+    private final BrowsableProjectCache browsableProjects;
+
+    // Access-ordered for LRU eviction; guarded by "this"
+    private final LinkedHashMap<String, SearchPlan> plans = new LinkedHashMap<String, SearchPlan>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SearchPlan> eldest) {
+            return size() > MAX_PLANS;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Inject
+    public IssueSearchPlanner(
+            @ComponentImport ProjectManager projectManager,
+            @ComponentImport ServiceDeskManager serviceDeskManager,
+            BrowsableProjectCache browsableProjects) {
+        this.projectManager = projectManager;
+        this.serviceDeskManager = serviceDeskManager;
+        this.browsableProjects = browsableProjects;
+    }
+
+    /**
+     * Plan a search by the user over the given project (null when the JQL names no single project).
+     */
+    public SearchPlan plan(ApplicationUser user, String projectKey) {
+        if (user == null || projectKey == null) {
+            return new SearchPlan(projectKey, Engine.JQL, user == null ? "anonymous" : "no-project-in-jql",
+                    null, null, false);
+        }
+
+        String key = user.getKey() + "|" + projectKey;
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            SearchPlan cached = plans.get(key);
+            if (cached != null && now - cached.plannedAt < TTL_MS) {
+                hits.incrementAndGet();
+                return cached.fromCache();
+            }
+        }
+
+        misses.incrementAndGet();
+        SearchPlan plan = resolve(user, projectKey);
+        synchronized (this) {
+            plans.put(key, plan);
+        }
+        log.debug("Planned issue search for {} in {}: {} ({})", user.getKey(), projectKey, plan.engine, plan.reason);
+        return plan;
+    }
+
+    public synchronized void invalidateAll() {
+        plans.clear();
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", plans.size());
+        stats.put("maxPlans", MAX_PLANS);
+        stats.put("ttlMs", TTL_MS);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    private SearchPlan resolve(ApplicationUser user, String projectKey) {
+        Project project = projectManager.getProjectObjByKey(projectKey);
+        if (project == null) {
+            return new SearchPlan(projectKey, Engine.JQL, "project-not-found", null, null, false);
+        }
+        if (browsableProjects.canBrowse(user, project)) {
+            return new SearchPlan(projectKey, Engine.JQL, "browse-permission", project, null, false);
+        }
+
+        ServiceDesk serviceDesk = null;
+        try {
+            serviceDesk = serviceDeskManager.getServiceDeskForProject(project);
+        } catch (Exception e) {
+            log.debug("Unable to determine if project {} is service desk: {}", projectKey, e.getMessage());
+        }
+        if (serviceDesk == null) {
+            return new SearchPlan(projectKey, Engine.JQL, "no-browse-permission-not-service-desk", project, null, false);
+        }
+        return new SearchPlan(projectKey, Engine.CUSTOMER_REQUESTS, "service-desk-customer", project, serviceDesk, false);
+    }
+
+    public enum Engine {
+        JQL("jql"),
+        CUSTOMER_REQUESTS("customer-requests");
+
+        private final String id;
+
+        Engine(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    /**
+     * Immutable outcome of planning one (user, project) search.
+     */
+    public static final class SearchPlan {
+        private final String projectKey;
+        private final Engine engine;
+        private final String reason;
+        private final Project project;
+        private final ServiceDesk serviceDesk;
+        private final boolean cached;
+        private final long plannedAt;
+
+        private SearchPlan(String projectKey, Engine engine, String reason, Project project,
+                           ServiceDesk serviceDesk, boolean cached) {
+            this(projectKey, engine, reason, project, serviceDesk, cached, System.currentTimeMillis());
+        }
+
+        private SearchPlan(String projectKey, Engine engine, String reason, Project project,
+                           ServiceDesk serviceDesk, boolean cached, long plannedAt) {
+            this.projectKey = projectKey;
+            this.engine = engine;
+            this.reason = reason;
+            this.project = project;
+            this.serviceDesk = serviceDesk;
+            this.cached = cached;
+            this.plannedAt = plannedAt;
+        }
+
+        private SearchPlan fromCache() {
+            return new SearchPlan(projectKey, engine, reason, project, serviceDesk, true, plannedAt);
+        }
+
+        public boolean usesCustomerRequests() {
+            return engine == Engine.CUSTOMER_REQUESTS;
+        }
+
+        public String getProjectKey() { return projectKey; }
+        public Engine getEngine() { return engine; }
+        public String getReason() { return reason; }
+        public Project getProject() { return project; }
+        public ServiceDesk getServiceDesk() { return serviceDesk; }
+
+        /**
+         * Debug view for the search response.
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("engine", engine.getId());
+            map.put("projectKey", projectKey);
+            map.put("reason", reason);
+            map.put("serviceDeskId", serviceDesk != null ? serviceDesk.getId() : null);
+            map.put("cached", cached);
+            map.put("plannedAt", plannedAt);
+            return map;
+        }
+    }
+}
@@ -9,6 +9,9 @@ import java.util.Map;
  * Contains paginated issue results and metadata
  */
 public class IssueSearchResponseDTO {
+    public static final String ENGINE_JQL = "jql";
+    public static final String ENGINE_CUSTOMER_REQUESTS = "customer-requests";
+
     private List<IssueDTO> issues;
     private int totalCount;
     private int startIndex;
@@ -24,16 +27,58 @@ public class IssueSearchResponseDTO {
     private String searchedAsUserName;
     private String searchedAsUserDisplayName;
     private String resolvedJqlQuery; // The JQL after currentUser() is resolved
+    private Map<String, Integer> conversionCacheStats; // Per-search lookup cache hits/misses
+
+    /**
+    * Field projection applied to the issues (null when all fields were returned).
+    */
+    private List<String> fields;
 
     /**
     * Facets computed across the entire result set (used to populate filter dropdowns).
     *  
     * Expected keys:
-    *  - "statuses":   List of unique status names
-    *  - "priorities": List of unique priority names
+    *  - "statuses":    List of unique status names
+    *  - "priorities":  List of unique priority names
+    *  - "issueTypes":  List of unique issue type names
+    *  - "assignees":   List of unique assignee display names
+    *  - "resolutions": List of unique resolution names
     */
     private Map<String, List<String>> facets;
 
+    /**
+    * Per-facet value counts across the entire result set (same keys as {@link #facets}).
+    * Includes a "None" bucket for issues without a value (e.g. unassigned, unresolved).
+    */
+    private Map<String, Map<String, Long>> facetCounts;
+
+    /**
+    * Cursor for the next page when the search ran in cursor mode (null on the last page or in offset mode).
+    */
+    private String nextCursor;
+
+    /**
+    * True when the result was computed over only the newest requests of a truncated customer request
+    * list, so older matches are missing and totalCount is a lower bound.
+    */
+    private boolean resultsTruncated;
+
+    /**
+    * When resultsTruncated is set, how many of the newest requests the result was computed over (null otherwise).
+    */
+    private Integer resultsLimit;
+
+    /**
+    * Which engine served the page: {@link #ENGINE_JQL} or {@link #ENGINE_CUSTOMER_REQUESTS} (the service
+    * desk fallback for customers without Browse permission).
+    */
+    private String searchEngine;
+
+    /**
+    * How the search was planned (engine, project, reason, cached), for debugging.
+    */
+    private Map<String, Object> searchPlan;
+
     public IssueSearchResponseDTO() {
     }
 
@@ -86,9 +131,33 @@ public class IssueSearchResponseDTO {
     public String getResolvedJqlQuery() { return resolvedJqlQuery; }
     public void setResolvedJqlQuery(String resolvedJqlQuery) { this.resolvedJqlQuery = resolvedJqlQuery; }
 
+    public Map<String, Integer> getConversionCacheStats() { return conversionCacheStats; }
+    public void setConversionCacheStats(Map<String, Integer> conversionCacheStats) { this.conversionCacheStats = conversionCacheStats; }
+
+    public List<String> getFields() { return fields; }
+    public void setFields(List<String> fields) { this.fields = fields; }
+
     public Map<String, List<String>> getFacets() { return facets; }
     public void setFacets(Map<String, List<String>> facets) { this.facets = facets; }
 
+    public Map<String, Map<String, Long>> getFacetCounts() { return facetCounts; }
+    public void setFacetCounts(Map<String, Map<String, Long>> facetCounts) { this.facetCounts = facetCounts; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public String getSearchEngine() { return searchEngine; }
+    public void setSearchEngine(String searchEngine) { this.searchEngine = searchEngine; }
+
+    public boolean isResultsTruncated() { return resultsTruncated; }
+    public void setResultsTruncated(boolean resultsTruncated) { this.resultsTruncated = resultsTruncated; }
+
+    public Integer getResultsLimit() { return resultsLimit; }
+    public void setResultsLimit(Integer resultsLimit) { this.resultsLimit = resultsLimit; }
+
+    public Map<String, Object> getSearchPlan() { return searchPlan; }
+    public void setSearchPlan(Map<String, Object> searchPlan) { this.searchPlan = searchPlan; }
+
     public int getCurrentPage() {
         return pageSize > 0 ? (startIndex / pageSize) + 1 : 1;
     }
@@ -1,7 +1,6 @@
 // rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/IssueService.java
 package com.samsungbuilder.jsm.service;
 
-import com.atlassian.jira.avatar.Avatar;
 import com.atlassian.jira.avatar.AvatarService;
 import com.atlassian.jira.bc.issue.search.SearchService;
 import com.atlassian.jira.issue.Issue;
@@ -9,15 +8,20 @@ import com.atlassian.jira.issue.IssueManager;
 import com.atlassian.jira.issue.priority.Priority;
 import com.atlassian.jira.issue.search.SearchException;
 import com.atlassian.jira.issue.search.SearchResults;
+import com.atlassian.jira.jql.builder.ConditionBuilder;
+import com.atlassian.jira.jql.builder.JqlClauseBuilder;
+import com.atlassian.jira.jql.builder.JqlQueryBuilder;
 import com.atlassian.jira.project.Project;
 import com.atlassian.jira.project.ProjectManager;
 import com.atlassian.jira.security.JiraAuthenticationContext;
-import com.atlassian.jira.security.PermissionManager;
 import com.atlassian.jira.user.ApplicationUser;
 import com.atlassian.jira.web.bean.PagerFilter;
-import com.atlassian.jira.permission.ProjectPermissions;
 import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
 import com.atlassian.query.Query;
+import com.atlassian.query.operator.Operator;
+import com.atlassian.query.order.OrderBy;
+import com.atlassian.query.order.SearchSort;
+import com.atlassian.query.order.SortOrder;
 import com.atlassian.servicedesk.api.ServiceDesk;
 import com.atlassian.servicedesk.api.ServiceDeskManager;
 import com.atlassian.jira.component.ComponentAccessor;
@@ -33,16 +37,18 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Named;
-import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -59,13 +65,6 @@ public class IssueService {
     private static final int MAX_PAGE_SIZE = 100;
     private static final Pattern PROJECT_KEY_PATTERN = Pattern.compile("project\\s*=\\s*\"?([A-Z0-9_\\-]+)\"?", Pattern.CASE_INSENSITIVE);
 
-    /**
-    * Safety cap for facet scanning (status + priority). We only need unique values,
-    * but scanning an unbounded result set can be expensive.
-    */
-    private static final int MAX_FACET_SCAN_ISSUES = 2000;
-    private static final int FACET_PAGE_SIZE = 500;
-
     /**
     * Sort field allow-list to prevent JQL injection.
     * NOTE: Custom fields are handled separately via customfield_12345 => cf[12345].
@@ -84,14 +83,27 @@ public class IssueService {
         "resolution"
     );
 
+    /**
+    * Sort fields cursor paging can seek on with a JQL range clause (see {@link #searchKeysetPage}).
+    */
+    private static final Set<String> KEYSET_SORT_FIELDS = Set.of("created", "updated");
+    private static final int KEYSET_WINDOW_SLACK = 25;
+    private static final int MAX_KEYSET_WINDOW = 1000;
+    private static final long ONE_MINUTE_MS = 60_000L;
+    private static final int CANDIDATE_BATCH_SIZE = 200;
+
     private final SearchService searchService;
     private final IssueManager issueManager;
     private final ProjectManager projectManager;
     private final JiraAuthenticationContext authenticationContext;
     private final AvatarService avatarService;
-    private final PermissionManager permissionManager;
     private final ServiceDeskCustomerRequestService customerRequestService;
     private final ServiceDeskManager serviceDeskManager;
+    private final BrowsableProjectCache browsableProjects;
+    private final FacetAggregationService facetAggregationService;
+    private final CustomerRequestListCache customerRequestLists;
+    private final IssueSearchPlanner searchPlanner;
+    private final JqlQueryCache jqlQueryCache;
 
     @Inject
     public IssueService(
@@ -100,18 +112,26 @@ public class IssueService {
             @ComponentImport ProjectManager projectManager,
             @ComponentImport JiraAuthenticationContext authenticationContext,
             @ComponentImport AvatarService avatarService,
-            @ComponentImport PermissionManager permissionManager,
             @ComponentImport ServiceDeskCustomerRequestService customerRequestService,
-            @ComponentImport ServiceDeskManager serviceDeskManager
+            @ComponentImport ServiceDeskManager serviceDeskManager,
+            BrowsableProjectCache browsableProjects,
+            FacetAggregationService facetAggregationService,
+            CustomerRequestListCache customerRequestLists,
+            IssueSearchPlanner searchPlanner,
+            JqlQueryCache jqlQueryCache
     ) {
         this.searchService = searchService;
         this.issueManager = issueManager;
         this.projectManager = projectManager;
         this.authenticationContext = authenticationContext;
         this.avatarService = avatarService;
-        this.permissionManager = permissionManager;
         this.customerRequestService = customerRequestService;
         this.serviceDeskManager = serviceDeskManager;
+        this.browsableProjects = browsableProjects;
+        this.facetAggregationService = facetAggregationService;
+        this.customerRequestLists = customerRequestLists;
+        this.searchPlanner = searchPlanner;
+        this.jqlQueryCache = jqlQueryCache;
     }
 
     /**
@@ -147,7 +167,7 @@ public class IssueService {
     * Search issues using JQL query with optional server-side search/filter, sorting, and facets.
     *
     * Sorting here applies to the ENTIRE result set (server-side ORDER BY), not just the current page.
-    * Facets (status + priority) are computed across the ENTIRE result set (bounded by MAX_FACET_SCAN_ISSUES).
+    * Facets (status, priority, issue type, assignee, resolution) are counted across the ENTIRE result set.
     */
     public IssueSearchResponseDTO searchIssues(
         String jqlQuery,
@@ -159,11 +179,58 @@ public class IssueService {
         String sortField,
         String sortDir,
         boolean includeFacets
+    ) {
+        return searchIssues(jqlQuery, startIndex, pageSize, searchTerm, statusFilter, priorityFilter,
+                sortField, sortDir, includeFacets, null);
+    }
+
+    /**
+    * Search issues with an optional field projection.
+    *
+    * @param fields Optional comma-separated field list (see {@link IssueFieldProjection}); null returns all fields.
+    *               Only the requested system and custom fields are loaded and converted.
+    */
+    public IssueSearchResponseDTO searchIssues(
+        String jqlQuery,
+        int startIndex,
+        int pageSize,
+        String searchTerm,
+        String statusFilter,
+        String priorityFilter,
+        String sortField,
+        String sortDir,
+        boolean includeFacets,
+        String fields
+    ) {
+        return searchIssues(jqlQuery, startIndex, pageSize, searchTerm, statusFilter, priorityFilter,
+                sortField, sortDir, includeFacets, fields, null);
+    }
+
+    /**
+    * Search issues with optional cursor paging.
+    *
+    * @param cursor Optional cursor (see {@link IssueSearchCursor}); null uses offset paging from startIndex.
+    *               "*" requests the first page in cursor mode, and each response carries the cursor of the
+    *               next page. Sorting by created/updated (or no sort, which pages by created DESC) seeks
+    *               past the previous page's last row instead of skipping an offset; other sorts page by offset.
+    */
+    public IssueSearchResponseDTO searchIssues(
+        String jqlQuery,
+        int startIndex,
+        int pageSize,
+        String searchTerm,
+        String statusFilter,
+        String priorityFilter,
+        String sortField,
+        String sortDir,
+        boolean includeFacets,
+        String fields,
+        String cursor
     ) {
         long startTime = System.currentTimeMillis();
         log.debug(
-            "Searching issues with JQL: {}, startIndex: {}, pageSize: {}, search: {}, status: {}, priority: {}, sortField: {}, sortDir: {}, facets: {}",
-            jqlQuery, startIndex, pageSize, searchTerm, statusFilter, priorityFilter, sortField, sortDir, includeFacets
+            "Searching issues with JQL: {}, startIndex: {}, pageSize: {}, search: {}, status: {}, priority: {}, sortField: {}, sortDir: {}, facets: {}, cursor: {}",
+            jqlQuery, startIndex, pageSize, searchTerm, statusFilter, priorityFilter, sortField, sortDir, includeFacets, cursor
         );
 
         ApplicationUser currentUser = authenticationContext.getLoggedInUser();
@@ -176,86 +243,103 @@ public class IssueService {
             return emptyResponse;
         }
 
-        String projectKeyFromJql = null;
+        IssueFieldProjection fieldProjection = IssueFieldProjection.parse(fields);
+        IssueSearchCursor searchCursor = IssueSearchCursor.parse(cursor);
+        CustomerRequestCriteria fallbackCriteria = CustomerRequestCriteria.of(
+                searchTerm, statusFilter, priorityFilter, normalizeSortField(sortField), normalizeSortDir(sortDir));
         String resolvedJql = null;
+        String cursorFingerprint = null;
 
         try {
-            // Validate and sanitize pagination parameters
+            // Validate and sanitize pagination parameters (a cursor carries its own position)
             int validatedPageSize = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
-            int validatedStartIndex = Math.max(startIndex, 0);
+            int validatedStartIndex = searchCursor != null ? searchCursor.getPosition() : Math.max(startIndex, 0);
 
-            // Build enhanced JQL with search/filter terms (server-side filtering)
-            String enhancedJql = buildEnhancedJql(jqlQuery, searchTerm, statusFilter, priorityFilter);
-            // Apply server-side ORDER BY (sort applies across entire result set)
+            // Base JQL is parsed once per distinct JQL; search/filter clauses and the server-side
+            // ORDER BY (sort applies across entire result set) are added to the parsed query
+            Query baseQuery = jqlQueryCache.parse(currentUser, jqlQuery);
             String normalizedSortField = normalizeSortField(sortField);
             String normalizedSortDir = normalizeSortDir(sortDir);
-            if (normalizedSortField != null) {
-                enhancedJql = applyOrderBy(enhancedJql, normalizedSortField, normalizedSortDir);
-            }
-            log.debug("Enhanced JQL: {}", enhancedJql);
-
-            // Parse and validate the enhanced JQL query
-            SearchService.ParseResult parseResult = searchService.parseQuery(currentUser, enhancedJql);
-            if (!parseResult.isValid()) {
-                log.warn("Invalid JQL query: {} - Errors: {}", enhancedJql, parseResult.getErrors());
-                throw new IllegalArgumentException("Invalid JQL query: " + parseResult.getErrors());
+            Query query = buildSearchQuery(baseQuery, searchTerm, statusFilter, priorityFilter,
+                    normalizedSortField, normalizedSortDir);
+
+            // Render the effective query back to JQL (debugging, cursor fingerprint, project detection)
+            resolvedJql = searchService.getJqlString(query);
+            log.debug("Enhanced JQL: {}", resolvedJql);
+
+            // Cursor paging seeks on created/updated; anything else pages by offset
+            String keysetSortField = null;
+            boolean keysetDescending = false;
+            if (searchCursor != null) {
+                cursorFingerprint = IssueSearchCursor.fingerprint(resolvedJql);
+                if (normalizedSortField != null) {
+                    keysetSortField = KEYSET_SORT_FIELDS.contains(normalizedSortField) ? normalizedSortField : null;
+                    keysetDescending = "desc".equals(normalizedSortDir);
+                } else {
+                    SearchSort primarySort = getPrimarySort(query);
+                    keysetSortField = primarySort == null ? "created" : toKeysetSortField(primarySort.getField());
+                    keysetDescending = primarySort == null || primarySort.getSortOrder() != SortOrder.ASC;
+                }
+                if (!searchCursor.matches(cursorFingerprint, keysetSortField, keysetDescending)) {
+                    throw new IllegalArgumentException("Cursor does not belong to this search; request the first page again");
+                }
+                if (!searchCursor.isFirstPage() && !searchCursor.isKeyset()) {
+                    keysetSortField = null; // Continue by offset once a search has fallen back to it
+                }
             }
 
-            Query query = parseResult.getQuery();
-            PagerFilter pagerFilter = new PagerFilter(validatedStartIndex, validatedPageSize);
-
-            // Get the resolved JQL query string (with currentUser() replaced)
-            resolvedJql = query.getQueryString();
-
-            // If user cannot browse the project, fall back to service desk customer requests
-            projectKeyFromJql = extractProjectKeyFromJql(jqlQuery);
-            if (projectKeyFromJql == null) {
-                projectKeyFromJql = extractProjectKeyFromJql(resolvedJql);
-            }
-            if (shouldUseCustomerRequestFallback(currentUser, projectKeyFromJql)) {
-                log.debug("Using Service Desk customer request fallback for user {} in project {}", currentUser.getKey(), projectKeyFromJql);
+            // Decide once which engine serves the project: if the user cannot browse it, service desk customer requests
+            String projectKeyFromJql = extractProjectKeyFromJql(jqlQuery);
+            IssueSearchPlanner.SearchPlan searchPlan = searchPlanner.plan(currentUser,
+                    projectKeyFromJql != null ? projectKeyFromJql : extractProjectKeyFromJql(resolvedJql));
+            if (searchPlan.usesCustomerRequests()) {
+                log.debug("Using Service Desk customer request fallback for user {} in project {}", currentUser.getKey(), searchPlan.getProjectKey());
                 IssueSearchResponseDTO fallbackResponse = searchCustomerRequestsForProject(
-                        projectKeyFromJql,
+                        searchPlan,
                         validatedStartIndex,
                         validatedPageSize,
                         currentUser,
                         jqlQuery,
                         resolvedJql,
-                        startTime
+                        startTime,
+                        fieldProjection,
+                        fallbackCriteria,
+                        includeFacets
                 );
                 if (fallbackResponse != null) {
-                    return fallbackResponse;
+                    fallbackResponse.setSearchPlan(searchPlan.toMap());
+                    return withOffsetCursor(fallbackResponse, searchCursor, cursorFingerprint);
                 }
+                // The customer request API failed; the JQL search below returns what the index allows
             }
 
             // Execute search
-            SearchResults searchResults = searchService.search(currentUser, query, pagerFilter);
-            Collection<Issue> issues = searchResults.getResults();
+            KeysetPage keysetPage = null;
+            if (keysetSortField != null) {
+                keysetPage = searchKeysetPage(currentUser, query, keysetSortField, keysetDescending,
+                        searchCursor, validatedPageSize, cursorFingerprint);
+                if (keysetPage == null) {
+                    log.debug("Keyset window exceeded for JQL '{}'; serving position {} by offset", resolvedJql, validatedStartIndex);
+                }
+            }
+            Collection<Issue> issues;
+            int total;
+            if (keysetPage != null) {
+                issues = keysetPage.issues;
+                total = keysetPage.total;
+            } else {
+                SearchResults searchResults = searchService.search(currentUser, query,
+                        new PagerFilter(validatedStartIndex, validatedPageSize));
+                issues = searchResults.getResults();
+                total = searchResults.getTotal();
+            }
 
-            // Convert to DTOs
+            // Convert to DTOs (lookups shared across the page)
+            IssueConversionContext conversionContext = newConversionContext();
             List<IssueDTO> issueDTOs = issues.stream()
-                    .map(this::convertToDTO)
+                    .map(issue -> convertToDTO(issue, conversionContext, fieldProjection))
                     .collect(Collectors.toList());
 
-            int total = searchResults.getTotal();
-
-            // If we got no results but this is a service desk project and the user lacks Browse, try the customer fallback
-            if (total == 0 && projectKeyFromJql != null && shouldUseCustomerRequestFallback(currentUser, projectKeyFromJql)) {
-                log.debug("Zero results from JQL search; attempting service desk fallback for user {} project {}", currentUser.getKey(), projectKeyFromJql);
-                IssueSearchResponseDTO fallbackResponse = searchCustomerRequestsForProject(
-                        projectKeyFromJql,
-                        validatedStartIndex,
-                        validatedPageSize,
-                        currentUser,
-                        jqlQuery,
-                        resolvedJql,
-                        startTime
-                );
-                if (fallbackResponse != null) {
-                    return fallbackResponse;
-                }
-            }
-
             if (total == 0) {
                 log.info("Issue search returned no results for JQL '{}' (user: {}, resolvedJql: {}, startIndex: {}, pageSize: {})",
                         jqlQuery, currentUser.getKey(), resolvedJql, validatedStartIndex, validatedPageSize);
@@ -270,21 +354,32 @@ public class IssueService {
             );
             response.setJqlQuery(jqlQuery);
             response.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+            response.setSearchEngine(IssueSearchResponseDTO.ENGINE_JQL);
+            response.setSearchPlan(searchPlan.toMap());
+            if (keysetPage != null) {
+                response.setHasNextPage(keysetPage.hasNextPage);
+                response.setNextCursor(keysetPage.nextCursor != null ? keysetPage.nextCursor.encode() : null);
+            } else {
+                withOffsetCursor(response, searchCursor, cursorFingerprint);
+            }
 
             // Add user context for permission debugging
             response.setSearchedAsUserKey(currentUser.getKey());
             response.setSearchedAsUserName(currentUser.getUsername());
             response.setSearchedAsUserDisplayName(currentUser.getDisplayName());
             response.setResolvedJqlQuery(resolvedJql);
+            response.setConversionCacheStats(conversionContext.getStats());
+            response.setFields(fieldProjection.toList());
 
-            // Facets (status + priority) for filter dropdowns across ENTIRE result set.
+            // Facets (values + counts) for filter dropdowns across ENTIRE result set.
             if (includeFacets) {
                 try {
                     // IMPORTANT: facets should reflect the full result set for the base query + searchTerm,
                     // but NOT be constrained by the user's current status/priority selections.
-                    String facetsJql = buildEnhancedJql(jqlQuery, searchTerm, null, null);
-                    Map<String, List<String>> facets = computeFacets(currentUser, facetsJql);
-                    response.setFacets(facets);
+                    Query facetsQuery = buildSearchQuery(baseQuery, searchTerm, null, null, null, null);
+                    Map<String, Map<String, Long>> facetCounts = facetAggregationService.computeFacetCounts(currentUser, facetsQuery);
+                    response.setFacetCounts(facetCounts);
+                    response.setFacets(facetAggregationService.toFacetValues(facetCounts));
                 } catch (Exception facetEx) {
                     // Never fail the request due to facet computation.
                     log.warn("Facet computation failed; continuing without facets. jql='{}' user='{}' msg='{}'",
@@ -300,23 +395,9 @@ public class IssueService {
 
         } catch (SearchException e) {
             log.error("Error executing issue search with JQL: {}", jqlQuery, e);
-            if (projectKeyFromJql != null && shouldUseCustomerRequestFallback(currentUser, projectKeyFromJql)) {
-                int validatedPageSize = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
-                int validatedStartIndex = Math.max(startIndex, 0);
-                IssueSearchResponseDTO fallbackResponse = searchCustomerRequestsForProject(
-                        projectKeyFromJql,
-                        validatedStartIndex,
-                        validatedPageSize,
-                        currentUser,
-                        jqlQuery,
-                        resolvedJql,
-                        startTime
-                );
-                if (fallbackResponse != null) {
-                    return fallbackResponse;
-                }
-            }
             throw new RuntimeException("Issue search failed: " + e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Unexpected error during issue search", e);
             throw new RuntimeException("Issue search failed: " + e.getMessage(), e);
@@ -363,85 +444,120 @@ public class IssueService {
         return null;
     }
 
-    
+    private SearchSort getPrimarySort(Query query) {
+        OrderBy orderBy = query.getOrderByClause();
+        if (orderBy == null || orderBy.getSearchSorts() == null || orderBy.getSearchSorts().isEmpty()) {
+            return null;
+        }
+        return orderBy.getSearchSorts().get(0);
+    }
+
     /**
-    * Strip any existing ORDER BY clause and apply a new ORDER BY.
+    * Map a JQL ORDER BY field to the keyset sort field, or null when it cannot be seeked on.
     */
-    private String applyOrderBy(String baseJql, String sortField, String sortDir) {
-        if (baseJql == null) {
-            baseJql = "";
+    private String toKeysetSortField(String jqlField) {
+        if (jqlField == null) {
+            return null;
         }
-
-        String trimmed = baseJql.trim();
-        int orderByIndex = trimmed.toUpperCase().lastIndexOf("ORDER BY");
-        String withoutOrder = orderByIndex > 0 ? trimmed.substring(0, orderByIndex).trim() : trimmed;
-        
-        if (withoutOrder.isEmpty()) {
-            return "ORDER BY " + sortField + " " + sortDir;
+        switch (jqlField.trim().toLowerCase()) {
+            case "created":
+            case "createddate":
+                return "created";
+            case "updated":
+            case "updateddate":
+                return "updated";
+            default:
+                return null;
         }
-        return withoutOrder + " ORDER BY " + sortField + " " + sortDir;
     }
 
     /**
-    * Compute facets (unique statuses + priorities) across the ENTIRE result set.
+    * Fetch one page after the cursor row, ordered by the sort field and then issue id.
+    *
+    * JQL date literals have minute precision, so the query seeks to the cursor's minute and the rows
+    * up to and including the cursor row are skipped in memory. Rows within the same minute come back
+    * in no particular order; the last minute of a full window may continue past it, so it is left for
+    * the next page and the window grows when that leaves less than a page.
     *
-    * NOTE: bounded by MAX_FACET_SCAN_ISSUES to keep this safe in large instances.
+    * @return the page, or null when more rows share a minute than {@link #MAX_KEYSET_WINDOW}
     */
-    private Map<String, List<String>> computeFacets(ApplicationUser user, String facetsJql) throws SearchException {
-        // Parse and validate facets JQL
-        SearchService.ParseResult parseResult = searchService.parseQuery(user, facetsJql);
-        if (!parseResult.isValid()) {
-            throw new IllegalArgumentException("Invalid JQL query for facets: " + parseResult.getErrors());
+    private KeysetPage searchKeysetPage(ApplicationUser user, Query baseQuery, String sortField, boolean descending,
+                                        IssueSearchCursor cursor, int pageSize, String fingerprint) throws SearchException {
+        JqlQueryBuilder builder = JqlQueryBuilder.newBuilder(baseQuery);
+        if (!cursor.isFirstPage()) {
+            JqlClauseBuilder where = builder.where().defaultAnd();
+            ConditionBuilder condition = "updated".equals(sortField) ? where.updated() : where.created();
+            if (descending) {
+                condition.ltEq(new Date(cursor.getLastValue() + ONE_MINUTE_MS));
+            } else {
+                condition.gtEq(new Date(cursor.getLastValue()));
+            }
         }
-        
-        Query query = parseResult.getQuery();
-
-        TreeSet<String> statuses = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-        TreeSet<String> priorities = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-
-        int startAt = 0;
-        int scanned = 0;
-    while (scanned < MAX_FACET_SCAN_ISSUES) {
-        int pageSize = Math.min(FACET_PAGE_SIZE, MAX_FACET_SCAN_ISSUES - scanned);
-        PagerFilter pager = new PagerFilter(startAt, pageSize);
-        SearchResults results = searchService.search(user, query, pager);
-        Collection<Issue> issues = results.getResults();
-        if (issues == null || issues.isEmpty()) {
-            break;
+        builder.orderBy().clear().add(sortField, descending ? SortOrder.DESC : SortOrder.ASC);
+        Query seekQuery = builder.buildQuery();
+
+        Comparator<Issue> rowOrder = Comparator
+                .comparingLong((Issue issue) -> sortValue(issue, sortField))
+                .thenComparingLong(Issue::getId);
+        if (descending) {
+            rowOrder = rowOrder.reversed();
         }
-
-        for (Issue issue : issues) {
-            if (issue == null) continue;
-            if (issue.getStatus() != null && issue.getStatus().getName() != null) {
-                statuses.add(issue.getStatus().getName());
+        int position = cursor.isFirstPage() ? 0 : cursor.getPosition();
+
+        for (int window = pageSize + 1 + KEYSET_WINDOW_SLACK; window <= MAX_KEYSET_WINDOW; window *= 2) {
+            SearchResults results = searchService.search(user, seekQuery, new PagerFilter(0, window));
+            List<Issue> fetched = new ArrayList<>(results.getResults());
+            boolean complete = results.getTotal() <= window;
+
+            List<Issue> rows = new ArrayList<>(fetched.size());
+            int skipped = 0;
+            for (Issue issue : fetched) {
+                if (cursor.isFirstPage() || cursor.precedes(sortValue(issue, sortField), issue.getId())) {
+                    rows.add(issue);
+                } else {
+                    skipped++;
+                }
             }
-            Priority pr = issue.getPriority();
-            if (pr != null && pr.getName() != null) {
-                priorities.add(pr.getName());
+            if (!complete && !fetched.isEmpty()) {
+                long lastMinute = sortValue(fetched.get(fetched.size() - 1), sortField) / ONE_MINUTE_MS;
+                while (!rows.isEmpty() && sortValue(rows.get(rows.size() - 1), sortField) / ONE_MINUTE_MS == lastMinute) {
+                    rows.remove(rows.size() - 1);
+                }
+                if (rows.size() < pageSize) {
+                    continue;
+                }
             }
-        }
 
-        int fetched = issues.size();
-        scanned += fetched;
-        startAt += fetched;
-        
-        // Stop if we've scanned the full result set.
-        if (startAt >= results.getTotal()) {
-            break;
-        }
-        
-        // Stop if pager returned fewer than requested (no more pages).
-        if (fetched < pageSize) {
-            break;
+            rows.sort(rowOrder);
+            List<Issue> page = new ArrayList<>(rows.subList(0, Math.min(pageSize, rows.size())));
+            boolean hasNextPage = rows.size() > pageSize || !complete;
+            IssueSearchCursor nextCursor = null;
+            if (hasNextPage && !page.isEmpty()) {
+                Issue last = page.get(page.size() - 1);
+                nextCursor = IssueSearchCursor.keyset(sortField, descending, sortValue(last, sortField), last.getId(),
+                        position + page.size(), fingerprint);
+            }
+            // Skipped rows sort before every row kept, so they are all within the window
+            return new KeysetPage(page, position + results.getTotal() - skipped, hasNextPage, nextCursor);
         }
+        return null;
     }
 
-    Map<String, List<String>> facets = new HashMap<>();
-    facets.put("statuses", new ArrayList<>(statuses));
-    facets.put("priorities", new ArrayList<>(priorities));
-    return facets;
-}
+    private static long sortValue(Issue issue, String sortField) {
+        Date value = "updated".equals(sortField) ? issue.getUpdated() : issue.getCreated();
+        return value != null ? value.getTime() : 0L;
+    }
 
+    /**
+    * Add an offset cursor for the next page when the search runs in cursor mode.
+    */
+    private IssueSearchResponseDTO withOffsetCursor(IssueSearchResponseDTO response, IssueSearchCursor cursor, String fingerprint) {
+        if (cursor != null && response.isHasNextPage()) {
+            int nextPosition = response.getStartIndex() + response.getPageSize();
+            response.setNextCursor(IssueSearchCursor.offset(nextPosition, fingerprint).encode());
+        }
+        return response;
+    }
 
     /**
      * Search issues for a specific project with current user filter
@@ -452,8 +568,15 @@ public class IssueService {
      * @return Search response with paginated results
      */
     public IssueSearchResponseDTO searchProjectIssues(String projectKey, int startIndex, int pageSize) {
+        return searchProjectIssues(projectKey, startIndex, pageSize, null);
+    }
+
+    /**
+     * Search issues for a specific project with current user filter, returning only the requested fields
+     */
+    public IssueSearchResponseDTO searchProjectIssues(String projectKey, int startIndex, int pageSize, String fields) {
         String jql = String.format("project = %s AND reporter = currentUser() ORDER BY created DESC", projectKey);
-        IssueSearchResponseDTO response = searchIssues(jql, startIndex, pageSize);
+        IssueSearchResponseDTO response = searchIssues(jql, startIndex, pageSize, null, null, null, null, "asc", false, fields);
         response.setProjectKey(projectKey);
         return response;
     }
@@ -467,8 +590,15 @@ public class IssueService {
      * @return Search response with paginated results
      */
     public IssueSearchResponseDTO searchAllProjectIssues(String projectKey, int startIndex, int pageSize) {
+        return searchAllProjectIssues(projectKey, startIndex, pageSize, null);
+    }
+
+    /**
+     * Search all issues for a specific project, returning only the requested fields
+     */
+    public IssueSearchResponseDTO searchAllProjectIssues(String projectKey, int startIndex, int pageSize, String fields) {
         String jql = String.format("project = %s ORDER BY created DESC", projectKey);
-        IssueSearchResponseDTO response = searchIssues(jql, startIndex, pageSize);
+        IssueSearchResponseDTO response = searchIssues(jql, startIndex, pageSize, null, null, null, null, "asc", false, fields);
         response.setProjectKey(projectKey);
         return response;
     }
@@ -477,12 +607,19 @@ public class IssueService {
      * Get issues by project with custom JQL filter
      */
     public IssueSearchResponseDTO searchProjectIssuesWithFilter(String projectKey, String additionalFilter, int startIndex, int pageSize) {
+        return searchProjectIssuesWithFilter(projectKey, additionalFilter, startIndex, pageSize, null);
+    }
+
+    /**
+     * Search issues for a specific project with additional JQL filter, returning only the requested fields
+     */
+    public IssueSearchResponseDTO searchProjectIssuesWithFilter(String projectKey, String additionalFilter, int startIndex, int pageSize, String fields) {
         String baseJql = String.format("project = %s", projectKey);
         String jql = additionalFilter != null && !additionalFilter.trim().isEmpty()
                 ? baseJql + " AND " + additionalFilter + " ORDER BY created DESC"
                 : baseJql + " ORDER BY created DESC";
         
-        IssueSearchResponseDTO response = searchIssues(jql, startIndex, pageSize);
+        IssueSearchResponseDTO response = searchIssues(jql, startIndex, pageSize, null, null, null, null, "asc", false, fields);
         response.setProjectKey(projectKey);
         return response;
     }
@@ -490,65 +627,122 @@ public class IssueService {
     /**
      * Fallback search for service desk customers without Browse permission.
      * Uses the Service Desk customer request API to return only requests the user can see.
+     *
+     * Pages are served from the user's cached list of visible requests (newest first), which gives an
+     * exact total and random access to any page. Only pages past the end of a truncated list page
+     * through the customer request API directly.
+     *
+     * Search term, status/priority filters, sort and facets are evaluated over that list (the candidate
+     * set, bounded by the list size), streamed in batches; the filtered id list and the facet counts
+     * are memoized with the list, so paging through a filtered result does not re-evaluate it. When the
+     * list is truncated, a filtered or sorted result covers only its newest requests and is flagged
+     * as such (resultsTruncated and resultsLimit, totalCount is a lower bound).
+     * On the direct path the search term is pushed into CustomerRequestQuery and the rest is applied
+     * to the page.
      */
     private IssueSearchResponseDTO searchCustomerRequestsForProject(
-            String projectKey,
+            IssueSearchPlanner.SearchPlan plan,
             int startIndex,
             int pageSize,
             ApplicationUser currentUser,
             String originalJql,
             String resolvedJql,
-            long startTime
+            long startTime,
+            IssueFieldProjection fieldProjection,
+            CustomerRequestCriteria criteria,
+            boolean includeFacets
     ) {
-        if (customerRequestService == null || serviceDeskManager == null || projectKey == null) {
-            return null;
-        }
-
-        Project project = projectManager.getProjectObjByKey(projectKey);
-        if (project == null) {
+        if (customerRequestService == null || plan.getProject() == null || plan.getServiceDesk() == null) {
             return null;
         }
 
-        ServiceDesk serviceDesk = null;
-        try {
-            serviceDesk = serviceDeskManager.getServiceDeskForProject(project);
-        } catch (Exception e) {
-            log.debug("Could not resolve service desk for project {} as user {}: {}", projectKey, currentUser.getKey(), e.getMessage());
-        }
+        // Resolved by the search planner
+        String projectKey = plan.getProjectKey();
+        Project project = plan.getProject();
+        ServiceDesk serviceDesk = plan.getServiceDesk();
 
         int validatedPageSize = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
         int validatedStartIndex = Math.max(startIndex, 0);
 
         try {
-            CustomerRequestQuery.Builder builder = customerRequestService.newQueryBuilder()
-                    // ALL_ORGANIZATIONS_AND_GROUPS matches JSM portal visibility (reporter + org + shared groups)
-                    .requestOwnership(CustomerRequestQuery.REQUEST_OWNERSHIP.ALL_ORGANIZATIONS_AND_GROUPS)
-                    .pagedRequest(SimplePagedRequest.paged(validatedStartIndex, validatedPageSize));
+            List<Issue> issues;
+            int totalCount;
+            boolean hasNextPage;
+            boolean resultsTruncated = false;
+            Integer resultsLimit = null;
+            Map<String, Map<String, Long>> facetCounts = null;
+
+            CustomerRequestListCache.VisibleRequests visible = serviceDesk != null
+                    ? customerRequestLists.getVisibleRequests(currentUser, project, serviceDesk)
+                    : null;
+            int pageEnd = validatedStartIndex + validatedPageSize;
+            boolean filtered = criteria.hasFilters() || criteria.isSorted();
+            if (visible != null && (!visible.isTruncated() || filtered || pageEnd <= visible.size())) {
+                if (filtered) {
+                    long[] matching = visible.derive(criteria.resultKey(), () -> filterCustomerRequests(visible, criteria));
+                    List<Long> pageIds = new ArrayList<>();
+                    for (int i = validatedStartIndex; i < Math.min(pageEnd, matching.length); i++) {
+                        pageIds.add(matching[i]);
+                    }
+                    issues = loadIssuesInOrder(pageIds);
+                    totalCount = matching.length;
+                    hasNextPage = pageEnd < matching.length;
+                    // Only the newest requests of a truncated list were filtered: older matches are missing
+                    resultsTruncated = visible.isTruncated();
+                    resultsLimit = resultsTruncated ? visible.size() : null;
+                } else {
+                    issues = loadIssuesInOrder(visible.getIssueIds(validatedStartIndex, pageEnd));
+                    totalCount = visible.size();
+                    hasNextPage = pageEnd < visible.size() || visible.isTruncated();
+                }
+                if (includeFacets) {
+                    // Like the JQL path: constrained by the search term, not by the status/priority selections
+                    facetCounts = visible.derive("facets|" + criteria.searchKey(), () -> countCustomerRequestFacets(visible, criteria));
+                }
+            } else {
+                CustomerRequestQuery.Builder builder = customerRequestService.newQueryBuilder()
+                        // ALL_ORGANIZATIONS_AND_GROUPS matches JSM portal visibility (reporter + org + shared groups)
+                        .requestOwnership(CustomerRequestQuery.REQUEST_OWNERSHIP.ALL_ORGANIZATIONS_AND_GROUPS)
+                        .pagedRequest(SimplePagedRequest.paged(validatedStartIndex, validatedPageSize));
 
-            if (serviceDesk != null) {
-                builder = builder.serviceDesk(serviceDesk.getId());
-            }
+                if (serviceDesk != null) {
+                    builder = builder.serviceDesk(serviceDesk.getId());
+                }
+                if (criteria.getSearchTerm() != null) {
+                    builder = builder.filter(criteria.getSearchTerm());
+                }
 
-            CustomerRequestQuery query = builder.build();
+                CustomerRequestQuery query = builder.build();
 
-            PagedResponse<CustomerRequest> response = customerRequestService.getCustomerRequests(currentUser, query);
+                PagedResponse<CustomerRequest> response = customerRequestService.getCustomerRequests(currentUser, query);
+                issues = response.getResults().stream()
+                        .map(CustomerRequest::getIssue)
+                        .filter(Objects::nonNull)
+                        .filter(criteria::matches)
+                        .collect(Collectors.toCollection(ArrayList::new));
+                if (criteria.isSorted()) {
+                    issues.sort(criteria.getOrder());
+                }
+                totalCount = estimateTotalCount(validatedStartIndex, issues.size(), response.hasNextPage(), validatedPageSize);
+                hasNextPage = response.hasNextPage();
+            }
 
-            List<IssueDTO> issueDTOs = response.getResults().stream()
-                    .map(CustomerRequest::getIssue)
-                    .filter(Objects::nonNull)
-                    .map(this::convertToDTO)
+            IssueConversionContext conversionContext = newConversionContext();
+            List<IssueDTO> issueDTOs = issues.stream()
+                    .map(issue -> convertToDTO(issue, conversionContext, fieldProjection))
                     .collect(Collectors.toList());
 
-            int totalCount = estimateTotalCount(validatedStartIndex, issueDTOs.size(), response.hasNextPage(), validatedPageSize);
-
             IssueSearchResponseDTO dto = new IssueSearchResponseDTO(
                     issueDTOs,
                     totalCount,
                     validatedStartIndex,
                     validatedPageSize
             );
-            dto.setHasNextPage(response.hasNextPage());
+            dto.setHasNextPage(hasNextPage);
             dto.setHasPreviousPage(validatedStartIndex > 0);
+            dto.setResultsTruncated(resultsTruncated);
+            dto.setResultsLimit(resultsLimit);
+            dto.setSearchEngine(IssueSearchResponseDTO.ENGINE_CUSTOMER_REQUESTS);
             dto.setProjectKey(projectKey);
             dto.setJqlQuery(originalJql);
             dto.setResolvedJqlQuery(resolvedJql != null ? resolvedJql : originalJql);
@@ -556,9 +750,15 @@ public class IssueService {
             dto.setSearchedAsUserKey(currentUser.getKey());
             dto.setSearchedAsUserName(currentUser.getUsername());
             dto.setSearchedAsUserDisplayName(currentUser.getDisplayName());
+            dto.setConversionCacheStats(conversionContext.getStats());
+            dto.setFields(fieldProjection.toList());
+            if (facetCounts != null) {
+                dto.setFacetCounts(facetCounts);
+                dto.setFacets(facetAggregationService.toFacetValues(facetCounts));
+            }
 
-            log.debug("Service desk fallback returned {} requests (hasNextPage: {}) for user {} in project {}",
-                    issueDTOs.size(), response.hasNextPage(), currentUser.getKey(), projectKey);
+            log.debug("Service desk fallback returned {} of {} requests (hasNextPage: {}) for user {} in project {}",
+                    issueDTOs.size(), totalCount, hasNextPage, currentUser.getKey(), projectKey);
 
             return dto;
         } catch (Exception ex) {
@@ -568,41 +768,77 @@ public class IssueService {
     }
 
     /**
-     * Determine whether the caller lacks Browse permission but can be served via service desk APIs.
+     * Ids of the listed customer requests matching the criteria, in the requested order
+     * (newest first when unsorted)
      */
-    private boolean shouldUseCustomerRequestFallback(ApplicationUser user, String projectKey) {
-        if (user == null || projectKey == null || permissionManager == null) {
-            return false;
+    private long[] filterCustomerRequests(CustomerRequestListCache.VisibleRequests visible, CustomerRequestCriteria criteria) {
+        // Ids and sort keys only, so the issues of each batch can be released
+        List<Long> matchIds = new ArrayList<>();
+        List<Comparable<?>> sortKeys = criteria.isSorted() ? new ArrayList<>() : null;
+        forEachCustomerRequest(visible, issue -> {
+            if (criteria.matches(issue)) {
+                matchIds.add(issue.getId());
+                if (sortKeys != null) {
+                    sortKeys.add(criteria.sortKey(issue));
+                }
+            }
+        });
+        if (sortKeys == null) {
+            return matchIds.stream().mapToLong(Long::longValue).toArray();
         }
-
-        Project project = projectManager.getProjectObjByKey(projectKey);
-        if (project == null) {
-            return false;
+        Integer[] positions = new Integer[matchIds.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
         }
-
-        if (hasBrowsePermission(user, project)) {
-            return false;
+        // Stable, so ties stay newest first
+        Arrays.sort(positions, Comparator.comparing(sortKeys::get, criteria.getKeyOrder()));
+        long[] ordered = new long[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            ordered[i] = matchIds.get(positions[i]);
         }
+        return ordered;
+    }
 
-        return isServiceDeskProject(project) && customerRequestService != null && serviceDeskManager != null;
+    private Map<String, Map<String, Long>> countCustomerRequestFacets(CustomerRequestListCache.VisibleRequests visible,
+                                                                      CustomerRequestCriteria criteria) {
+        FacetAggregationService.FacetCounter counter = facetAggregationService.newCounter();
+        forEachCustomerRequest(visible, issue -> {
+            if (criteria.matchesSearchTerm(issue)) {
+                counter.add(issue);
+            }
+        });
+        return counter.getCounts();
     }
 
-    private boolean hasBrowsePermission(ApplicationUser user, Project project) {
-        try {
-            return permissionManager != null && permissionManager.hasPermission(ProjectPermissions.BROWSE_PROJECTS, project, user);
-        } catch (Exception e) {
-            log.debug("Unable to evaluate browse permission for project {}: {}", project != null ? project.getKey() : "null", e.getMessage());
-            return false;
+    /**
+     * Load the listed requests in batches and pass each issue to the action; the loader keeps only
+     * the current batch, the action decides what outlives it
+     */
+    private void forEachCustomerRequest(CustomerRequestListCache.VisibleRequests visible, Consumer<Issue> action) {
+        for (int start = 0; start < visible.size(); start += CANDIDATE_BATCH_SIZE) {
+            loadIssuesInOrder(visible.getIssueIds(start, start + CANDIDATE_BATCH_SIZE)).forEach(action);
         }
     }
 
-    private boolean isServiceDeskProject(Project project) {
-        try {
-            return serviceDeskManager != null && serviceDeskManager.getServiceDeskForProject(project) != null;
-        } catch (Exception e) {
-            log.debug("Unable to determine if project {} is service desk: {}", project != null ? project.getKey() : "null", e.getMessage());
-            return false;
+    /**
+     * Load issues by id, keeping the order of the ids and skipping issues that no longer exist
+     */
+    private List<Issue> loadIssuesInOrder(List<Long> issueIds) {
+        if (issueIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Issue> byId = new HashMap<>();
+        for (Issue issue : issueManager.getIssueObjects(issueIds)) {
+            byId.put(issue.getId(), issue);
         }
+        List<Issue> issues = new ArrayList<>(issueIds.size());
+        for (Long issueId : issueIds) {
+            Issue issue = byId.get(issueId);
+            if (issue != null) {
+                issues.add(issue);
+            }
+        }
+        return issues;
     }
 
     private String extractProjectKeyFromJql(String jqlQuery) {
@@ -617,44 +853,30 @@ public class IssueService {
     }
 
     /**
-     * Build enhanced JQL by appending search and filter clauses.
+     * Build the search query by adding search and filter clauses to the parsed base query.
      * This enables server-side search/filtering across the ENTIRE result set,
      * not just the current page (which is the key fix for the JQL table issues).
      *
-     * @param baseJql The original JQL query
+     * Clauses are added as objects (values are literals, so no quoting or escaping) and the
+     * base query's where clause stays one operand, so its ORs cannot leak into the filters.
+     *
+     * @param baseQuery The parsed original JQL query
      * @param searchTerm Text to search in summary, description, and key
      * @param statusFilter Comma-separated list of status names to filter by
      * @param priorityFilter Comma-separated list of priority names to filter by
-     * @return Enhanced JQL with search/filter clauses appended
+     * @param sortField Normalized sort field replacing the base ORDER BY, or null to keep it
+     * @param sortDir Normalized sort direction ("asc" or "desc")
+     * @return The base query with search/filter clauses and sort applied
      */
-    private String buildEnhancedJql(String baseJql, String searchTerm, String statusFilter, String priorityFilter) {
-        if (baseJql == null || baseJql.trim().isEmpty()) {
-            baseJql = "";
-        }
-
-        StringBuilder enhancedJql = new StringBuilder();
-
-        // Extract ORDER BY clause if present (we need to append it at the end)
-        String orderByClause = "";
-        String jqlWithoutOrder = baseJql;
-        int orderByIndex = baseJql.toUpperCase().lastIndexOf("ORDER BY");
-        if (orderByIndex > 0) {
-            orderByClause = baseJql.substring(orderByIndex);
-            jqlWithoutOrder = baseJql.substring(0, orderByIndex).trim();
-        }
-
-        // Start with base JQL (without ORDER BY)
-        if (!jqlWithoutOrder.isEmpty()) {
-            enhancedJql.append("(").append(jqlWithoutOrder).append(")");
-        }
+    private Query buildSearchQuery(Query baseQuery, String searchTerm, String statusFilter, String priorityFilter,
+                                   String sortField, String sortDir) {
+        JqlQueryBuilder builder = JqlQueryBuilder.newBuilder(baseQuery);
+        JqlClauseBuilder where = builder.where().defaultAnd();
 
         // Add text search clause (search in key, summary, and description)
         if (searchTerm != null && !searchTerm.trim().isEmpty()) {
             String trimmedSearch = searchTerm.trim();
-            String sanitizedSearch = sanitizeJqlValue(trimmedSearch);
-            if (enhancedJql.length() > 0) {
-                enhancedJql.append(" AND ");
-            }
+            JqlClauseBuilder textSearch = JqlQueryBuilder.newClauseBuilder();
 
             // Check if search term looks like an issue key (e.g., "WMPR-123" or "ABC-1")
             // Pattern: uppercase letters followed by dash and numbers
@@ -662,69 +884,47 @@ public class IssueService {
 
             if (looksLikeIssueKey) {
                 // For issue keys, use exact match on key field (case-insensitive in Jira)
-                enhancedJql.append("(key = \"").append(sanitizedSearch.toUpperCase()).append("\"")
-                           .append(" OR summary ~ \"").append(sanitizedSearch).append("\"")
-                           .append(" OR description ~ \"").append(sanitizedSearch).append("\")");
+                textSearch.addStringCondition("key", Operator.EQUALS, trimmedSearch.toUpperCase())
+                        .or().summary(trimmedSearch)
+                        .or().description(trimmedSearch);
             } else {
                 // For general text search, use "text" field which searches across multiple fields
                 // The "text" field is more robust with special characters like dashes
                 // Also add explicit key search for partial key matches
-                enhancedJql.append("(text ~ \"").append(sanitizedSearch).append("\"")
-                           .append(" OR key ~ \"").append(sanitizedSearch).append("\")");
+                textSearch.addStringCondition("text", Operator.LIKE, trimmedSearch)
+                        .or().addStringCondition("key", Operator.LIKE, trimmedSearch);
             }
+            where.addClause(textSearch.buildClause());
         }
 
         // Add status filter clause
-        if (statusFilter != null && !statusFilter.trim().isEmpty()) {
-            String[] statuses = statusFilter.split(",");
-            if (statuses.length > 0) {
-                if (enhancedJql.length() > 0) {
-                    enhancedJql.append(" AND ");
-                }
-                enhancedJql.append("status IN (");
-                for (int i = 0; i < statuses.length; i++) {
-                    if (i > 0) enhancedJql.append(", ");
-                    enhancedJql.append("\"").append(sanitizeJqlValue(statuses[i].trim())).append("\"");
-                }
-                enhancedJql.append(")");
-            }
+        String[] statuses = splitFilterValues(statusFilter);
+        if (statuses.length > 0) {
+            where.status(statuses);
         }
 
         // Add priority filter clause
-        if (priorityFilter != null && !priorityFilter.trim().isEmpty()) {
-            String[] priorities = priorityFilter.split(",");
-            if (priorities.length > 0) {
-                if (enhancedJql.length() > 0) {
-                    enhancedJql.append(" AND ");
-                }
-                enhancedJql.append("priority IN (");
-                for (int i = 0; i < priorities.length; i++) {
-                    if (i > 0) enhancedJql.append(", ");
-                    enhancedJql.append("\"").append(sanitizeJqlValue(priorities[i].trim())).append("\"");
-                }
-                enhancedJql.append(")");
-            }
+        String[] priorities = splitFilterValues(priorityFilter);
+        if (priorities.length > 0) {
+            where.priority(priorities);
         }
 
-        // Append ORDER BY clause at the end
-        if (!orderByClause.isEmpty()) {
-            enhancedJql.append(" ").append(orderByClause);
+        // Replace the base ORDER BY
+        if (sortField != null) {
+            builder.orderBy().clear().add(sortField, "desc".equals(sortDir) ? SortOrder.DESC : SortOrder.ASC);
         }
 
-        String result = enhancedJql.toString().trim();
-        return result.isEmpty() ? baseJql : result;
+        return builder.buildQuery();
     }
 
-    /**
-     * Sanitize a value for safe use in JQL queries.
-     * Escapes special characters to prevent JQL injection.
-     */
-    private String sanitizeJqlValue(String value) {
-        if (value == null) return "";
-        // Escape backslashes first, then quotes
-        return value.replace("\\", "\\\\")
-                    .replace("\"", "\\\"")
-                    .replace("'", "\\'");
+    private String[] splitFilterValues(String filter) {
+        if (filter == null || filter.trim().isEmpty()) {
+            return new String[0];
+        }
+        return Arrays.stream(filter.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toArray(String[]::new);
     }
 
     private int estimateTotalCount(int startIndex, int resultSize, boolean hasNextPage, int pageSize) {
@@ -738,44 +938,34 @@ public class IssueService {
     /**
      * Convert Jira Issue to DTO
      */
-    private IssueDTO convertToDTO(Issue issue) {
+    private IssueDTO convertToDTO(Issue issue, IssueConversionContext context, IssueFieldProjection fields) {
         IssueDTO dto = new IssueDTO();
         
-        // Basic issue information
+        // Basic issue information (always included)
         dto.setId(issue.getId().toString());
         dto.setKey(issue.getKey());
-        dto.setSummary(issue.getSummary());
-        dto.setDescription(issue.getDescription());
+        if (fields.includes("summary")) {
+            dto.setSummary(issue.getSummary());
+        }
+        if (fields.includes("description")) {
+            dto.setDescription(issue.getDescription());
+        }
         
-        // Project information
+        // Project information (always included - needed for portal links)
         Project project = issue.getProjectObject();
         if (project != null) {
             dto.setProjectKey(project.getKey());
             dto.setProjectName(project.getName());
 
-            // --- ADDED: Resolve Service Desk ID for Portal Linking ---
-            String serviceDeskId = null;
-            try {
-                com.atlassian.servicedesk.api.ServiceDeskManager sdManager =
-                    ComponentAccessor.getOSGiComponentInstanceOfType(
-                        com.atlassian.servicedesk.api.ServiceDeskManager.class
-                    );
-                if (sdManager != null) {
-                    com.atlassian.servicedesk.api.ServiceDesk serviceDesk =
-                        sdManager.getServiceDeskForProject(project);
-                    if (serviceDesk != null) {
-                        serviceDeskId = String.valueOf(serviceDesk.getId());
-                        dto.setServiceDeskId(serviceDeskId);
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("Could not resolve Service Desk ID for issue {}: {}", issue.getKey(), e.getMessage());
+            // Resolve Service Desk ID for Portal Linking (memoized per search)
+            String serviceDeskId = context.getServiceDeskId(project);
+            if (serviceDeskId != null) {
+                dto.setServiceDeskId(serviceDeskId);
             }
-            // ---------------------------------------------------------
         }
         
         // Status information
-        if (issue.getStatus() != null) {
+        if (fields.includes("status") && issue.getStatus() != null) {
             dto.setStatus(issue.getStatus().getName());
             dto.setStatusId(issue.getStatus().getId());
             dto.setStatusIconUrl(issue.getStatus().getIconUrl());
@@ -786,7 +976,7 @@ public class IssueService {
         }
         
         // Priority information
-        Priority priority = issue.getPriority();
+        Priority priority = fields.includes("priority") ? issue.getPriority() : null;
         if (priority != null) {
             dto.setPriority(priority.getName());
             dto.setPriorityId(priority.getId());
@@ -794,91 +984,107 @@ public class IssueService {
         }
         
         // Issue type information
-        if (issue.getIssueType() != null) {
+        if (fields.includes("issuetype") && issue.getIssueType() != null) {
             dto.setIssueType(issue.getIssueType().getName());
             dto.setIssueTypeId(issue.getIssueType().getId());
             dto.setIssueTypeIconUrl(issue.getIssueType().getIconUrl());
         }
         
         // Date information
-        dto.setCreated(issue.getCreated());
-        dto.setUpdated(issue.getUpdated());
-        dto.setDueDate(issue.getDueDate());
+        if (fields.includes("created")) {
+            dto.setCreated(issue.getCreated());
+        }
+        if (fields.includes("updated")) {
+            dto.setUpdated(issue.getUpdated());
+        }
+        if (fields.includes("duedate")) {
+            dto.setDueDate(issue.getDueDate());
+        }
         
         // Reporter information
-        ApplicationUser reporter = issue.getReporter();
+        ApplicationUser reporter = fields.includes("reporter") ? issue.getReporter() : null;
         if (reporter != null) {
             dto.setReporter(reporter.getKey());
             dto.setReporterDisplayName(reporter.getDisplayName());
             dto.setReporterEmailAddress(reporter.getEmailAddress());
-            dto.setReporterAvatarUrl(getAvatarUrl(reporter));
+            dto.setReporterAvatarUrl(context.getAvatarUrl(reporter));
         }
         
         // Assignee information
-        ApplicationUser assignee = issue.getAssignee();
+        ApplicationUser assignee = fields.includes("assignee") ? issue.getAssignee() : null;
         if (assignee != null) {
             dto.setAssignee(assignee.getKey());
             dto.setAssigneeDisplayName(assignee.getDisplayName());
             dto.setAssigneeEmailAddress(assignee.getEmailAddress());
-            dto.setAssigneeAvatarUrl(getAvatarUrl(assignee));
+            dto.setAssigneeAvatarUrl(context.getAvatarUrl(assignee));
         }
         
         // Resolution information
-        if (issue.getResolution() != null) {
+        if (fields.includes("resolution") && issue.getResolution() != null) {
             dto.setResolution(issue.getResolution().getName());
             dto.setResolutionId(issue.getResolution().getId());
             dto.setResolutionDate(issue.getResolutionDate());
         }
         
         // Labels
-        if (issue.getLabels() != null && !issue.getLabels().isEmpty()) {
+        if (fields.includes("labels") && issue.getLabels() != null && !issue.getLabels().isEmpty()) {
             dto.setLabels(issue.getLabels().stream()
                     .map(Object::toString)
                     .toArray(String[]::new));
         }
 
         // Components
-        if (issue.getComponents() != null) {
+        if (fields.includes("components") && issue.getComponents() != null) {
             dto.setComponents(issue.getComponents().stream()
                     .map(component -> component.getName())
                     .toArray(String[]::new));
         }
         
         // Versions
-        if (issue.getFixVersions() != null) {
+        if (fields.includes("fixversions") && issue.getFixVersions() != null) {
             dto.setFixVersions(issue.getFixVersions().stream()
                     .map(version -> version.getName())
                     .toArray(String[]::new));
         }
         
-        if (issue.getAffectedVersions() != null) {
+        if (fields.includes("affectedversions") && issue.getAffectedVersions() != null) {
             dto.setAffectedVersions(issue.getAffectedVersions().stream()
                     .map(version -> version.getName())
                     .toArray(String[]::new));
         }
         
         // Time tracking
-        dto.setTimeOriginalEstimate(issue.getOriginalEstimate());
-        dto.setTimeEstimate(issue.getEstimate());
-        dto.setTimeSpent(issue.getTimeSpent());
+        if (fields.includes("timetracking")) {
+            dto.setTimeOriginalEstimate(issue.getOriginalEstimate());
+            dto.setTimeEstimate(issue.getEstimate());
+            dto.setTimeSpent(issue.getTimeSpent());
+        }
 
         // Other fields
-        dto.setEnvironment(issue.getEnvironment());
-        dto.setVotes(issue.getVotes() != null ? issue.getVotes().intValue() : null);
-        dto.setWatcherCount(issue.getWatches() != null ? issue.getWatches().intValue() : null);
+        if (fields.includes("environment")) {
+            dto.setEnvironment(issue.getEnvironment());
+        }
+        if (fields.includes("votes")) {
+            dto.setVotes(issue.getVotes() != null ? issue.getVotes().intValue() : null);
+        }
+        if (fields.includes("watches")) {
+            dto.setWatcherCount(issue.getWatches() != null ? issue.getWatches().intValue() : null);
+        }
 
-        // Extract custom field values
+        // Extract custom field values (field context memoized per project + issue type)
+        if (!fields.includesAnyCustomField()) {
+            return dto;
+        }
         try {
-            var customFieldManager = com.atlassian.jira.component.ComponentAccessor.getCustomFieldManager();
-            if (customFieldManager != null) {
-                var customFields = customFieldManager.getCustomFieldObjects(issue);
-                for (var cf : customFields) {
-                    Object value = issue.getCustomFieldValue(cf);
-                    if (value != null) {
-                        String displayValue = extractCustomFieldDisplayValue(cf, value);
-                        if (displayValue != null) {
-                            dto.setCustomField(cf.getId(), displayValue);
-                        }
+            for (var cf : context.getCustomFields(issue)) {
+                if (!fields.includesCustomField(cf.getId())) {
+                    continue;
+                }
+                Object value = issue.getCustomFieldValue(cf);
+                if (value != null) {
+                    String displayValue = extractCustomFieldDisplayValue(cf, value);
+                    if (displayValue != null) {
+                        dto.setCustomField(cf.getId(), displayValue);
                     }
                 }
             }
@@ -1025,18 +1231,10 @@ public class IssueService {
     }
 
     /**
-     * Get user avatar URL
+     * Create a lookup cache for converting one page of search results
      */
-    private String getAvatarUrl(ApplicationUser user) {
-        try {
-            if (avatarService != null && user != null) {
-                URI avatarUri = avatarService.getAvatarURL(user, user, Avatar.Size.SMALL);
-                return avatarUri != null ? avatarUri.toString() : null;
-            }
-        } catch (Exception e) {
-            log.debug("Could not get avatar URL for user {}: {}", user != null ? user.getKey() : "null", e.getMessage());
-        }
-        return null;
+    private IssueConversionContext newConversionContext() {
+        return new IssueConversionContext(serviceDeskManager, avatarService, ComponentAccessor.getCustomFieldManager());
     }
 
     /**
@@ -1052,7 +1250,25 @@ public class IssueService {
     }
 
     /**
-     * Validate if user has permission to see issues in project
+     * One page of a keyset search
+     */
+    private static final class KeysetPage {
+        private final List<Issue> issues;
+        private final int total;
+        private final boolean hasNextPage;
+        private final IssueSearchCursor nextCursor;
+
+        private KeysetPage(List<Issue> issues, int total, boolean hasNextPage, IssueSearchCursor nextCursor) {
+            this.issues = issues;
+            this.total = total;
+            this.hasNextPage = hasNextPage;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    /**
+     * Validate if user has permission to see issues in project: Browse Projects, or a service desk
+     * customer whose requests are served by the customer request fallback
      */
     public boolean canUserSeeProject(String projectKey) {
         try {
@@ -1066,10 +1282,9 @@ public class IssueService {
                 return false;
             }
 
-            // Try a simple search to check permissions
-            String testJql = String.format("project = %s", projectKey);
-            SearchService.ParseResult parseResult = searchService.parseQuery(currentUser, testJql);
-            return parseResult.isValid();
+            // Portal-only service desk customers are served through the customer request API
+            return browsableProjects.canBrowse(currentUser, project)
+                    || searchPlanner.plan(currentUser, project.getKey()).usesCustomerRequests();
 
         } catch (Exception e) {
             log.debug("Error checking project permissions for {}: {}", projectKey, e.getMessage());
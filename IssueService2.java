@@ -16,7 +16,6 @@ import com.atlassian.jira.security.JiraAuthenticationContext;
 import com.atlassian.jira.security.PermissionManager;
 import com.atlassian.jira.user.ApplicationUser;
 import com.atlassian.jira.web.bean.PagerFilter;
-import com.atlassian.jira.permission.ProjectPermissions;
 import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
 import com.atlassian.query.Query;
 import com.atlassian.servicedesk.api.ServiceDesk;
@@ -63,6 +62,7 @@ public class IssueService {
     private final PermissionManager permissionManager;
     private final ServiceDeskCustomerRequestService customerRequestService;
     private final ServiceDeskManager serviceDeskManager;
+    private final BrowsableProjectCache browsableProjects;
 
     @Inject
     public IssueService(
@@ -73,7 +73,8 @@ public class IssueService {
             @ComponentImport AvatarService avatarService,
             @ComponentImport PermissionManager permissionManager,
             @ComponentImport ServiceDeskCustomerRequestService customerRequestService,
-            @ComponentImport ServiceDeskManager serviceDeskManager
+            @ComponentImport ServiceDeskManager serviceDeskManager,
+            BrowsableProjectCache browsableProjects
     ) {
         this.searchService = searchService;
         this.issueManager = issueManager;
@@ -83,6 +84,7 @@ public class IssueService {
         this.permissionManager = permissionManager;
         this.customerRequestService = customerRequestService;
         this.serviceDeskManager = serviceDeskManager;
+        this.browsableProjects = browsableProjects;
     }
 
     /**
@@ -396,12 +398,7 @@ public class IssueService {
     }
 
     private boolean hasBrowsePermission(ApplicationUser user, Project project) {
-        try {
-            return permissionManager != null && permissionManager.hasPermission(ProjectPermissions.BROWSE_PROJECTS, project, user);
-        } catch (Exception e) {
-            log.debug("Unable to evaluate browse permission for project {}: {}", project != null ? project.getKey() : "null", e.getMessage());
-            return false;
-        }
+        return browsableProjects.canBrowse(user, project);
     }
 
     private boolean isServiceDeskProject(Project project) {
@@ -860,7 +857,8 @@ public class IssueService {
     }
 
     /**
-     * Validate if user has permission to see issues in project
+     * Validate if user has permission to see issues in project: Browse Projects, or a service desk
+     * customer whose requests are served by the customer request fallback
      */
     public boolean canUserSeeProject(String projectKey) {
         try {
@@ -874,10 +872,9 @@ public class IssueService {
                 return false;
             }
 
-            // Try a simple search to check permissions
-            String testJql = String.format("project = %s", projectKey);
-            SearchService.ParseResult parseResult = searchService.parseQuery(currentUser, testJql);
-            return parseResult.isValid();
+            // Portal-only service desk customers are served through the customer request API
+            return browsableProjects.canBrowse(currentUser, project)
+                    || shouldUseCustomerRequestFallback(currentUser, project.getKey());
 
         } catch (Exception e) {
             log.debug("Error checking project permissions for {}: {}", projectKey, e.getMessage());
@@ -0,0 +1,125 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/JqlQueryCache.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.jira.bc.issue.search.SearchService;
+import com.atlassian.jira.jql.builder.JqlQueryBuilder;
+import com.atlassian.jira.user.ApplicationUser;
+import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
+import com.atlassian.query.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parsed form of the base JQL of portal components (JQL tables, project issue lists).
+ *
+ * Every issue search used to splice its search/filter/sort clauses into the component JQL as a
+ * string and parse the result, and parse it again for facets. The base JQL now is parsed once and
+ * the per-request clauses are added to the Query with JqlQueryBuilder. The base JQL only changes
+ * when a component is reconfigured, so entries are keyed by the JQL text:
+ *  - shared by all users: parsing does not resolve functions such as currentUser() (that happens
+ *    when the query is searched), so the Query does not depend on who parsed it
+ *  - invalid JQL is cached too, with its errors, so a misconfigured component does not re-parse
+ *  - LRU bounded to {@link #MAX_QUERIES}; a reconfigured component's old JQL simply ages out
+ */
+@Named
+public class JqlQueryCache {
+
+    private static final Logger log = LoggerFactory.getLogger(JqlQueryCache.class);
+
+    private static final int MAX_QUERIES = 1000;
+    private static final int MAX_JQL_LENGTH = 10_000;
+
+    private final SearchService searchService;
+
+    // Access-ordered for LRU eviction; guarded by "this"
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > MAX_QUERIES) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+
+    @Inject
+    public JqlQueryCache(@ComponentImport SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Parse JQL, or return the cached Query for the same JQL text. Blank JQL is the empty query
+     * (all issues the user can see).
+     *
+     * @throws IllegalArgumentException if the JQL does not parse
+     */
+    public Query parse(ApplicationUser user, String jql) {
+        String key = jql != null ? jql.trim() : "";
+        if (key.isEmpty()) {
+            return JqlQueryBuilder.newBuilder().buildQuery();
+        }
+
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            SearchService.ParseResult parseResult = searchService.parseQuery(user, key);
+            entry = parseResult.isValid()
+                    ? new Entry(parseResult.getQuery(), null)
+                    : new Entry(null, String.valueOf(parseResult.getErrors()));
+            if (key.length() <= MAX_JQL_LENGTH) {
+                synchronized (this) {
+                    entries.put(key, entry);
+                }
+            }
+        }
+
+        if (entry.query == null) {
+            invalid.incrementAndGet();
+            log.warn("Invalid JQL query: {} - Errors: {}", key, entry.errors);
+            throw new IllegalArgumentException("Invalid JQL query: " + entry.errors);
+        }
+        return entry.query;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxQueries", MAX_QUERIES);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("invalid", invalid.get());
+        return stats;
+    }
+
+    private static final class Entry {
+        private final Query query;
+        private final String errors;
+
+        private Entry(Query query, String errors) {
+            this.query = query;
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/JsonDelta.java
+package com.samsungbuilder.jsm.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Minimal JSON-patch style diff/apply over Jackson "untyped" trees (Map / List / scalars).
+ *
+ * Operations (paths are lists of tokens: String for object keys, Integer for array indexes):
+ *   {"op":"replace","path":[...],"value":v}                   set a key / index (or the root)
+ *   {"op":"remove","path":[...]}                               drop an object key
+ *   {"op":"splice","path":[...],"index":i,"remove":n,"values":[...]}  array range replacement
+ *
+ * Arrays of equal length are diffed element by element (one edited component = one small op);
+ * otherwise the common prefix and suffix are kept and only the middle range is spliced, which
+ * covers inserted, removed and reordered-at-one-spot components.
+ */
+final class JsonDelta {
+
+    private JsonDelta() {
+    }
+
+    static List<Map<String, Object>> diff(Object from, Object to) {
+        List<Map<String, Object>> ops = new ArrayList<>();
+        diff(new ArrayList<>(), from, to, ops);
+        return ops;
+    }
+
+    /**
+     * Apply operations to {@code base}. The base is modified in place; pass a {@link #deepCopy}
+     * when it must be kept.
+     */
+    @SuppressWarnings("unchecked")
+    static Object apply(Object base, List<Map<String, Object>> ops) {
+        Object root = base;
+        for (Map<String, Object> op : ops) {
+            List<Object> path = (List<Object>) op.get("path");
+            String type = (String) op.get("op");
+            if ("splice".equals(type)) {
+                List<Object> target = (List<Object>) navigate(root, path, path.size());
+                int index = ((Number) op.get("index")).intValue();
+                int remove = ((Number) op.get("remove")).intValue();
+                for (int i = 0; i < remove; i++) {
+                    target.remove(index);
+                }
+                target.addAll(index, (List<Object>) deepCopy(op.get("values")));
+                continue;
+            }
+            if (path.isEmpty()) {
+                root = deepCopy(op.get("value"));
+                continue;
+            }
+            Object parent = navigate(root, path, path.size() - 1);
+            Object token = path.get(path.size() - 1);
+            if (parent instanceof Map) {
+                if ("remove".equals(type)) {
+                    ((Map<String, Object>) parent).remove((String) token);
+                } else {
+                    ((Map<String, Object>) parent).put((String) token, deepCopy(op.get("value")));
+                }
+            } else if (parent instanceof List) {
+                ((List<Object>) parent).set(((Number) token).intValue(), deepCopy(op.get("value")));
+            } else {
+                throw new IllegalStateException("Delta path " + path + " does not match the base document");
+            }
+        }
+        return root;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Object deepCopy(Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                copy.put(entry.getKey(), deepCopy(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof List) {
+            List<Object> source = (List<Object>) value;
+            List<Object> copy = new ArrayList<>(source.size());
+            for (Object item : source) {
+                copy.add(deepCopy(item));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void diff(List<Object> path, Object from, Object to, List<Map<String, Object>> ops) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        if (from instanceof Map && to instanceof Map) {
+            Map<String, Object> a = (Map<String, Object>) from;
+            Map<String, Object> b = (Map<String, Object>) to;
+            for (String key : a.keySet()) {
+                if (!b.containsKey(key)) {
+                    ops.add(op("remove", child(path, key), null));
+                }
+            }
+            for (Map.Entry<String, Object> entry : b.entrySet()) {
+                if (!a.containsKey(entry.getKey())) {
+                    ops.add(op("replace", child(path, entry.getKey()), entry.getValue()));
+                } else {
+                    diff(child(path, entry.getKey()), a.get(entry.getKey()), entry.getValue(), ops);
+                }
+            }
+            return;
+        }
+        if (from instanceof List && to instanceof List) {
+            List<Object> a = (List<Object>) from;
+            List<Object> b = (List<Object>) to;
+            if (a.size() == b.size()) {
+                for (int i = 0; i < a.size(); i++) {
+                    diff(child(path, i), a.get(i), b.get(i), ops);
+                }
+                return;
+            }
+            int prefix = 0;
+            int max = Math.min(a.size(), b.size());
+            while (prefix < max && Objects.equals(a.get(prefix), b.get(prefix))) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < max - prefix
+                    && Objects.equals(a.get(a.size() - 1 - suffix), b.get(b.size() - 1 - suffix))) {
+                suffix++;
+            }
+            Map<String, Object> splice = new LinkedHashMap<>();
+            splice.put("op", "splice");
+            splice.put("path", new ArrayList<>(path));
+            splice.put("index", prefix);
+            splice.put("remove", a.size() - suffix - prefix);
+            splice.put("values", new ArrayList<>(b.subList(prefix, b.size() - suffix)));
+            ops.add(splice);
+            return;
+        }
+        ops.add(op("replace", new ArrayList<>(path), to));
+    }
+
+    private static List<Object> child(List<Object> path, Object token) {
+        List<Object> childPath = new ArrayList<>(path.size() + 1);
+        childPath.addAll(path);
+        childPath.add(token);
+        return childPath;
+    }
+
+    private static Map<String, Object> op(String type, List<Object> path, Object value) {
+        Map<String, Object> op = new LinkedHashMap<>();
+        op.put("op", type);
+        op.put("path", path);
+        if (!"remove".equals(type)) {
+            op.put("value", value);
+        }
+        return op;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object navigate(Object root, List<Object> path, int depth) {
+        Object current = root;
+        for (int i = 0; i < depth; i++) {
+            Object token = path.get(i);
+            if (current instanceof Map) {
+                current = ((Map<String, Object>) current).get((String) token);
+            } else if (current instanceof List) {
+                current = ((List<Object>) current).get(((Number) token).intValue());
+            } else {
+                throw new IllegalStateException("Delta path " + path + " does not match the base document");
+            }
+        }
+        if (current == null) {
+            throw new IllegalStateException("Delta path " + path + " does not match the base document");
+        }
+        return current;
+    }
+}
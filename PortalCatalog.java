@@ -0,0 +1,280 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/PortalCatalog.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.event.api.EventListener;
+import com.atlassian.event.api.EventPublisher;
+import com.atlassian.jira.avatar.Avatar;
+import com.atlassian.jira.avatar.AvatarService;
+import com.atlassian.jira.event.ProjectCreatedEvent;
+import com.atlassian.jira.event.ProjectDeletedEvent;
+import com.atlassian.jira.event.ProjectUpdatedEvent;
+import com.atlassian.jira.project.Project;
+import com.atlassian.jira.project.ProjectCategory;
+import com.atlassian.jira.project.ProjectManager;
+import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
+import com.atlassian.servicedesk.api.ServiceDesk;
+import com.atlassian.servicedesk.api.ServiceDeskManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Precomputed, user-independent catalog of every project as listed by GET /portals.
+ *
+ * Resolving the service desk, category and avatar of each project is what made the portal list
+ * cost thousands of calls per landing page load. They are resolved once per project here, kept in
+ * an immutable snapshot and updated incrementally on project created/updated/deleted events; a full
+ * rebuild after {@link #MAX_AGE_MS} picks up what publishes no event (a project gaining a service
+ * desk, avatar edits). While a rebuild runs, other callers keep using the previous snapshot.
+ *
+ * The live flag is not stored: it changes with portal config writes (locally and on other nodes)
+ * and is read from {@link PortalLiveStateRegistry} when the list is rendered.
+ */
+@Named
+public class PortalCatalog implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PortalCatalog.class);
+    private static final long MAX_AGE_MS = TimeUnit.MINUTES.toMillis(30);
+
+    private final ProjectManager projectManager;
+    private final ServiceDeskManager serviceDeskManager;
+    private final AvatarService avatarService;
+    private final EventPublisher eventPublisher;
+
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong projectRefreshes = new AtomicLong();
+
+    @Inject
+    public PortalCatalog(
+            @ComponentImport ProjectManager projectManager,
+            @ComponentImport ServiceDeskManager serviceDeskManager,
+            @ComponentImport AvatarService avatarService,
+            @ComponentImport EventPublisher eventPublisher
+    ) {
+        this.projectManager = projectManager;
+        this.serviceDeskManager = serviceDeskManager;
+        this.avatarService = avatarService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        eventPublisher.register(this);
+    }
+
+    @Override
+    public void destroy() {
+        eventPublisher.unregister(this);
+    }
+
+    /**
+     * All catalog entries in project order, building the catalog if needed.
+     */
+    public Collection<Entry> getEntries() {
+        return currentSnapshot().entries.values();
+    }
+
+    /**
+     * Re-resolve a single project; removes it when the project no longer exists.
+     */
+    public void refreshProject(String projectKey) {
+        if (snapshot == null || projectKey == null) {
+            return; // Built lazily on the next read
+        }
+        Project project = projectManager.getProjectObjByKey(projectKey);
+        Entry entry = project != null ? resolve(project) : null;
+        buildLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != null) {
+                snapshot = current.with(projectKey, entry);
+                projectRefreshes.incrementAndGet();
+            }
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * Drop the catalog; it is rebuilt on the next read.
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("built", current != null);
+        stats.put("projectCount", current != null ? current.entries.size() : 0);
+        stats.put("builtAt", current != null ? current.builtAt : null);
+        stats.put("buildTimeMs", current != null ? current.buildTimeMs : null);
+        stats.put("rebuilds", rebuilds.get());
+        stats.put("projectRefreshes", projectRefreshes.get());
+        stats.put("maxAgeMs", MAX_AGE_MS);
+        return stats;
+    }
+
+    @EventListener
+    public void onProjectCreated(ProjectCreatedEvent event) {
+        refreshProject(event.getProject() != null ? event.getProject().getKey() : null);
+    }
+
+    @EventListener
+    public void onProjectUpdated(ProjectUpdatedEvent event) {
+        if (event.getOldProject() != null && event.getProject() != null
+                && !event.getOldProject().getKey().equals(event.getProject().getKey())) {
+            refreshProject(event.getOldProject().getKey());
+        }
+        refreshProject(event.getProject() != null ? event.getProject().getKey() : null);
+    }
+
+    @EventListener
+    public void onProjectDeleted(ProjectDeletedEvent event) {
+        refreshProject(event.getProject() != null ? event.getProject().getKey() : null);
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        boolean stale = current == null || System.currentTimeMillis() - current.builtAt >= MAX_AGE_MS;
+        if (!stale) {
+            return current;
+        }
+        // First build blocks; later rebuilds run on one thread while others read the old snapshot
+        if (current != null && !buildLock.tryLock()) {
+            return current;
+        }
+        if (current == null) {
+            buildLock.lock();
+        }
+        try {
+            Snapshot latest = snapshot;
+            if (latest != null && System.currentTimeMillis() - latest.builtAt < MAX_AGE_MS) {
+                return latest;
+            }
+            Snapshot rebuilt = buildAll();
+            snapshot = rebuilt;
+            return rebuilt;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private Snapshot buildAll() {
+        long start = System.currentTimeMillis();
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        for (Project project : projectManager.getProjectObjects()) {
+            entries.put(project.getKey(), resolve(project));
+        }
+        rebuilds.incrementAndGet();
+        long now = System.currentTimeMillis();
+        log.debug("Built portal catalog: {} projects in {}ms", entries.size(), now - start);
+        return new Snapshot(Collections.unmodifiableMap(entries), now, now - start);
+    }
+
+    private Entry resolve(Project project) {
+        // JSM portal ID used for OOTB portal navigation (/plugins/servlet/desk/portal/{id}/)
+        String jsmPortalId = null;
+        try {
+            ServiceDesk serviceDesk = serviceDeskManager.getServiceDeskForProject(project);
+            if (serviceDesk != null) {
+                jsmPortalId = String.valueOf(serviceDesk.getId());
+            }
+        } catch (Exception e) {
+            log.debug("Could not resolve service desk ID for project {}", project.getKey(), e);
+        }
+
+        String categoryId = null;
+        String categoryName = null;
+        ProjectCategory category = project.getProjectCategory();
+        if (category != null) {
+            categoryId = category.getId() != null ? category.getId().toString() : null;
+            categoryName = category.getName();
+        }
+
+        String avatarUrl = null;
+        try {
+            Avatar avatar = project.getAvatar();
+            if (avatar != null && avatar.getId() != null) {
+                URI avatarUri = avatarService.getAvatarURL(null, avatar.getId().toString(), Avatar.Size.SMALL);
+                if (avatarUri != null) {
+                    avatarUrl = avatarUri.toString();
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Could not resolve avatar for project {}", project.getKey(), e);
+        }
+
+        return new Entry(project.getKey(), project.getName(), jsmPortalId, categoryId, categoryName, avatarUrl);
+    }
+
+    /**
+     * Immutable, user-independent data of one project in the portal list.
+     */
+    public static final class Entry {
+        private final String projectKey;
+        private final String projectName;
+        private final String jsmPortalId;
+        private final String categoryId;
+        private final String categoryName;
+        private final String avatarUrl;
+
+        private Entry(String projectKey, String projectName, String jsmPortalId,
+                      String categoryId, String categoryName, String avatarUrl) {
+            this.projectKey = projectKey;
+            this.projectName = projectName;
+            this.jsmPortalId = jsmPortalId;
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+            this.avatarUrl = avatarUrl;
+        }
+
+        public String getProjectKey() { return projectKey; }
+        public String getProjectName() { return projectName; }
+        public String getJsmPortalId() { return jsmPortalId; }
+        public String getCategoryId() { return categoryId; }
+        public String getCategoryName() { return categoryName; }
+        public String getAvatarUrl() { return avatarUrl; }
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Entry> entries;
+        private final long builtAt;
+        private final long buildTimeMs;
+
+        private Snapshot(Map<String, Entry> entries, long builtAt, long buildTimeMs) {
+            this.entries = entries;
+            this.builtAt = builtAt;
+            this.buildTimeMs = buildTimeMs;
+        }
+
+        /**
+         * Copy with one project replaced (removed when {@code entry} is null). New projects are
+         * appended; the periodic rebuild restores project manager order.
+         */
+        private Snapshot with(String projectKey, Entry entry) {
+            Map<String, Entry> updated = new LinkedHashMap<>(entries);
+            if (entry == null) {
+                updated.remove(projectKey);
+            } else {
+                updated.put(projectKey, entry);
+            }
+            return new Snapshot(Collections.unmodifiableMap(updated), builtAt, buildTimeMs);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/PortalConfigCache.java
+package com.samsungbuilder.jsm.service;
+
+import com.samsungbuilder.jsm.dto.PortalConfigDTO;
+import com.samsungbuilder.jsm.dto.PortalConfigHeaderDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versioned, write-through cache of parsed portal configurations.
+ *
+ * PortalConfigStore#getPortalConfig reads the header and component chunks from PluginSettings
+ * and parses them with Jackson on every call. Portal pages and portal-data call it per request.
+ * This cache keeps the parsed result per project key and is the write path for portal configs,
+ * so saves, live toggles and deletes update it (and the {@link PortalLiveStateRegistry}) in
+ * place instead of forcing a re-parse.
+ *
+ * Callers receive snapshots: a fresh DTO whose component and request type group lists are
+ * shared but unmodifiable all the way down (the component maps and their nested values are
+ * copied once into unmodifiable collections), so one caller cannot change what another sees. Every write bumps
+ * the entry version; a load that raced with a write is discarded rather than overwriting the
+ * newer state.
+ *
+ * Every write is announced to the other cluster nodes through {@link ConfigChangeBroadcaster}, and
+ * changes announced by peers drop the local entry. Entries still expire after {@link #MAX_AGE_MS}
+ * to pick up writes that bypass this plugin.
+ */
+@Named
+public class PortalConfigCache implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PortalConfigCache.class);
+    private static final long MAX_AGE_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private final PortalConfigStore portalConfigStore;
+    private final PortalLiveStateRegistry liveStateRegistry;
+    private final ConfigChangeBroadcaster changeBroadcaster;
+    private final ConfigChangeBroadcaster.Listener remoteChangeListener = (scope, key, version) -> invalidate(key);
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong discardedLoads = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+
+    @Inject
+    public PortalConfigCache(PortalConfigStore portalConfigStore,
+                             PortalLiveStateRegistry liveStateRegistry,
+                             ConfigChangeBroadcaster changeBroadcaster) {
+        this.portalConfigStore = portalConfigStore;
+        this.liveStateRegistry = liveStateRegistry;
+        this.changeBroadcaster = changeBroadcaster;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        changeBroadcaster.subscribe(ConfigChangeBroadcaster.Scope.PORTAL_CONFIG, remoteChangeListener);
+    }
+
+    @Override
+    public void destroy() {
+        changeBroadcaster.unsubscribe(ConfigChangeBroadcaster.Scope.PORTAL_CONFIG, remoteChangeListener);
+    }
+
+    /**
+     * Portal configuration for the project (snapshot), loading it from PortalConfigStore on a miss.
+     */
+    public Optional<PortalConfigDTO> getPortalConfig(String projectKey) {
+        String key = normalize(projectKey);
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        Entry entry = entries.get(key);
+        if (entry != null && System.currentTimeMillis() - entry.cachedAt < MAX_AGE_MS) {
+            hits.incrementAndGet();
+            return entry.snapshot();
+        }
+        misses.incrementAndGet();
+
+        Long versionBeforeLoad = versions.get(key);
+        long start = System.nanoTime();
+        Optional<PortalConfigDTO> loaded = portalConfigStore.getPortalConfig(projectKey);
+        loadNanos.addAndGet(System.nanoTime() - start);
+
+        Entry fresh = new Entry(freeze(loaded.orElse(null)));
+        // Only publish if nobody wrote this project while we were loading. Writers bump the
+        // version inside compute() too, so the check and the publish are atomic per key.
+        entries.compute(key, (k, existing) -> {
+            if (Objects.equals(versions.get(k), versionBeforeLoad)) {
+                return fresh;
+            }
+            discardedLoads.incrementAndGet();
+            return existing;
+        });
+        return fresh.snapshot();
+    }
+
+    /**
+     * Save through PortalConfigStore and cache the saved result.
+     */
+    public PortalConfigDTO savePortalConfig(String projectKey, PortalConfigDTO config) {
+        PortalConfigDTO saved = portalConfigStore.savePortalConfig(projectKey, config);
+        store(projectKey, saved);
+        return saved;
+    }
+
+    /**
+     * Toggle the live flag. Only the stored header is rewritten; the components of the
+     * cached entry are reused when present.
+     */
+    public PortalConfigDTO updateLiveState(String projectKey, boolean live) {
+        PortalConfigHeaderDTO header = portalConfigStore.updateLiveState(projectKey, live);
+        String key = normalize(projectKey);
+        Entry cached = key != null ? entries.get(key) : null;
+        PortalConfigDTO updated;
+        if (cached != null && cached.config != null) {
+            updated = copyScalars(cached.config);
+            updated.setComponents(cached.config.getComponents());
+            updated.setRequestTypeGroups(cached.config.getRequestTypeGroups());
+            updated.setLive(header.isLive());
+            updated.setUpdatedAt(header.getUpdatedAt());
+        } else {
+            updated = portalConfigStore.getPortalConfig(projectKey)
+                    .orElseGet(() -> PortalConfigStore.fromHeader(header));
+        }
+        store(projectKey, updated);
+        return updated;
+    }
+
+    /**
+     * Delete through PortalConfigStore and drop the cached entry.
+     */
+    public void deletePortalConfig(String projectKey) {
+        portalConfigStore.deletePortalConfig(projectKey);
+        String key = normalize(projectKey);
+        if (key != null) {
+            entries.compute(key, (k, existing) -> {
+                versions.put(k, versionSequence.incrementAndGet());
+                return null;
+            });
+            writes.incrementAndGet();
+        }
+        liveStateRegistry.remove(projectKey);
+        changeBroadcaster.publish(ConfigChangeBroadcaster.Scope.PORTAL_CONFIG, key);
+    }
+
+    /**
+     * Drop one project (null drops everything); it is re-read on the next access.
+     */
+    public void invalidate(String projectKey) {
+        if (projectKey == null) {
+            versions.replaceAll((k, v) -> versionSequence.incrementAndGet());
+            entries.clear();
+            return;
+        }
+        String key = normalize(projectKey);
+        if (key != null) {
+            entries.compute(key, (k, existing) -> {
+                versions.put(k, versionSequence.incrementAndGet());
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Cache statistics for diagnostics.
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long requests = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", requests > 0 ? (double) hitCount / requests : 0d);
+        stats.put("writes", writes.get());
+        stats.put("discardedLoads", discardedLoads.get());
+        stats.put("totalLoadMs", TimeUnit.NANOSECONDS.toMillis(loadNanos.get()));
+        stats.put("avgLoadMs", missCount > 0 ? loadNanos.get() / 1_000_000d / missCount : 0d);
+        stats.put("maxAgeMs", MAX_AGE_MS);
+        return stats;
+    }
+
+    private void store(String projectKey, PortalConfigDTO saved) {
+        String key = normalize(projectKey != null ? projectKey : (saved != null ? saved.getProjectKey() : null));
+        if (key != null) {
+            Entry updated = new Entry(freeze(saved));
+            entries.compute(key, (k, existing) -> {
+                versions.put(k, versionSequence.incrementAndGet());
+                return updated;
+            });
+            writes.incrementAndGet();
+            log.debug("Portal config cache updated for {} (version {})", key, versions.get(key));
+        }
+        liveStateRegistry.record(projectKey, saved);
+        changeBroadcaster.publish(ConfigChangeBroadcaster.Scope.PORTAL_CONFIG, key);
+    }
+
+    /**
+     * Private deep copy of the DTO with unmodifiable lists and maps, shared by all snapshots of an
+     * entry. Null lists (a stored or posted {@code "components": null}) become empty lists.
+     */
+    private PortalConfigDTO freeze(PortalConfigDTO source) {
+        if (source == null) {
+            return null;
+        }
+        PortalConfigDTO frozen = copyScalars(source);
+        frozen.setComponents(freezeList(source.getComponents()));
+        frozen.setRequestTypeGroups(freezeList(source.getRequestTypeGroups()));
+        return frozen;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> freezeList(List<Map<String, Object>> source) {
+        if (source == null) {
+            return Collections.emptyList();
+        }
+        return (List<Map<String, Object>>) freezeValue(source);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object freezeValue(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) value).entrySet()) {
+                copy.put(entry.getKey(), freezeValue(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List) {
+            List<Object> source = (List<Object>) value;
+            List<Object> copy = new ArrayList<>(source.size());
+            for (Object item : source) {
+                copy.add(freezeValue(item));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    private static PortalConfigDTO copyScalars(PortalConfigDTO source) {
+        PortalConfigDTO copy = new PortalConfigDTO();
+        copy.setProjectKey(source.getProjectKey());
+        copy.setProjectName(source.getProjectName());
+        copy.setPortalTitle(source.getPortalTitle());
+        copy.setPortalId(source.getPortalId());
+        copy.setServiceDeskId(source.getServiceDeskId());
+        copy.setLive(source.isLive());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        return copy;
+    }
+
+    private String normalize(String projectKey) {
+        if (projectKey == null || projectKey.trim().isEmpty()) {
+            return null;
+        }
+        return projectKey.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static final class Entry {
+        private final PortalConfigDTO config;
+        private final long cachedAt;
+
+        private Entry(PortalConfigDTO config) {
+            this.config = config;
+            this.cachedAt = System.currentTimeMillis();
+        }
+
+        private Optional<PortalConfigDTO> snapshot() {
+            if (config == null) {
+                return Optional.empty();
+            }
+            PortalConfigDTO copy = copyScalars(config);
+            copy.setComponents(config.getComponents());
+            copy.setRequestTypeGroups(config.getRequestTypeGroups());
+            return Optional.of(copy);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+// /rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/dto/PortalConfigHeaderDTO.java
+
+package com.samsungbuilder.jsm.dto;
+
+import org.codehaus.jackson.annotate.JsonIgnoreProperties;
+
+/**
+ * Metadata record of a stored portal configuration (see PortalConfigStore).
+ *
+ * Everything except the page-builder components and request type groups, plus the
+ * bookkeeping needed to find the component payload chunks. Small enough to read on
+ * hot paths (redirect filter, portal list, live toggle).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PortalConfigHeaderDTO {
+
+    private String projectKey;
+    private String projectName;
+    private String portalTitle;
+    private String portalId;
+    private String serviceDeskId;
+    private boolean live;
+    private long version;
+    private long updatedAt;
+    private int chunkCount;
+    private int payloadLength;
+
+    public String getProjectKey() {
+        return projectKey;
+    }
+
+    public void setProjectKey(String projectKey) {
+        this.projectKey = projectKey;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public void setProjectName(String projectName) {
+        this.projectName = projectName;
+    }
+
+    public String getPortalTitle() {
+        return portalTitle;
+    }
+
+    public void setPortalTitle(String portalTitle) {
+        this.portalTitle = portalTitle;
+    }
+
+    public String getPortalId() {
+        return portalId;
+    }
+
+    public void setPortalId(String portalId) {
+        this.portalId = portalId;
+    }
+
+    public String getServiceDeskId() {
+        return serviceDeskId;
+    }
+
+    public void setServiceDeskId(String serviceDeskId) {
+        this.serviceDeskId = serviceDeskId;
+    }
+
+    public boolean isLive() {
+        return live;
+    }
+
+    public void setLive(boolean live) {
+        this.live = live;
+    }
+
+    /**
+     * Incremented on every component payload write; part of the chunk keys.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(int chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    /**
+     * Total length of the component payload JSON, in characters.
+     */
+    public int getPayloadLength() {
+        return payloadLength;
+    }
+
+    public void setPayloadLength(int payloadLength) {
+        this.payloadLength = payloadLength;
+    }
+}
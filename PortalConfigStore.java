@@ -0,0 +1,399 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/PortalConfigStore.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.jira.project.Project;
+import com.atlassian.jira.project.ProjectManager;
+import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
+import com.atlassian.sal.api.pluginsettings.PluginSettings;
+import com.atlassian.sal.api.pluginsettings.PluginSettingsFactory;
+import com.samsungbuilder.jsm.dto.PortalConfigDTO;
+import com.samsungbuilder.jsm.dto.PortalConfigHeaderDTO;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.TypeReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chunked PluginSettings storage for portal configurations.
+ *
+ * The original layout stores a whole PortalConfigDTO (live flag, title, every page-builder
+ * component and request type group) as one JSON string under one key, so a reader that only
+ * needs the live flag still parses the component tree, and large portals approach the value
+ * size limits of some databases. This store splits it in two:
+ *  - a small header record ({@link PortalConfigHeaderDTO}: key, title, live, serviceDeskId,
+ *    version, updatedAt, chunk count) under {@code <prefix><KEY>.header}
+ *  - the components + request type groups JSON cut into {@link #CHUNK_SIZE} character chunks
+ *    under {@code <prefix><KEY>.chunk.<version>.<n>}
+ *
+ * Payload writes put the new chunks under a new version first and switch the header last, so a
+ * reader never combines a header with chunks of another version; the old chunks are removed
+ * afterwards. Header-only updates (the live toggle) leave the chunks untouched.
+ *
+ * Migration: when a project has no header, the config is read once through PortalConfigService
+ * (legacy blob, or the even older per-field layout), written in this layout and served from here
+ * from then on. Saves and live toggles do not update the legacy blob, so downgrading the plugin
+ * after a project's first save here is not supported (the older version would serve the
+ * pre-migration config). Deletes remove the blob as well and leave a tombstone so it is not migrated
+ * back. {@link #migrateAll()} converts every project up front.
+ */
+@Named
+public class PortalConfigStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PortalConfigStore.class);
+
+    private static final String KEY_PREFIX = "com.samsungbuilder.jsm.rail-portal.portalConfig.v2.";
+    private static final String HEADER_SUFFIX = ".header";
+    private static final String CHUNK_SUFFIX = ".chunk.";
+    private static final String TOMBSTONE = "deleted";
+
+    // Below 64 KB even when every character takes 4 bytes in UTF-8 (MySQL TEXT, Oracle limits)
+    static final int CHUNK_SIZE = 16_000;
+
+    private static final String FIELD_COMPONENTS = "components";
+    private static final String FIELD_REQUEST_TYPE_GROUPS = "requestTypeGroups";
+
+    private final PluginSettingsFactory pluginSettingsFactory;
+    private final ProjectManager projectManager;
+    private final PortalConfigService portalConfigService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicLong headerReads = new AtomicLong();
+    private final AtomicLong payloadReads = new AtomicLong();
+    private final AtomicLong headerWrites = new AtomicLong();
+    private final AtomicLong payloadWrites = new AtomicLong();
+    private final AtomicLong migrations = new AtomicLong();
+    private final AtomicLong corruptPayloads = new AtomicLong();
+
+    @Inject
+    public PortalConfigStore(
+            @ComponentImport PluginSettingsFactory pluginSettingsFactory,
+            @ComponentImport ProjectManager projectManager,
+            PortalConfigService portalConfigService) {
+        this.pluginSettingsFactory = pluginSettingsFactory;
+        this.projectManager = projectManager;
+        this.portalConfigService = portalConfigService;
+    }
+
+    /**
+     * Header of the project's portal config, migrating a legacy blob on first access.
+     */
+    public Optional<PortalConfigHeaderDTO> getHeader(String projectKey) {
+        String key = normalize(projectKey);
+        if (key == null) {
+            return Optional.empty();
+        }
+        PluginSettings settings = pluginSettingsFactory.createGlobalSettings();
+        Object raw = settings.get(headerKey(key));
+        if (raw == null) {
+            return migrate(settings, key);
+        }
+        headerReads.incrementAndGet();
+        return parseHeader(key, raw);
+    }
+
+    /**
+     * Full portal config (header + component chunks).
+     */
+    public Optional<PortalConfigDTO> getPortalConfig(String projectKey) {
+        String key = normalize(projectKey);
+        if (key == null) {
+            return Optional.empty();
+        }
+        PluginSettings settings = pluginSettingsFactory.createGlobalSettings();
+        Object raw = settings.get(headerKey(key));
+        Optional<PortalConfigHeaderDTO> header;
+        if (raw == null) {
+            header = migrate(settings, key);
+        } else {
+            headerReads.incrementAndGet();
+            header = parseHeader(key, raw);
+        }
+        if (!header.isPresent()) {
+            return Optional.empty();
+        }
+
+        PortalConfigDTO dto = fromHeader(header.get());
+        Map<String, Object> payload = readPayload(settings, key, header.get());
+        applyPayload(dto, payload);
+        return Optional.of(dto);
+    }
+
+    /**
+     * Project among the given ones whose stored header carries this portal id or service desk id.
+     * Only existing headers are read (no migration), so projects that were never saved or migrated
+     * here are not found.
+     */
+    public Optional<String> findProjectKeyByPortalId(Iterable<String> projectKeys, String portalId) {
+        if (portalId == null || portalId.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        String id = portalId.trim();
+        PluginSettings settings = pluginSettingsFactory.createGlobalSettings();
+        for (String projectKey : projectKeys) {
+            String key = normalize(projectKey);
+            Object raw = key != null ? settings.get(headerKey(key)) : null;
+            if (raw == null) {
+                continue;
+            }
+            headerReads.incrementAndGet();
+            Optional<PortalConfigHeaderDTO> header = parseHeader(key, raw);
+            if (header.isPresent() && (id.equals(header.get().getPortalId()) || id.equals(header.get().getServiceDeskId()))) {
+                return Optional.of(key);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Write the full config (new chunk version, then header).
+     */
+    public PortalConfigDTO savePortalConfig(String projectKey, PortalConfigDTO config) {
+        String key = normalize(projectKey != null ? projectKey : config.getProjectKey());
+        if (key == null) {
+            throw new IllegalArgumentException("Project key is required");
+        }
+        config.setUpdatedAt(System.currentTimeMillis());
+        write(pluginSettingsFactory.createGlobalSettings(), key, config);
+        return config;
+    }
+
+    /**
+     * Flip the live flag. Rewrites the header only.
+     */
+    public PortalConfigHeaderDTO updateLiveState(String projectKey, boolean live) {
+        String key = normalize(projectKey);
+        Optional<PortalConfigHeaderDTO> header = getHeader(key);
+        if (!header.isPresent()) {
+            throw new IllegalStateException(
+                "Cannot update live state for project " + projectKey +
+                " because no portal configuration exists. Please save a configuration first."
+            );
+        }
+        PortalConfigHeaderDTO updated = header.get();
+        updated.setLive(live);
+        updated.setUpdatedAt(System.currentTimeMillis());
+        putHeader(pluginSettingsFactory.createGlobalSettings(), key, updated);
+        return updated;
+    }
+
+    /**
+     * Remove header and chunks, delete the legacy blob through PortalConfigService and leave a
+     * tombstone so the project is not migrated again.
+     */
+    public void deletePortalConfig(String projectKey) {
+        String key = normalize(projectKey);
+        if (key == null) {
+            return;
+        }
+        PluginSettings settings = pluginSettingsFactory.createGlobalSettings();
+        Object raw = settings.get(headerKey(key));
+        if (raw != null) {
+            parseHeader(key, raw).ifPresent(header -> removeChunks(settings, key, header.getVersion(), header.getChunkCount()));
+        }
+        settings.put(headerKey(key), TOMBSTONE);
+        portalConfigService.deletePortalConfig(projectKey);
+    }
+
+    /**
+     * Migrate every project that has a legacy config and no header yet.
+     */
+    public Map<String, Object> migrateAll() {
+        PluginSettings settings = pluginSettingsFactory.createGlobalSettings();
+        int checked = 0;
+        int migrated = 0;
+        List<String> failed = new ArrayList<>();
+        for (Project project : projectManager.getProjectObjects()) {
+            String key = normalize(project.getKey());
+            if (key == null || settings.get(headerKey(key)) != null) {
+                continue;
+            }
+            checked++;
+            try {
+                if (migrate(settings, key).isPresent()) {
+                    migrated++;
+                }
+            } catch (Exception e) {
+                log.warn("Portal config migration failed for {}: {}", key, e.getMessage());
+                failed.add(key);
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("checked", checked);
+        result.put("migrated", migrated);
+        result.put("failed", failed);
+        log.info("Portal config storage migration: checked={}, migrated={}, failed={}", checked, migrated, failed.size());
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("chunkSize", CHUNK_SIZE);
+        stats.put("headerReads", headerReads.get());
+        stats.put("payloadReads", payloadReads.get());
+        stats.put("headerWrites", headerWrites.get());
+        stats.put("payloadWrites", payloadWrites.get());
+        stats.put("migrations", migrations.get());
+        stats.put("corruptPayloads", corruptPayloads.get());
+        return stats;
+    }
+
+    private Optional<PortalConfigHeaderDTO> migrate(PluginSettings settings, String key) {
+        Optional<PortalConfigDTO> legacy = portalConfigService.getPortalConfig(key);
+        if (!legacy.isPresent()) {
+            return Optional.empty();
+        }
+        PortalConfigHeaderDTO header = write(settings, key, legacy.get());
+        migrations.incrementAndGet();
+        log.info("Migrated portal config for {} to chunked storage ({} chunks, {} chars)",
+                key, header.getChunkCount(), header.getPayloadLength());
+        return Optional.of(header);
+    }
+
+    private PortalConfigHeaderDTO write(PluginSettings settings, String key, PortalConfigDTO config) {
+        Optional<PortalConfigHeaderDTO> previous = Optional.empty();
+        Object raw = settings.get(headerKey(key));
+        if (raw != null) {
+            previous = parseHeader(key, raw);
+        }
+
+        String payload;
+        try {
+            Map<String, Object> payloadMap = new LinkedHashMap<>();
+            payloadMap.put(FIELD_COMPONENTS, config.getComponents());
+            payloadMap.put(FIELD_REQUEST_TYPE_GROUPS, config.getRequestTypeGroups());
+            payload = objectMapper.writeValueAsString(payloadMap);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to serialize portal config for " + key, e);
+        }
+
+        // Time-based so concurrent writers on different nodes do not share chunk keys
+        long version = Math.max(System.currentTimeMillis(), previous.map(h -> h.getVersion() + 1).orElse(1L));
+        int chunkCount = 0;
+        for (int start = 0; start < payload.length(); start += CHUNK_SIZE) {
+            settings.put(chunkKey(key, version, chunkCount++), payload.substring(start, Math.min(payload.length(), start + CHUNK_SIZE)));
+        }
+        payloadWrites.incrementAndGet();
+
+        PortalConfigHeaderDTO header = new PortalConfigHeaderDTO();
+        header.setProjectKey(config.getProjectKey() != null ? config.getProjectKey() : key);
+        header.setProjectName(config.getProjectName());
+        header.setPortalTitle(config.getPortalTitle());
+        header.setPortalId(config.getPortalId());
+        header.setServiceDeskId(config.getServiceDeskId());
+        header.setLive(config.isLive());
+        header.setUpdatedAt(config.getUpdatedAt());
+        header.setVersion(version);
+        header.setChunkCount(chunkCount);
+        header.setPayloadLength(payload.length());
+        putHeader(settings, key, header);
+
+        previous.ifPresent(old -> removeChunks(settings, key, old.getVersion(), old.getChunkCount()));
+        return header;
+    }
+
+    private void putHeader(PluginSettings settings, String key, PortalConfigHeaderDTO header) {
+        try {
+            settings.put(headerKey(key), objectMapper.writeValueAsString(header));
+            headerWrites.incrementAndGet();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to serialize portal config header for " + key, e);
+        }
+    }
+
+    private Optional<PortalConfigHeaderDTO> parseHeader(String key, Object raw) {
+        String value = raw.toString();
+        if (TOMBSTONE.equals(value)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(value, PortalConfigHeaderDTO.class));
+        } catch (IOException e) {
+            log.error("Failed to parse portal config header for {}", key, e);
+            return Optional.empty();
+        }
+    }
+
+    private Map<String, Object> readPayload(PluginSettings settings, String key, PortalConfigHeaderDTO header) {
+        payloadReads.incrementAndGet();
+        StringBuilder payload = new StringBuilder(Math.max(header.getPayloadLength(), 16));
+        for (int i = 0; i < header.getChunkCount(); i++) {
+            Object chunk = settings.get(chunkKey(key, header.getVersion(), i));
+            if (chunk == null) {
+                break;
+            }
+            payload.append(chunk);
+        }
+        if (payload.length() != header.getPayloadLength()) {
+            corruptPayloads.incrementAndGet();
+            log.error("Portal config payload for {} is incomplete (version {}, {} of {} chars)",
+                    key, header.getVersion(), payload.length(), header.getPayloadLength());
+            return null;
+        }
+        try {
+            return objectMapper.readValue(payload.toString(), new TypeReference<Map<String, Object>>() { });
+        } catch (IOException e) {
+            corruptPayloads.incrementAndGet();
+            log.error("Failed to parse portal config payload for {}", key, e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyPayload(PortalConfigDTO dto, Map<String, Object> payload) {
+        if (payload == null) {
+            return;
+        }
+        Object components = payload.get(FIELD_COMPONENTS);
+        if (components instanceof List) {
+            dto.setComponents((List<Map<String, Object>>) components);
+        }
+        Object groups = payload.get(FIELD_REQUEST_TYPE_GROUPS);
+        if (groups instanceof List) {
+            dto.setRequestTypeGroups((List<Map<String, Object>>) groups);
+        }
+    }
+
+    private void removeChunks(PluginSettings settings, String key, long version, int chunkCount) {
+        for (int i = 0; i < chunkCount; i++) {
+            settings.remove(chunkKey(key, version, i));
+        }
+    }
+
+    static PortalConfigDTO fromHeader(PortalConfigHeaderDTO header) {
+        PortalConfigDTO dto = new PortalConfigDTO();
+        dto.setProjectKey(header.getProjectKey());
+        dto.setProjectName(header.getProjectName());
+        dto.setPortalTitle(header.getPortalTitle());
+        dto.setPortalId(header.getPortalId());
+        dto.setServiceDeskId(header.getServiceDeskId());
+        dto.setLive(header.isLive());
+        dto.setUpdatedAt(header.getUpdatedAt());
+        return dto;
+    }
+
+    private String headerKey(String key) {
+        return KEY_PREFIX + key + HEADER_SUFFIX;
+    }
+
+    private String chunkKey(String key, long version, int index) {
+        return KEY_PREFIX + key + CHUNK_SUFFIX + version + "." + index;
+    }
+
+    private String normalize(String projectKey) {
+        if (projectKey == null || projectKey.trim().isEmpty()) {
+            return null;
+        }
+        return projectKey.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,551 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/PortalHistoryStore.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
+import com.atlassian.sal.api.pluginsettings.PluginSettings;
+import com.atlassian.sal.api.pluginsettings.PluginSettingsFactory;
+import com.samsungbuilder.jsm.dto.PortalHistoryDTO;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.TypeReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delta-encoded PluginSettings storage for portal history.
+ *
+ * PortalConfigService stores the whole PortalHistoryDTO as one blob, so every save rewrites every
+ * snapshot of the portal's component tree. Here the history's version list (the largest array
+ * field of the DTO) is stored one record per version:
+ *  - an index record ({@code <prefix><KEY>.index}) with the DTO's other fields and, per version,
+ *    its sequence number, content hash, encoding and a few scalar summary fields
+ *  - version records ({@code <prefix><KEY>.rec.<writeVersion>.<seq>}) holding either the full
+ *    version or a {@link JsonDelta} against the previous version
+ *
+ * A full snapshot is written at least every {@link #MAX_CHAIN} versions, and whenever the delta
+ * would not be smaller, so rebuilding any version applies at most MAX_CHAIN deltas. The editor still
+ * posts the whole history. Versions whose hash is already stored keep their record, so a save
+ * only writes the new versions plus the index. Dropped versions are deleted, and deltas that were
+ * based on them are rewritten as full snapshots.
+ *
+ * Saves are only serialized per node, so (as in PortalConfigStore) every save writes its records
+ * under a new write version ({@code max(now, previous + 1)}) and never overwrites a record key:
+ * records are written first, the index switches last, and a save only removes records its
+ * previous index owned, and only if no other node has written the index since. Two nodes saving
+ * the same project at once can leave unreferenced records behind, but never an index pointing at
+ * another save's payload.
+ *
+ * Projects without an index are migrated from PortalConfigService on first read. Saves do not
+ * update the legacy blob, so downgrading the plugin after a project's first save here is not
+ * supported (the older version would read the pre-migration history); deletes remove the blob and
+ * leave a tombstone.
+ */
+@Named
+public class PortalHistoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PortalHistoryStore.class);
+
+    private static final String KEY_PREFIX = "com.samsungbuilder.jsm.rail-portal.portalHistory.v2.";
+    private static final String INDEX_SUFFIX = ".index";
+    private static final String RECORD_SUFFIX = ".rec.";
+    private static final String TOMBSTONE = "deleted";
+
+    static final int MAX_CHAIN = 10;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUMMARY_VALUE_LENGTH = 200;
+
+    private final PluginSettingsFactory pluginSettingsFactory;
+    private final PortalConfigService portalConfigService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentMap<String, Object> locks = new ConcurrentHashMap<>();
+
+    private final AtomicLong recordsWritten = new AtomicLong();
+    private final AtomicLong recordsReused = new AtomicLong();
+    private final AtomicLong deltasWritten = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong migrations = new AtomicLong();
+
+    @Inject
+    public PortalHistoryStore(
+            @ComponentImport PluginSettingsFactory pluginSettingsFactory,
+            PortalConfigService portalConfigService) {
+        this.pluginSettingsFactory = pluginSettingsFactory;
+        this.portalConfigService = portalConfigService;
+    }
+
+    /**
+     * Whole history, every version rebuilt (the shape the portal editor loads and posts back).
+     */
+    public Optional<PortalHistoryDTO> getPortalHistory(String projectKey) {
+        String key = normalize(projectKey);
+        if (key == null) {
+            return Optional.empty();
+        }
+        PluginSettings settings = pluginSettingsFactory.createGlobalSettings();
+        Optional<Map<String, Object>> index = readIndexOrMigrate(settings, key);
+        if (!index.isPresent()) {
+            return Optional.empty();
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>(meta(index.get()));
+        String listField = (String) index.get().get("listField");
+        if (listField != null) {
+            Map<Integer, String> recordKeys = recordKeys(key, index.get());
+            Map<Integer, Object> rebuilt = new HashMap<>();
+            List<Object> versions = new ArrayList<>();
+            for (Map<String, Object> record : records(index.get())) {
+                versions.add(JsonDelta.deepCopy(rebuild(settings, key, seqOf(record), recordKeys, rebuilt, new HashSet<>())));
+            }
+            document.put(listField, versions);
+        }
+        return Optional.of(objectMapper.convertValue(document, PortalHistoryDTO.class));
+    }
+
+    /**
+     * One page of version summaries (newest first) without rebuilding any version.
+     */
+    public Map<String, Object> listVersions(String projectKey, int offset, int limit) {
+        String key = normalize(projectKey);
+        int safeOffset = Math.max(0, offset);
+        int safeLimit = Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+
+        List<Map<String, Object>> records = new ArrayList<>();
+        if (key != null) {
+            readIndexOrMigrate(pluginSettingsFactory.createGlobalSettings(), key)
+                    .ifPresent(index -> records.addAll(records(index)));
+        }
+
+        List<Map<String, Object>> page = new ArrayList<>();
+        for (int i = records.size() - 1 - safeOffset; i >= 0 && page.size() < safeLimit; i--) {
+            Map<String, Object> record = records.get(i);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("seq", record.get("seq"));
+            summary.put("position", i);
+            summary.put("savedAt", record.get("savedAt"));
+            summary.put("encoding", record.get("kind"));
+            summary.put("summary", record.get("summary"));
+            page.add(summary);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("projectKey", key);
+        result.put("total", records.size());
+        result.put("offset", safeOffset);
+        result.put("limit", safeLimit);
+        result.put("versions", page);
+        return result;
+    }
+
+    /**
+     * A single version rebuilt from its nearest full snapshot.
+     */
+    public Optional<Object> getVersion(String projectKey, int seq) {
+        String key = normalize(projectKey);
+        if (key == null) {
+            return Optional.empty();
+        }
+        PluginSettings settings = pluginSettingsFactory.createGlobalSettings();
+        Optional<Map<String, Object>> index = readIndexOrMigrate(settings, key);
+        if (!index.isPresent() || findRecord(index.get(), seq) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(rebuild(settings, key, seq, recordKeys(key, index.get()), new HashMap<>(), new HashSet<>()));
+    }
+
+    public void savePortalHistory(String projectKey, PortalHistoryDTO history) {
+        String key = normalize(projectKey);
+        if (key == null) {
+            throw new IllegalArgumentException("Project key is required");
+        }
+        synchronized (lockFor(key)) {
+            PluginSettings settings = pluginSettingsFactory.createGlobalSettings();
+            Map<String, Object> previous = readIndex(settings, key).orElse(null);
+            write(settings, key, toDocument(history), previous);
+        }
+    }
+
+    /**
+     * Remove the index and records, delete the legacy blob and leave a tombstone so the
+     * project is not migrated again.
+     */
+    public void deletePortalHistory(String projectKey) {
+        String key = normalize(projectKey);
+        if (key == null) {
+            return;
+        }
+        synchronized (lockFor(key)) {
+            PluginSettings settings = pluginSettingsFactory.createGlobalSettings();
+            readIndex(settings, key).ifPresent(index -> {
+                for (Map<String, Object> record : records(index)) {
+                    settings.remove(recordKey(key, record));
+                }
+            });
+            settings.put(indexKey(key), TOMBSTONE);
+            portalConfigService.deletePortalHistory(projectKey);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxChain", MAX_CHAIN);
+        stats.put("recordsWritten", recordsWritten.get());
+        stats.put("recordsReused", recordsReused.get());
+        stats.put("deltasWritten", deltasWritten.get());
+        stats.put("bytesWritten", bytesWritten.get());
+        stats.put("migrations", migrations.get());
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(PluginSettings settings, String key, Map<String, Object> document, Map<String, Object> previous) {
+        String listField = pickListField(document);
+        List<Object> versions = listField != null ? (List<Object>) document.get(listField) : new ArrayList<>();
+
+        // Stored records by content hash (a queue per hash, identical versions may repeat)
+        Map<String, Deque<Map<String, Object>>> storedByHash = new HashMap<>();
+        List<Map<String, Object>> storedRecords = previous != null ? records(previous) : new ArrayList<>();
+        for (Map<String, Object> record : storedRecords) {
+            storedByHash.computeIfAbsent((String) record.get("hash"), h -> new ArrayDeque<>()).add(record);
+        }
+        long nextSeq = previous != null ? ((Number) previous.getOrDefault("nextSeq", 1)).longValue() : 1L;
+        long previousVersion = previous != null ? ((Number) previous.getOrDefault("writeVersion", 0L)).longValue() : 0L;
+        long writeVersion = Math.max(System.currentTimeMillis(), previousVersion + 1);
+        // Another node saving at the same millisecond from the same index would pick the same keys
+        while (settings.get(recordKey(key, writeVersion, (int) nextSeq)) != null) {
+            writeVersion++;
+        }
+
+        List<Map<String, Object>> newRecords = new ArrayList<>(versions.size());
+        Set<Integer> keptSeqs = new HashSet<>();
+        Map<Integer, Object> contentBySeq = new HashMap<>();
+        Map<Integer, Integer> positionBySeq = new HashMap<>();
+        Map<Integer, Integer> depthBySeq = new HashMap<>();
+        for (int i = 0; i < versions.size(); i++) {
+            Object version = versions.get(i);
+            String json = toJson(version);
+            String hash = hash(json);
+            Deque<Map<String, Object>> candidates = storedByHash.get(hash);
+            Map<String, Object> record = candidates != null ? candidates.poll() : null;
+            if (record != null) {
+                recordsReused.incrementAndGet();
+                record = new LinkedHashMap<>(record);
+                keptSeqs.add(seqOf(record));
+            } else {
+                record = new LinkedHashMap<>();
+                record.put("seq", (int) nextSeq++);
+                record.put("hash", hash);
+                record.put("savedAt", System.currentTimeMillis());
+                record.put("summary", summarize(version));
+            }
+            record.put("_json", json);
+            contentBySeq.put(seqOf(record), version);
+            positionBySeq.put(seqOf(record), i);
+            newRecords.add(record);
+        }
+
+        for (int i = 0; i < newRecords.size(); i++) {
+            Map<String, Object> record = newRecords.get(i);
+            int seq = seqOf(record);
+            String json = (String) record.remove("_json");
+            boolean reused = keptSeqs.contains(seq);
+            if (reused) {
+                // Keep a stored delta only if its base is still stored, comes earlier in the new list
+                // (a reordered history could otherwise make two deltas each other's base) and the
+                // chain through it stays within MAX_CHAIN
+                Object base = record.get("base");
+                Integer basePosition = base != null ? positionBySeq.get(((Number) base).intValue()) : null;
+                int depth = MAX_CHAIN;
+                if (base == null) {
+                    depth = 0;
+                } else if (basePosition != null && basePosition < i) {
+                    depth = depthBySeq.get(((Number) base).intValue()) + 1;
+                }
+                if (depth < MAX_CHAIN) {
+                    record.put("depth", depth);
+                    depthBySeq.put(seq, depth);
+                    continue;
+                }
+            }
+
+            // New version, or a delta whose base was dropped, moved after it or is too deep:
+            // encode against the previous version. Re-encoded records get a new key, the previous
+            // index may still be read (or win) on another node
+            Map<String, Object> stored = new LinkedHashMap<>();
+            Map<String, Object> previousRecord = i > 0 ? newRecords.get(i - 1) : null;
+            int baseDepth = previousRecord != null ? depthBySeq.getOrDefault(seqOf(previousRecord), MAX_CHAIN) : MAX_CHAIN;
+            String encoded = null;
+            if (previousRecord != null && baseDepth + 1 < MAX_CHAIN) {
+                List<Map<String, Object>> ops = JsonDelta.diff(contentBySeq.get(seqOf(previousRecord)), contentBySeq.get(seq));
+                stored.put("base", seqOf(previousRecord));
+                stored.put("ops", ops);
+                encoded = toJson(stored);
+                if (encoded.length() >= json.length()) {
+                    encoded = null;
+                }
+            }
+            if (encoded != null) {
+                record.put("kind", "delta");
+                record.put("base", seqOf(previousRecord));
+                record.put("depth", baseDepth + 1);
+                deltasWritten.incrementAndGet();
+            } else {
+                stored.clear();
+                stored.put("full", contentBySeq.get(seq));
+                encoded = toJson(stored);
+                record.put("kind", "full");
+                record.remove("base");
+                record.put("depth", 0);
+            }
+            depthBySeq.put(seq, ((Number) record.get("depth")).intValue());
+            record.put("ver", writeVersion);
+            settings.put(recordKey(key, record), encoded);
+            recordsWritten.incrementAndGet();
+            bytesWritten.addAndGet(encoded.length());
+        }
+
+        Map<String, Object> index = new LinkedHashMap<>();
+        index.put("meta", withoutField(document, listField));
+        index.put("listField", listField);
+        index.put("nextSeq", nextSeq);
+        index.put("writeVersion", writeVersion);
+        index.put("records", newRecords);
+        String indexJson = toJson(index);
+        settings.put(indexKey(key), indexJson);
+        bytesWritten.addAndGet(indexJson.length());
+
+        // Records the previous index owned that the new one no longer references. If another node
+        // has written the index in the meantime its save may still reference them, so leave them.
+        Object current = settings.get(indexKey(key));
+        if (current == null || !indexJson.equals(current.toString())) {
+            log.warn("Portal history index for {} changed during save (concurrent save on another node?); "
+                    + "keeping the previous records", key);
+            return;
+        }
+        Set<String> referenced = new HashSet<>(recordKeys(key, index).values());
+        for (Map<String, Object> record : storedRecords) {
+            String recordKey = recordKey(key, record);
+            if (!referenced.contains(recordKey)) {
+                settings.remove(recordKey);
+            }
+        }
+    }
+
+    /**
+     * @param recordKeys record key per seq, from the index being read (delta bases are seqs of the
+     *                   same index)
+     * @param visiting   seqs on the current delta chain, so a corrupt (cyclic) chain fails instead of
+     *                   recursing without end
+     */
+    @SuppressWarnings("unchecked")
+    private Object rebuild(PluginSettings settings, String key, int seq, Map<Integer, String> recordKeys,
+                           Map<Integer, Object> rebuilt, Set<Integer> visiting) {
+        Object cached = rebuilt.get(seq);
+        if (cached != null) {
+            return cached;
+        }
+        if (!visiting.add(seq)) {
+            throw new IllegalStateException("Portal history record " + seq + " has a cyclic delta chain for " + key);
+        }
+        String recordKey = recordKeys.get(seq);
+        Object raw = recordKey != null ? settings.get(recordKey) : null;
+        if (raw == null) {
+            throw new IllegalStateException("Portal history record " + seq + " is missing for " + key);
+        }
+        Map<String, Object> stored = parse(raw.toString());
+        Object content;
+        if (stored.containsKey("full")) {
+            content = stored.get("full");
+        } else {
+            int base = ((Number) stored.get("base")).intValue();
+            Object baseContent = JsonDelta.deepCopy(rebuild(settings, key, base, recordKeys, rebuilt, visiting));
+            content = JsonDelta.apply(baseContent, (List<Map<String, Object>>) stored.get("ops"));
+        }
+        rebuilt.put(seq, content);
+        return content;
+    }
+
+    private Optional<Map<String, Object>> readIndexOrMigrate(PluginSettings settings, String key) {
+        Object raw = settings.get(indexKey(key));
+        if (raw != null) {
+            return TOMBSTONE.equals(raw.toString()) ? Optional.empty() : Optional.of(parse(raw.toString()));
+        }
+        synchronized (lockFor(key)) {
+            if (settings.get(indexKey(key)) != null) {
+                return readIndex(settings, key);
+            }
+            Optional<PortalHistoryDTO> legacy = portalConfigService.getPortalHistory(key);
+            if (!legacy.isPresent()) {
+                return Optional.empty();
+            }
+            write(settings, key, toDocument(legacy.get()), null);
+            migrations.incrementAndGet();
+            log.info("Migrated portal history for {} to delta storage", key);
+            return readIndex(settings, key);
+        }
+    }
+
+    private Optional<Map<String, Object>> readIndex(PluginSettings settings, String key) {
+        Object raw = settings.get(indexKey(key));
+        if (raw == null || TOMBSTONE.equals(raw.toString())) {
+            return Optional.empty();
+        }
+        return Optional.of(parse(raw.toString()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> toDocument(PortalHistoryDTO history) {
+        return history != null ? objectMapper.convertValue(history, LinkedHashMap.class) : new LinkedHashMap<>();
+    }
+
+    /**
+     * The version list: the largest array field of the history document.
+     */
+    private String pickListField(Map<String, Object> document) {
+        String field = null;
+        int size = -1;
+        for (Map.Entry<String, Object> entry : document.entrySet()) {
+            if (entry.getValue() instanceof List && ((List<?>) entry.getValue()).size() > size) {
+                field = entry.getKey();
+                size = ((List<?>) entry.getValue()).size();
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Scalar fields of a version (timestamps, labels, authors), for listing without a rebuild.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> summarize(Object version) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (version instanceof Map) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) version).entrySet()) {
+                Object value = entry.getValue();
+                if (value instanceof Number || value instanceof Boolean
+                        || (value instanceof String && ((String) value).length() <= MAX_SUMMARY_VALUE_LENGTH)) {
+                    summary.put(entry.getKey(), value);
+                }
+            }
+        }
+        return summary;
+    }
+
+    private Map<String, Object> withoutField(Map<String, Object> document, String field) {
+        Map<String, Object> meta = new LinkedHashMap<>(document);
+        if (field != null) {
+            meta.remove(field);
+        }
+        return meta;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> meta(Map<String, Object> index) {
+        Object meta = index.get("meta");
+        return meta instanceof Map ? (Map<String, Object>) meta : new LinkedHashMap<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> records(Map<String, Object> index) {
+        Object records = index.get("records");
+        return records instanceof List ? (List<Map<String, Object>>) records : new ArrayList<>();
+    }
+
+    private Map<String, Object> findRecord(Map<String, Object> index, int seq) {
+        for (Map<String, Object> record : records(index)) {
+            if (seqOf(record) == seq) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    private Map<Integer, String> recordKeys(String key, Map<String, Object> index) {
+        Map<Integer, String> keys = new HashMap<>();
+        for (Map<String, Object> record : records(index)) {
+            keys.put(seqOf(record), recordKey(key, record));
+        }
+        return keys;
+    }
+
+    private int seqOf(Map<String, Object> record) {
+        return ((Number) record.get("seq")).intValue();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to serialize portal history", e);
+        }
+    }
+
+    private Map<String, Object> parse(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<LinkedHashMap<String, Object>>() { });
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to parse stored portal history", e);
+        }
+    }
+
+    private String hash(String json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Object lockFor(String key) {
+        return locks.computeIfAbsent(key, k -> new Object());
+    }
+
+    private String indexKey(String key) {
+        return KEY_PREFIX + key + INDEX_SUFFIX;
+    }
+
+    /**
+     * Records written before write versions were introduced have no "ver" and keep their old key.
+     */
+    private String recordKey(String key, Map<String, Object> record) {
+        Object version = record.get("ver");
+        return version != null
+                ? recordKey(key, ((Number) version).longValue(), seqOf(record))
+                : KEY_PREFIX + key + RECORD_SUFFIX + seqOf(record);
+    }
+
+    private String recordKey(String key, long writeVersion, int seq) {
+        return KEY_PREFIX + key + RECORD_SUFFIX + writeVersion + "." + seq;
+    }
+
+    private String normalize(String projectKey) {
+        if (projectKey == null || projectKey.trim().isEmpty()) {
+            return null;
+        }
+        return projectKey.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,220 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/PortalLiveStateRegistry.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.plugin.spring.scanner.annotation.export.ExportAsService;
+import com.samsungbuilder.jsm.dto.PortalConfigDTO;
+import com.samsungbuilder.jsm.dto.PortalConfigHeaderDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lightweight projectKey -> live state registry.
+ *
+ * The redirect filter, CustomerRailServlet and the portal list only need the "live" flag of a
+ * portal. This registry keeps just the flag (plus the service desk id) per project:
+ *  - reads are a single ConcurrentHashMap lookup of an immutable entry
+ *  - writers (portal save, live toggle, delete) push the new state via {@link #record} / {@link #remove}
+ *  - a miss reads only the stored header (PortalConfigStore#getHeader), never the component
+ *    chunks, and remembers the result, including "no config" (not live)
+ *
+ * Writes made on another cluster node arrive through {@link ConfigChangeBroadcaster} and drop the
+ * local entry; {@link #MAX_AGE_MS} remains the safety net for writes that bypass this plugin.
+ *
+ * Exported so CustomerRailServlet can resolve it through OSGi like PortalConfigService.
+ */
+@Named
+@ExportAsService({PortalLiveStateRegistry.class})
+public class PortalLiveStateRegistry implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PortalLiveStateRegistry.class);
+    private static final long MAX_AGE_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private final PortalConfigStore portalConfigStore;
+    private final ConfigChangeBroadcaster changeBroadcaster;
+    private final ConfigChangeBroadcaster.Listener remoteChangeListener = (scope, key, version) -> evict(key);
+    private final ConcurrentMap<String, LiveState> states = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+
+    @Inject
+    public PortalLiveStateRegistry(PortalConfigStore portalConfigStore,
+                                   ConfigChangeBroadcaster changeBroadcaster) {
+        this.portalConfigStore = portalConfigStore;
+        this.changeBroadcaster = changeBroadcaster;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        changeBroadcaster.subscribe(ConfigChangeBroadcaster.Scope.PORTAL_CONFIG, remoteChangeListener);
+    }
+
+    @Override
+    public void destroy() {
+        changeBroadcaster.unsubscribe(ConfigChangeBroadcaster.Scope.PORTAL_CONFIG, remoteChangeListener);
+    }
+
+    /**
+     * Whether the RAIL portal for the project is Live. Unknown projects and projects without
+     * a portal configuration are not live.
+     */
+    public boolean isLive(String projectKey) {
+        LiveState state = getState(projectKey);
+        return state != null && state.isLive();
+    }
+
+    /**
+     * Live state for the project, loading it on first access. Null when the key is blank
+     * or the configuration could not be read.
+     */
+    public LiveState getState(String projectKey) {
+        String key = normalize(projectKey);
+        if (key == null) {
+            return null;
+        }
+        LiveState state = states.get(key);
+        if (state != null && System.currentTimeMillis() - state.recordedAt < MAX_AGE_MS) {
+            hits.incrementAndGet();
+            return state;
+        }
+        return load(key);
+    }
+
+    /**
+     * Record the state of a portal configuration that was just saved.
+     */
+    public void record(String projectKey, PortalConfigDTO config) {
+        String key = normalize(projectKey != null ? projectKey : (config != null ? config.getProjectKey() : null));
+        if (key == null) {
+            return;
+        }
+        updates.incrementAndGet();
+        if (config == null) {
+            states.put(key, LiveState.notConfigured());
+            return;
+        }
+        states.put(key, LiveState.of(config));
+        log.debug("Live state recorded for {}: live={}", key, config.isLive());
+    }
+
+    /**
+     * Record that the project's portal configuration was deleted.
+     */
+    public void remove(String projectKey) {
+        String key = normalize(projectKey);
+        if (key == null) {
+            return;
+        }
+        updates.incrementAndGet();
+        states.put(key, LiveState.notConfigured());
+    }
+
+    /**
+     * Forget the state of one project (null forgets everything); it is reloaded on the next access.
+     */
+    public void evict(String projectKey) {
+        if (projectKey == null) {
+            invalidateAll();
+            return;
+        }
+        String key = normalize(projectKey);
+        if (key != null) {
+            states.remove(key);
+        }
+    }
+
+    /**
+     * Forget everything; states are reloaded on the next access.
+     */
+    public void invalidateAll() {
+        states.clear();
+    }
+
+    /**
+     * Registry statistics for diagnostics.
+     */
+    public Map<String, Object> getStats() {
+        long liveCount = states.values().stream().filter(LiveState::isLive).count();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", states.size());
+        stats.put("liveCount", liveCount);
+        stats.put("hits", hits.get());
+        stats.put("loads", loads.get());
+        stats.put("updates", updates.get());
+        stats.put("maxAgeMs", MAX_AGE_MS);
+        return stats;
+    }
+
+    private LiveState load(String key) {
+        if (portalConfigStore == null) {
+            log.warn("PortalConfigStore unavailable, cannot load live state for {}", key);
+            return null;
+        }
+        loads.incrementAndGet();
+        try {
+            Optional<PortalConfigHeaderDTO> header = portalConfigStore.getHeader(key);
+            LiveState state = header.map(LiveState::of).orElseGet(LiveState::notConfigured);
+            states.put(key, state);
+            return state;
+        } catch (Exception e) {
+            log.warn("Failed to load live state for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private String normalize(String projectKey) {
+        if (projectKey == null || projectKey.trim().isEmpty()) {
+            return null;
+        }
+        return projectKey.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Immutable live state of a single project portal.
+     */
+    public static final class LiveState {
+        private final boolean configured;
+        private final boolean live;
+        private final String serviceDeskId;
+        private final long recordedAt;
+
+        private LiveState(boolean configured, boolean live, String serviceDeskId) {
+            this.configured = configured;
+            this.live = live;
+            this.serviceDeskId = serviceDeskId;
+            this.recordedAt = System.currentTimeMillis();
+        }
+
+        static LiveState of(PortalConfigDTO config) {
+            String serviceDeskId = config.getServiceDeskId() != null ? config.getServiceDeskId() : config.getPortalId();
+            return new LiveState(true, config.isLive(), serviceDeskId);
+        }
+
+        static LiveState of(PortalConfigHeaderDTO header) {
+            String serviceDeskId = header.getServiceDeskId() != null ? header.getServiceDeskId() : header.getPortalId();
+            return new LiveState(true, header.isLive(), serviceDeskId);
+        }
+
+        static LiveState notConfigured() {
+            return new LiveState(false, false, null);
+        }
+
+        public boolean isConfigured() { return configured; }
+        public boolean isLive() { return live; }
+        public String getServiceDeskId() { return serviceDeskId; }
+    }
+}
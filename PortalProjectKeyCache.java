@@ -0,0 +1,282 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/PortalProjectKeyCache.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.event.api.EventListener;
+import com.atlassian.event.api.EventPublisher;
+import com.atlassian.jira.event.ProjectCreatedEvent;
+import com.atlassian.jira.event.ProjectDeletedEvent;
+import com.atlassian.jira.event.ProjectUpdatedEvent;
+import com.atlassian.jira.project.Project;
+import com.atlassian.jira.project.ProjectManager;
+import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
+import com.atlassian.servicedesk.api.ServiceDesk;
+import com.atlassian.servicedesk.api.ServiceDeskManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded portal (service desk) id -> project key cache.
+ *
+ * The customer portal redirect filter resolves the project behind every /servicedesk/* and
+ * /plugins/servlet/desk/* request. Resolving means a ServiceDeskManager lookup followed by a
+ * ProjectManager lookup, so results are cached here:
+ *  - LRU bounded to {@link #MAX_ENTRIES} portals
+ *  - found mappings expire after {@link #POSITIVE_TTL_MS}, unknown portal ids after the much
+ *    shorter {@link #NEGATIVE_TTL_MS} so a freshly created service desk is picked up quickly
+ *  - project rename/delete events drop the affected entries, project creation drops negative entries
+ *
+ * JSM does not publish a service desk deletion event, so the positive TTL is the safety net for that case.
+ */
+@Named
+public class PortalProjectKeyCache implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PortalProjectKeyCache.class);
+
+    private static final int MAX_ENTRIES = 2000;
+    private static final long POSITIVE_TTL_MS = TimeUnit.MINUTES.toMillis(30);
+    private static final long NEGATIVE_TTL_MS = TimeUnit.SECONDS.toMillis(60);
+
+    private final ServiceDeskManager serviceDeskManager;
+    private final ProjectManager projectManager;
+    private final EventPublisher eventPublisher;
+
+    // Access-ordered for LRU eviction; guarded by "this"
+    private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<Integer, Entry>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+            if (size() > MAX_ENTRIES) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong lookupFailures = new AtomicLong();
+
+    @Inject
+    public PortalProjectKeyCache(
+            @ComponentImport ServiceDeskManager serviceDeskManager,
+            @ComponentImport ProjectManager projectManager,
+            @ComponentImport EventPublisher eventPublisher) {
+        this.serviceDeskManager = serviceDeskManager;
+        this.projectManager = projectManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        eventPublisher.register(this);
+    }
+
+    @Override
+    public void destroy() {
+        eventPublisher.unregister(this);
+        invalidateAll();
+    }
+
+    /**
+     * Project key for the portal (service desk) id, or null when the portal does not exist
+     * or the lookup failed.
+     */
+    public String getProjectKey(int portalId) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Entry cached = entries.get(portalId);
+            if (cached != null) {
+                if (cached.expiresAt > now) {
+                    if (cached.projectKey != null) {
+                        hits.incrementAndGet();
+                    } else {
+                        negativeHits.incrementAndGet();
+                    }
+                    return cached.projectKey;
+                }
+                entries.remove(portalId);
+                expirations.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+
+        Entry loaded = load(portalId);
+        if (loaded == null) {
+            // Lookup failed (not "not found") - do not cache, retry on the next request
+            return null;
+        }
+        synchronized (this) {
+            entries.put(portalId, loaded);
+        }
+        return loaded.projectKey;
+    }
+
+    /**
+     * Whether the portal id currently has a live (non-expired) cache entry. Does not load.
+     */
+    public boolean isCached(int portalId) {
+        synchronized (this) {
+            Entry cached = entries.get(portalId);
+            return cached != null && cached.expiresAt > System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Drop every cached mapping.
+     */
+    public void invalidateAll() {
+        synchronized (this) {
+            invalidations.addAndGet(entries.size());
+            entries.clear();
+        }
+        log.debug("Portal project key cache cleared");
+    }
+
+    /**
+     * Drop the mappings that point at the given project.
+     */
+    public void invalidateProject(Long projectId) {
+        if (projectId == null) {
+            return;
+        }
+        int removed = 0;
+        synchronized (this) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (projectId.equals(it.next().projectId)) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        invalidations.addAndGet(removed);
+        log.debug("Portal project key cache: dropped {} entries for project {}", removed, projectId);
+    }
+
+    /**
+     * Cache statistics for the admin diagnostics endpoint.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        int size;
+        int negativeSize = 0;
+        synchronized (this) {
+            size = entries.size();
+            for (Entry entry : entries.values()) {
+                if (entry.projectKey == null) {
+                    negativeSize++;
+                }
+            }
+        }
+        long hitCount = hits.get();
+        long negativeHitCount = negativeHits.get();
+        long missCount = misses.get();
+        long requests = hitCount + negativeHitCount + missCount;
+
+        stats.put("size", size);
+        stats.put("negativeEntries", negativeSize);
+        stats.put("maxEntries", MAX_ENTRIES);
+        stats.put("positiveTtlMs", POSITIVE_TTL_MS);
+        stats.put("negativeTtlMs", NEGATIVE_TTL_MS);
+        stats.put("hits", hitCount);
+        stats.put("negativeHits", negativeHitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", requests > 0 ? (double) (hitCount + negativeHitCount) / requests : 0d);
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("lookupFailures", lookupFailures.get());
+        return stats;
+    }
+
+    @EventListener
+    public void onProjectUpdated(ProjectUpdatedEvent event) {
+        // Covers project key renames
+        Project project = event.getProject();
+        invalidateProject(project != null ? project.getId() : null);
+    }
+
+    @EventListener
+    public void onProjectDeleted(ProjectDeletedEvent event) {
+        invalidateProject(event.getId());
+    }
+
+    @EventListener
+    public void onProjectCreated(ProjectCreatedEvent event) {
+        // A new project may back a portal id we have cached as unknown
+        int removed = 0;
+        synchronized (this) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().projectKey == null) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        invalidations.addAndGet(removed);
+    }
+
+    /**
+     * Resolve the mapping. Returns a negative entry when the portal or project does not exist,
+     * and null when the lookup itself failed.
+     */
+    private Entry load(int portalId) {
+        if (serviceDeskManager == null || projectManager == null) {
+            log.warn("Cannot resolve portal {}: serviceDeskManager={}, projectManager={}", portalId,
+                    serviceDeskManager != null ? "available" : "NULL",
+                    projectManager != null ? "available" : "NULL");
+            lookupFailures.incrementAndGet();
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        try {
+            ServiceDesk serviceDesk = serviceDeskManager.getServiceDeskById(portalId);
+            if (serviceDesk == null) {
+                log.debug("No service desk found for portal ID {}", portalId);
+                return new Entry(null, null, now + NEGATIVE_TTL_MS);
+            }
+
+            long projectId = serviceDesk.getProjectId();
+            Project project = projectManager.getProjectObj(projectId);
+            if (project == null) {
+                log.debug("Service desk {} maps to missing project ID {}", portalId, projectId);
+                return new Entry(null, projectId, now + NEGATIVE_TTL_MS);
+            }
+
+            log.debug("Resolved portal {} -> project {}", portalId, project.getKey());
+            return new Entry(project.getKey(), projectId, now + POSITIVE_TTL_MS);
+        } catch (Exception e) {
+            lookupFailures.incrementAndGet();
+            log.warn("Failed to resolve project for portal ID {}: {}", portalId, e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class Entry {
+        private final String projectKey;
+        private final Long projectId;
+        private final long expiresAt;
+
+        private Entry(String projectKey, Long projectId, long expiresAt) {
+            this.projectKey = projectKey;
+            this.projectId = projectId;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/PortalRedirectTracer.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.plugin.spring.scanner.annotation.export.ExportAsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Decision tracing for the customer portal redirect filter and CustomerRailServlet.
+ *
+ * Each traced request produces one {@link Trace} record (matched route, portal id, project key,
+ * cache hit, live state, outcome, redirect target) that is kept in a fixed-size ring buffer and
+ * can be read through the admin REST API.
+ *
+ * Disabled by default. When disabled {@link #start} returns {@link Trace#NOOP} after a single
+ * volatile read, and every Trace method on NOOP returns immediately, so callers never need to
+ * guard their trace calls. Sampling records one out of every {@code sampleRate} requests.
+ * Settings live in memory only and reset to disabled on plugin restart.
+ */
+@Named
+@ExportAsService({PortalRedirectTracer.class})
+public class PortalRedirectTracer {
+
+    private static final Logger log = LoggerFactory.getLogger(PortalRedirectTracer.class);
+
+    public static final int DEFAULT_CAPACITY = 200;
+    public static final int MAX_CAPACITY = 5000;
+
+    private volatile boolean enabled;
+    private volatile int sampleRate = 1;
+    private volatile AtomicReferenceArray<Trace> ring = new AtomicReferenceArray<>(DEFAULT_CAPACITY);
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong sampledOut = new AtomicLong();
+
+    /**
+     * Start a trace for a request. Returns {@link Trace#NOOP} when tracing is disabled or the
+     * request is not sampled.
+     */
+    public Trace start(String source, String path) {
+        if (!enabled) {
+            return Trace.NOOP;
+        }
+        int rate = sampleRate;
+        if (rate > 1 && ThreadLocalRandom.current().nextInt(rate) != 0) {
+            sampledOut.incrementAndGet();
+            return Trace.NOOP;
+        }
+        return new Trace(this, source, path);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Update the runtime settings. Null arguments leave the current value untouched.
+     * Changing the capacity discards the recorded traces.
+     */
+    public synchronized void configure(Boolean enabled, Integer sampleRate, Integer capacity) {
+        if (sampleRate != null) {
+            this.sampleRate = Math.max(1, sampleRate);
+        }
+        if (capacity != null) {
+            int bounded = Math.max(1, Math.min(MAX_CAPACITY, capacity));
+            if (bounded != ring.length()) {
+                ring = new AtomicReferenceArray<>(bounded);
+            }
+        }
+        if (enabled != null) {
+            this.enabled = enabled;
+        }
+        log.info("Portal redirect tracing: enabled={}, sampleRate={}, capacity={}",
+                this.enabled, this.sampleRate, ring.length());
+    }
+
+    public Map<String, Object> getSettings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("enabled", enabled);
+        settings.put("sampleRate", sampleRate);
+        settings.put("capacity", ring.length());
+        settings.put("recorded", sequence.get());
+        settings.put("sampledOut", sampledOut.get());
+        return settings;
+    }
+
+    /**
+     * Most recent traces, newest first.
+     */
+    public List<Map<String, Object>> getRecent(int limit) {
+        AtomicReferenceArray<Trace> current = ring;
+        int capacity = current.length();
+        long last = sequence.get();
+        int max = Math.min(Math.max(limit, 0), capacity);
+
+        List<Map<String, Object>> traces = new ArrayList<>(max);
+        for (long seq = last; seq > 0 && seq > last - capacity && traces.size() < max; seq--) {
+            Trace trace = current.get((int) ((seq - 1) % capacity));
+            if (trace != null && trace.sequence == seq) {
+                traces.add(trace.toMap());
+            }
+        }
+        return traces;
+    }
+
+    public void clear() {
+        AtomicReferenceArray<Trace> current = ring;
+        for (int i = 0; i < current.length(); i++) {
+            current.set(i, null);
+        }
+    }
+
+    private void record(Trace trace) {
+        long seq = sequence.incrementAndGet();
+        trace.sequence = seq;
+        AtomicReferenceArray<Trace> current = ring;
+        current.set((int) ((seq - 1) % current.length()), trace);
+        if (log.isDebugEnabled()) {
+            log.debug("Portal redirect trace: {}", trace.toMap());
+        }
+    }
+
+    /**
+     * One request decision. Methods are chainable and do nothing on {@link #NOOP}.
+     */
+    public static final class Trace {
+
+        /** Shared no-op trace returned when tracing is disabled. */
+        public static final Trace NOOP = new Trace(null, null, null);
+
+        private final PortalRedirectTracer tracer;
+        private final String source;
+        private final String path;
+        private final long startedAtNanos;
+        private final long timestamp;
+
+        private volatile long sequence;
+        private String route;
+        private Integer portalId;
+        private String projectKey;
+        private Boolean cacheHit;
+        private Boolean live;
+        private String outcome;
+        private String target;
+        private String detail;
+        private long durationMicros;
+
+        private Trace(PortalRedirectTracer tracer, String source, String path) {
+            this.tracer = tracer;
+            this.source = source;
+            this.path = path;
+            this.startedAtNanos = tracer != null ? System.nanoTime() : 0L;
+            this.timestamp = tracer != null ? System.currentTimeMillis() : 0L;
+        }
+
+        public boolean isActive() {
+            return tracer != null;
+        }
+
+        public Trace route(String route) {
+            if (tracer != null) {
+                this.route = route;
+            }
+            return this;
+        }
+
+        public Trace portal(Integer portalId) {
+            if (tracer != null) {
+                this.portalId = portalId;
+            }
+            return this;
+        }
+
+        public Trace project(String projectKey, Boolean cacheHit) {
+            if (tracer != null) {
+                this.projectKey = projectKey;
+                this.cacheHit = cacheHit;
+            }
+            return this;
+        }
+
+        public Trace live(boolean live) {
+            if (tracer != null) {
+                this.live = live;
+            }
+            return this;
+        }
+
+        public Trace detail(String detail) {
+            if (tracer != null) {
+                this.detail = detail;
+            }
+            return this;
+        }
+
+        /**
+         * Complete the trace and store it in the ring buffer.
+         */
+        public void finish(String outcome, String target) {
+            if (tracer == null) {
+                return;
+            }
+            this.outcome = outcome;
+            this.target = target;
+            this.durationMicros = (System.nanoTime() - startedAtNanos) / 1000L;
+            tracer.record(this);
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("sequence", sequence);
+            map.put("timestamp", timestamp);
+            map.put("source", source);
+            map.put("path", path);
+            map.put("route", route);
+            map.put("portalId", portalId);
+            map.put("projectKey", projectKey);
+            map.put("cacheHit", cacheHit);
+            map.put("live", live);
+            map.put("outcome", outcome);
+            map.put("target", target);
+            map.put("detail", detail);
+            map.put("durationMicros", durationMicros);
+            return map;
+        }
+    }
+}
@@ -15,7 +15,6 @@ import com.atlassian.servicedesk.api.requesttype.RequestTypeQuery;
 import com.atlassian.servicedesk.api.util.paging.PagedRequest;
 import com.atlassian.servicedesk.api.util.paging.PagedResponse;
 import com.atlassian.servicedesk.api.util.paging.SimplePagedRequest;
-import com.samsungbuilder.jsm.dto.PortalConfigDTO;
 import com.samsungbuilder.jsm.dto.RequestTypeDTO;
 import com.samsungbuilder.jsm.dto.RequestTypeGroupDTO;
 import com.samsungbuilder.jsm.dto.RequestTypesResponseDTO;
@@ -25,6 +24,7 @@ import org.slf4j.LoggerFactory;
 import javax.inject.Inject;
 import javax.inject.Named;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -34,6 +34,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -45,12 +48,16 @@ public class PortalRequestTypeService {
 
     private static final Logger log = LoggerFactory.getLogger(PortalRequestTypeService.class);
     private static final int PAGE_SIZE = 100;
+    private static final long ORDER_SNAPSHOT_TTL_MS = TimeUnit.MINUTES.toMillis(5);
 
     private final ProjectManager projectManager;
     private final ServiceDeskManager serviceDeskManager;
     private final com.atlassian.servicedesk.api.requesttype.RequestTypeService jsdRequestTypeService;
     private final JiraAuthenticationContext authenticationContext;
-    private final PortalConfigService portalConfigService;
+    private final RequestTypeSearchIndex requestTypeSearchIndex;
+
+    // serviceDeskId -> cached per-group request type order
+    private final ConcurrentMap<Integer, RequestTypeOrderSnapshot> orderSnapshots = new ConcurrentHashMap<>();
 
     @Inject
     public PortalRequestTypeService(
@@ -58,13 +65,13 @@ public class PortalRequestTypeService {
             @ComponentImport ServiceDeskManager serviceDeskManager,
             @ComponentImport com.atlassian.servicedesk.api.requesttype.RequestTypeService requestTypeService,
             @ComponentImport JiraAuthenticationContext authenticationContext,
-            PortalConfigService portalConfigService
+            RequestTypeSearchIndex requestTypeSearchIndex
     ) {
         this.projectManager = projectManager;
         this.serviceDeskManager = serviceDeskManager;
         this.jsdRequestTypeService = requestTypeService;
         this.authenticationContext = authenticationContext;
-        this.portalConfigService = portalConfigService;
+        this.requestTypeSearchIndex = requestTypeSearchIndex;
     }
 
     /**
@@ -90,7 +97,8 @@ public class PortalRequestTypeService {
             }
 
             // 1. Load ALL request types (Unsorted globally, but contains all data)
-            List<RequestType> allRequestTypes = loadAllRequestTypes(serviceDesk);
+            List<RequestType> allRequestTypes = loadAllRequestTypes(
+                    jsdRequestTypeService, authenticationContext.getLoggedInUser(), serviceDesk);
 
             if (allRequestTypes.isEmpty()) {
                 return createEmptyResponse(projectKey);
@@ -178,83 +186,46 @@ public class PortalRequestTypeService {
     }
 
     /**
-     * Search request types across all service desk projects
+     * Search request types across all service desk projects.
+     * Served from the prebuilt RequestTypeSearchIndex and ranked by relevance.
      */
     public List<GlobalRequestTypeSearchResult> searchAllRequestTypes(String searchTerm, int maxResults) {
         log.debug("Searching all request types for '{}'", searchTerm);
 
-        String normalizedSearch = searchTerm != null ? searchTerm.trim().toLowerCase(Locale.ENGLISH) : "";
+        String normalizedSearch = searchTerm != null ? searchTerm.trim() : "";
         if (normalizedSearch.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<GlobalRequestTypeSearchResult> results = new ArrayList<>();
-
-        if (serviceDeskManager == null || jsdRequestTypeService == null || projectManager == null) {
-            log.warn("Service Desk APIs not available for global search");
-            return results;
-        }
-
         try {
-            List<Project> allProjects = projectManager.getProjectObjects();
-
-            for (Project project : allProjects) {
-                if (results.size() >= maxResults) {
-                    break;
-                }
-
-                try {
-                    ServiceDesk serviceDesk = serviceDeskManager.getServiceDeskForProject(project);
-                    if (serviceDesk == null) {
-                        continue;
-                    }
-
-                    String projectKey = project.getKey();
-                    String projectName = project.getName();
-
-                    boolean isLive = false;
-                    if (portalConfigService != null) {
-                        Optional<PortalConfigDTO> configOpt = portalConfigService.getPortalConfig(projectKey);
-                        isLive = configOpt.map(PortalConfigDTO::isLive).orElse(false);
-                    }
-
-                    String portalId = String.valueOf(serviceDesk.getId());
-                    List<RequestType> requestTypes = loadAllRequestTypes(serviceDesk);
-
-                    for (RequestType rt : requestTypes) {
-                        if (results.size() >= maxResults) {
-                            break;
-                        }
-
-                        String name = rt.getName() != null ? rt.getName().toLowerCase(Locale.ENGLISH) : "";
-                        String description = rt.getDescription() != null ? rt.getDescription().toLowerCase(Locale.ENGLISH) : "";
-
-                        if (name.contains(normalizedSearch) || description.contains(normalizedSearch)) {
-                            RequestTypeDTO dto = convertToDto(rt, project, serviceDesk);
-                            GlobalRequestTypeSearchResult result = new GlobalRequestTypeSearchResult();
-                            result.setRequestType(dto);
-                            result.setProjectKey(projectKey);
-                            result.setProjectName(projectName);
-                            result.setServiceDeskId(portalId);
-                            result.setPortalId(portalId);
-                            result.setLive(isLive);
-                            results.add(result);
-                        }
-                    }
-                } catch (Exception e) {
-                    log.warn("Error searching request types for project {}: {}", project.getKey(), e.getMessage());
-                }
-            }
+            return requestTypeSearchIndex.search(normalizedSearch, maxResults);
         } catch (Exception e) {
             log.error("Error performing global request type search", e);
+            return Collections.emptyList();
         }
+    }
 
-        return results;
+    /**
+     * Refresh cached request type data for a project after its portal config changed
+     * (e.g. live toggle or delete).
+     */
+    public void onPortalConfigChanged(String projectKey) {
+        try {
+            requestTypeSearchIndex.refreshProject(projectKey);
+        } catch (Exception e) {
+            log.warn("Could not refresh request type search index for project {}: {}", projectKey, e.getMessage());
+        }
     }
 
-    private List<RequestType> loadAllRequestTypes(ServiceDesk serviceDesk) {
+    /**
+     * All visible request types of a service desk, paging through JSM. Shared with
+     * RequestTypeSearchIndex (which this service depends on, so it cannot inject this one).
+     */
+    static List<RequestType> loadAllRequestTypes(
+            com.atlassian.servicedesk.api.requesttype.RequestTypeService jsdRequestTypeService,
+            ApplicationUser user,
+            ServiceDesk serviceDesk) {
         List<RequestType> requestTypes = new ArrayList<>();
-        ApplicationUser user = authenticationContext.getLoggedInUser();
         int start = 0;
         boolean hasMore = true;
 
@@ -332,39 +303,25 @@ public class PortalRequestTypeService {
             }
         }
 
-        // 2. Query each group individually to get CORRECT Sort Order
-        ApplicationUser user = authenticationContext.getLoggedInUser();
+        // 2. Apply JSM's per-group drag-and-drop order from the cached order snapshot
+        Map<Integer, List<Integer>> orderByGroup = getGroupOrderSnapshot(serviceDesk, allRequestTypes, groupMap.keySet());
 
-        for (Integer groupId : groupMap.keySet()) {
-            try {
-                // This query IS sorted by JSM based on drag-and-drop order
-                RequestTypeQuery sortedQuery = jsdRequestTypeService.newQueryBuilder()
-                    .serviceDesk(serviceDesk.getId())
-                    .group(groupId)
-                    .pagedRequest(SimplePagedRequest.paged(0, 100))
-                    .requestOverrideSecurity(Boolean.TRUE)
-                    .filterHidden(Boolean.TRUE)
-                    .build();
+        for (Map.Entry<Integer, List<Integer>> entry : orderByGroup.entrySet()) {
+            String groupId = String.valueOf(entry.getKey());
+            List<Integer> sortedIds = entry.getValue();
 
-                List<RequestType> sortedTypes = jsdRequestTypeService.getRequestTypes(user, sortedQuery).getResults();
+            for (int i = 0; i < sortedIds.size(); i++) {
+                RequestTypeDTO dto = dtoMap.get(String.valueOf(sortedIds.get(i)));
 
-                // Apply this specific order to our DTOs
-                for (int i = 0; i < sortedTypes.size(); i++) {
-                    String rtId = String.valueOf(sortedTypes.get(i).getId());
-                    RequestTypeDTO dto = dtoMap.get(rtId);
+                if (dto != null) {
+                    // Store the index (0, 1, 2...) for this specific group
+                    dto.getGroupOrderMap().put(groupId, i);
 
-                    if (dto != null) {
-                        // Store the index (0, 1, 2...) for this specific group
-                        dto.getGroupOrderMap().put(String.valueOf(groupId), i);
-                        
-                        // Also set main displayOrder if this is the first group (fallback)
-                        if (dto.getDisplayOrder() == null) {
-                            dto.setDisplayOrder(i);
-                        }
+                    // Also set main displayOrder if this is the first group (fallback)
+                    if (dto.getDisplayOrder() == null) {
+                        dto.setDisplayOrder(i);
                     }
                 }
-            } catch (Exception e) {
-                log.warn("Could not fetch sorted types for group {}", groupId, e);
             }
         }
 
@@ -381,7 +338,83 @@ public class PortalRequestTypeService {
         return response;
     }
 
+    /**
+     * Per-group request type order (drag-and-drop order) for a service desk.
+     *
+     * JSM only returns request types in their configured order when queried one group at a time,
+     * so the per-group queries are run once and cached per service desk. The snapshot is reused
+     * while the request type/group membership from the bulk load is unchanged and it is younger
+     * than ORDER_SNAPSHOT_TTL_MS. JSM publishes no event for request type or group edits, so
+     * membership changes are caught by the fingerprint and the TTL is the only bound on how long a
+     * reorder inside a group (which changes no membership) stays unseen.
+     */
+    private Map<Integer, List<Integer>> getGroupOrderSnapshot(ServiceDesk serviceDesk,
+                                                              List<RequestType> allRequestTypes,
+                                                              Collection<Integer> groupIds) {
+        String fingerprint = buildMembershipFingerprint(allRequestTypes);
+        long now = System.currentTimeMillis();
+
+        RequestTypeOrderSnapshot cached = orderSnapshots.get(serviceDesk.getId());
+        if (cached != null && cached.fingerprint.equals(fingerprint) && now - cached.loadedAt < ORDER_SNAPSHOT_TTL_MS) {
+            return cached.orderByGroup;
+        }
+
+        ApplicationUser user = authenticationContext.getLoggedInUser();
+        Map<Integer, List<Integer>> orderByGroup = new LinkedHashMap<>();
+        boolean complete = true;
+
+        for (Integer groupId : groupIds) {
+            try {
+                // This query IS sorted by JSM based on drag-and-drop order
+                RequestTypeQuery sortedQuery = jsdRequestTypeService.newQueryBuilder()
+                    .serviceDesk(serviceDesk.getId())
+                    .group(groupId)
+                    .pagedRequest(SimplePagedRequest.paged(0, PAGE_SIZE))
+                    .requestOverrideSecurity(Boolean.TRUE)
+                    .filterHidden(Boolean.TRUE)
+                    .build();
+
+                List<Integer> sortedIds = jsdRequestTypeService.getRequestTypes(user, sortedQuery).getResults().stream()
+                        .map(RequestType::getId)
+                        .collect(Collectors.toList());
+                orderByGroup.put(groupId, Collections.unmodifiableList(sortedIds));
+            } catch (Exception e) {
+                complete = false;
+                log.warn("Could not fetch sorted types for group {}", groupId, e);
+            }
+        }
+
+        Map<Integer, List<Integer>> snapshot = Collections.unmodifiableMap(orderByGroup);
+        if (complete) {
+            orderSnapshots.put(serviceDesk.getId(), new RequestTypeOrderSnapshot(fingerprint, snapshot, now));
+        } else {
+            // Don't cache a partial order; retry the failed groups on the next load
+            orderSnapshots.remove(serviceDesk.getId());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Stable fingerprint of request type ids and their group memberships.
+     */
+    private String buildMembershipFingerprint(List<RequestType> requestTypes) {
+        return requestTypes.stream()
+                .map(rt -> rt.getId() + ":" + (rt.getGroups() == null ? "" : rt.getGroups().stream()
+                        .map(group -> String.valueOf(group.getId()))
+                        .sorted()
+                        .collect(Collectors.joining(","))))
+                .sorted()
+                .collect(Collectors.joining(";"));
+    }
+
     private RequestTypeDTO convertToDto(RequestType requestType, Project project, ServiceDesk serviceDesk) {
+        return toRequestTypeDto(requestType, project, serviceDesk);
+    }
+
+    /**
+     * Shared with RequestTypeSearchIndex so indexed results match the per-project DTOs.
+     */
+    static RequestTypeDTO toRequestTypeDto(RequestType requestType, Project project, ServiceDesk serviceDesk) {
         RequestTypeDTO dto = new RequestTypeDTO();
         dto.setId(String.valueOf(requestType.getId()));
         dto.setName(requestType.getName());
@@ -405,6 +438,18 @@ public class PortalRequestTypeService {
         return response;
     }
 
+    private static final class RequestTypeOrderSnapshot {
+        private final String fingerprint;
+        private final Map<Integer, List<Integer>> orderByGroup;
+        private final long loadedAt;
+
+        private RequestTypeOrderSnapshot(String fingerprint, Map<Integer, List<Integer>> orderByGroup, long loadedAt) {
+            this.fingerprint = fingerprint;
+            this.orderByGroup = orderByGroup;
+            this.loadedAt = loadedAt;
+        }
+    }
+
     /**
      * DTO for global request type search results.
      */
@@ -419,6 +464,7 @@ public class PortalRequestTypeService {
         private String serviceDeskId;
         private String portalId;
         private boolean isLive;
+        private int score;
 
         @org.codehaus.jackson.annotate.JsonProperty("requestType")
         public RequestTypeDTO getRequestType() { return requestType; }
@@ -443,5 +489,9 @@ public class PortalRequestTypeService {
         @org.codehaus.jackson.annotate.JsonProperty("isLive")
         public boolean isLive() { return isLive; }
         public void setLive(boolean live) { this.isLive = live; }
+
+        @org.codehaus.jackson.annotate.JsonProperty("score")
+        public int getScore() { return score; }
+        public void setScore(int score) { this.score = score; }
     }
 }
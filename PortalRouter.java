@@ -0,0 +1,282 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/filter/PortalRouter.java
+package com.samsungbuilder.jsm.filter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Single-pass route classifier for RailCustomerPortalRedirectFilter.
+ *
+ * Replaces the chain of regex patterns and contains() checks with one pass over the request
+ * path: the ignore tokens are scanned once, the portal prefix is located once, and the
+ * remainder is parsed segment by segment:
+ *
+ *   {prefix}{portalId}[/]                      -> PORTAL
+ *   {prefix}{portalId}/rail[/]        (desk)   -> PORTAL
+ *   {prefix}{portalId}/create/{rtId}[/]        -> REQUEST_TYPE
+ *   {prefix}{portalId}/{ISSUE-KEY}[/] (desk)   -> DESK_ISSUE
+ *   {prefix}{portalId}/user/...                -> IGNORED (user management)
+ *   {prefix}{portalId}/anything-else           -> PORTAL_SUB_PATH
+ *
+ * where {prefix} is /servicedesk/customer/portal/ (JSM) or /plugins/servlet/desk/portal/ (desk).
+ * Stateless and allocation-light; safe to call from any thread.
+ */
+final class PortalRouter {
+
+    static final String JSM_PORTAL_PREFIX = "/servicedesk/customer/portal/";
+    static final String DESK_PORTAL_PREFIX = "/plugins/servlet/desk/portal/";
+
+    /**
+     * Exact legacy homepage routes that always redirect to the RAIL home
+     * (normalized, no trailing slash).
+     */
+    private static final Set<String> HOME_PATHS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "/servicedesk/customer/portals",
+        "/plugins/servlet/desk",
+        "/plugins/servlet/desk/site/global"
+    )));
+
+    // Substrings of path + query that mark API, embedded and opt-out requests
+    private static final List<String> API_TOKENS = Arrays.asList("/rest/", "/api/");
+    private static final List<String> EMBEDDED_TOKENS = Arrays.asList(
+        "embedded=true", "decorator=none", "noRedirect=true", "iframeContext=true");
+    private static final List<String> FEEDBACK_TOKENS = Arrays.asList("/feedback", "/unsubscribe");
+
+    enum RouteType {
+        /** Request must not be redirected; {@link Route#getDetail()} carries the reason. */
+        IGNORED,
+        /** Legacy homepage URL - always redirect to the RAIL home. */
+        HOME,
+        /** Already targeting /plugins/servlet/customer-rail. */
+        CUSTOMER_RAIL,
+        /** Portal landing page (JSM or desk). */
+        PORTAL,
+        /** Request type create page. */
+        REQUEST_TYPE,
+        /** Desk/Refined issue view deep link. */
+        DESK_ISSUE,
+        /** Any other page under a portal - handled by the OOTB portal. */
+        PORTAL_SUB_PATH,
+        /** Not a portal URL. */
+        NONE
+    }
+
+    /**
+     * Classification result. Immutable.
+     */
+    static final class Route {
+        private static final Route NONE = new Route(RouteType.NONE, false, null, null, null, null);
+        private static final Route HOME = new Route(RouteType.HOME, false, null, null, null, "home");
+        private static final Route CUSTOMER_RAIL = new Route(RouteType.CUSTOMER_RAIL, false, null, null, null, "customer-rail");
+
+        private final RouteType type;
+        private final boolean desk;
+        private final Integer portalId;
+        private final String requestTypeId;
+        private final String issueKey;
+        private final String detail;
+
+        private Route(RouteType type, boolean desk, Integer portalId, String requestTypeId, String issueKey, String detail) {
+            this.type = type;
+            this.desk = desk;
+            this.portalId = portalId;
+            this.requestTypeId = requestTypeId;
+            this.issueKey = issueKey;
+            this.detail = detail;
+        }
+
+        static Route ignored(String reason) {
+            return new Route(RouteType.IGNORED, false, null, null, null, reason);
+        }
+
+        RouteType getType() { return type; }
+        /** Whether the URL is a Desk/Refined (/plugins/servlet/desk/portal/) URL. */
+        boolean isDesk() { return desk; }
+        Integer getPortalId() { return portalId; }
+        String getRequestTypeId() { return requestTypeId; }
+        String getIssueKey() { return issueKey; }
+        /** Route name for tracing, or the ignore reason for IGNORED routes. */
+        String getDetail() { return detail; }
+    }
+
+    private PortalRouter() {
+    }
+
+    /**
+     * Classify a request.
+     *
+     * @param path request URI without the context path
+     * @param queryString raw query string, may be null
+     */
+    static Route classify(String path, String queryString) {
+        if (path == null) {
+            return Route.NONE;
+        }
+        String query = queryString != null ? queryString : "";
+
+        if (containsAny(path, query, API_TOKENS)) {
+            return Route.ignored("API/REST call");
+        }
+        if (containsAny(path, query, EMBEDDED_TOKENS)) {
+            return Route.ignored("embedded or noRedirect request");
+        }
+
+        boolean desk;
+        int prefixAt = path.indexOf(DESK_PORTAL_PREFIX);
+        int prefixLength;
+        if (prefixAt >= 0) {
+            desk = true;
+            prefixLength = DESK_PORTAL_PREFIX.length();
+        } else {
+            desk = false;
+            prefixAt = path.indexOf(JSM_PORTAL_PREFIX);
+            prefixLength = JSM_PORTAL_PREFIX.length();
+        }
+
+        Route portalRoute = prefixAt >= 0 ? classifyPortal(path, prefixAt + prefixLength, desk) : null;
+        if (portalRoute != null && portalRoute.type == RouteType.REQUEST_TYPE) {
+            return portalRoute;
+        }
+        if (path.contains("/create/") || query.contains("/create/")) {
+            return Route.ignored("non-request-type creation URL");
+        }
+        if (portalRoute != null && portalRoute.type == RouteType.IGNORED) {
+            return portalRoute;
+        }
+        if (containsAny(path, query, FEEDBACK_TOKENS)) {
+            return Route.ignored("feedback/unsubscribe URL");
+        }
+
+        if (HOME_PATHS.contains(normalize(path))) {
+            return Route.HOME;
+        }
+        if (path.contains("/customer-rail")) {
+            return Route.CUSTOMER_RAIL;
+        }
+        return portalRoute != null ? portalRoute : Route.NONE;
+    }
+
+    /**
+     * Parse "{portalId}[/rest...]" starting at {@code start}.
+     */
+    private static Route classifyPortal(String path, int start, boolean desk) {
+        int length = path.length();
+        int idEnd = start;
+        while (idEnd < length && isDigit(path.charAt(idEnd))) {
+            idEnd++;
+        }
+        if (idEnd == start || (idEnd < length && path.charAt(idEnd) != '/')) {
+            // No numeric portal id - something under the portal root we do not handle
+            return new Route(RouteType.PORTAL_SUB_PATH, desk, null, null, null, "portal-sub-path");
+        }
+        Integer portalId = parseId(path, start, idEnd);
+        if (portalId == null) {
+            return new Route(RouteType.PORTAL_SUB_PATH, desk, null, null, null, "portal-sub-path");
+        }
+
+        // Remainder after the portal id, without a single trailing slash
+        int restStart = idEnd + 1;
+        int restEnd = path.endsWith("/") && length > idEnd ? length - 1 : length;
+        if (restStart > restEnd) {
+            return portal(desk, portalId);
+        }
+        int slash = path.indexOf('/', restStart);
+        int segmentEnd = slash >= 0 && slash < restEnd ? slash : restEnd;
+        String segment = path.substring(restStart, segmentEnd);
+        boolean lastSegment = segmentEnd == restEnd;
+
+        if (segment.isEmpty() && lastSegment) {
+            return portal(desk, portalId);
+        }
+        if (desk && lastSegment && "rail".equals(segment)) {
+            return portal(desk, portalId);
+        }
+        if ("create".equals(segment) && !lastSegment) {
+            int rtStart = segmentEnd + 1;
+            if (rtStart < restEnd && allDigits(path, rtStart, restEnd)) {
+                return new Route(RouteType.REQUEST_TYPE, desk, portalId, path.substring(rtStart, restEnd), null,
+                        desk ? "desk-request-type" : "jsm-request-type");
+            }
+        }
+        if ("user".equals(segment) && !lastSegment) {
+            return Route.ignored("user management URL");
+        }
+        if (desk && lastSegment && isIssueKey(segment)) {
+            return new Route(RouteType.DESK_ISSUE, true, portalId, null, segment, "desk-issue");
+        }
+        return new Route(RouteType.PORTAL_SUB_PATH, desk, portalId, null, null, "portal-sub-path");
+    }
+
+    private static Route portal(boolean desk, Integer portalId) {
+        return new Route(RouteType.PORTAL, desk, portalId, null, null, desk ? "desk-portal" : "jsm-portal");
+    }
+
+    /**
+     * Issue key shape: a letter, then letters/digits, a dash and digits (e.g. WMPR-8149).
+     * Lower case is accepted since bookmarks and emails vary.
+     */
+    private static boolean isIssueKey(String segment) {
+        int dash = segment.lastIndexOf('-');
+        if (dash < 2 || dash == segment.length() - 1 || !isAsciiLetter(segment.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < dash; i++) {
+            char c = segment.charAt(i);
+            if (!isAsciiLetter(c) && !isDigit(c)) {
+                return false;
+            }
+        }
+        return allDigits(segment, dash + 1, segment.length());
+    }
+
+    private static boolean containsAny(String path, String query, List<String> tokens) {
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (path.contains(token) || (!query.isEmpty() && query.contains(token))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean allDigits(String s, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static Integer parseId(String s, int from, int to) {
+        if (to - from > 9) {
+            return null; // would overflow an int portal id
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (s.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static String normalize(String path) {
+        if (path.length() > 1 && path.endsWith("/")) {
+            return path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,550 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/PortalSearchIndex.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.jira.user.ApplicationUser;
+import com.samsungbuilder.jsm.dto.PortalSearchResultDTO;
+import com.samsungbuilder.jsm.dto.RequestTypeDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Unified, typo-tolerant search over portals and request types for the landing page.
+ *
+ * Documents are built from the {@link RequestTypeSearchIndex} snapshot (so JSM is read once and
+ * the same invalidation applies): one portal document per service desk project (name, key,
+ * description) and one document per request type (name, description, group names). Every query
+ * token must match a document; each token is matched against the term dictionary as
+ * exact &gt; prefix &gt; contains &gt; fuzzy (trigram candidates verified by edit distance, with
+ * transpositions counting as one edit), then weighted by field following newsearch.md:
+ * project name &gt; key &gt; description &gt; request type name. Portals win ties.
+ *
+ * Results are filtered by the caller's Browse Projects permission and carry highlight ranges,
+ * so the browser no longer downloads and scores the whole catalog.
+ */
+@Named
+public class PortalSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PortalSearchIndex.class);
+
+    // Same thresholds as the landing page fuzzy helper
+    private static final int FUZZY_MIN_TOKEN_LENGTH = 3;
+    private static final int FUZZY_MAX_EDIT_DISTANCE_SHORT = 1;
+    private static final int FUZZY_MAX_EDIT_DISTANCE_LONG = 2;
+    private static final double FUZZY_MIN_SIMILARITY = 0.72;
+    private static final int CONTAINS_MIN_TOKEN_LENGTH = 3;
+
+    private static final int KIND_WEIGHT = 100;
+    private static final int EDIT_PENALTY = 5;
+    private static final int BONUS_EXACT_TITLE = 1000;
+    private static final int BONUS_TITLE_PREFIX = 300;
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    /**
+     * Searchable fields, highest ranked first. PROJECT_CONTEXT lets a request type match on its
+     * project ("jira license") but never makes it a hit on its own.
+     */
+    enum Field {
+        PROJECT_NAME(60, "projectName"),
+        PROJECT_KEY(50, "projectKey"),
+        PROJECT_DESCRIPTION(40, "projectDescription"),
+        REQUEST_TYPE_NAME(30, "requestTypeName"),
+        GROUPS(20, "groups"),
+        REQUEST_TYPE_DESCRIPTION(10, "requestTypeDescription"),
+        PROJECT_CONTEXT(0, null);
+
+        private final int weight;
+        private final String jsonName;
+
+        Field(int weight, String jsonName) {
+            this.weight = weight;
+            this.jsonName = jsonName;
+        }
+    }
+
+    enum MatchKind {
+        EXACT(4, "exact"),
+        PREFIX(3, "prefix"),
+        CONTAINS(2, "contains"),
+        FUZZY(1, "fuzzy");
+
+        private final int weight;
+        private final String jsonName;
+
+        MatchKind(int weight, String jsonName) {
+            this.weight = weight;
+            this.jsonName = jsonName;
+        }
+    }
+
+    private final RequestTypeSearchIndex requestTypeSearchIndex;
+    private final BrowsableProjectCache browsableProjects;
+
+    private final Object buildLock = new Object();
+    private volatile Index index;
+
+    @Inject
+    public PortalSearchIndex(
+            RequestTypeSearchIndex requestTypeSearchIndex,
+            BrowsableProjectCache browsableProjects
+    ) {
+        this.requestTypeSearchIndex = requestTypeSearchIndex;
+        this.browsableProjects = browsableProjects;
+    }
+
+    /**
+     * Ranked, highlighted portal and request type hits the user can browse.
+     */
+    public List<PortalSearchResultDTO> search(String query, int maxResults, ApplicationUser user) {
+        List<String> queryTokens = RequestTypeSearchIndex.tokenize(query);
+        if (queryTokens.isEmpty() || maxResults <= 0) {
+            return Collections.emptyList();
+        }
+        Index current = currentIndex();
+
+        // AND across query tokens; keep the best match per document for each token
+        Map<Integer, List<TermMatch>> matchesByDoc = null;
+        for (String queryToken : queryTokens) {
+            Map<Integer, TermMatch> tokenMatches = current.match(queryToken);
+            if (matchesByDoc == null) {
+                matchesByDoc = new HashMap<>();
+                for (Map.Entry<Integer, TermMatch> entry : tokenMatches.entrySet()) {
+                    List<TermMatch> matches = new ArrayList<>(queryTokens.size());
+                    matches.add(entry.getValue());
+                    matchesByDoc.put(entry.getKey(), matches);
+                }
+            } else {
+                matchesByDoc.keySet().retainAll(tokenMatches.keySet());
+                for (Map.Entry<Integer, List<TermMatch>> entry : matchesByDoc.entrySet()) {
+                    entry.getValue().add(tokenMatches.get(entry.getKey()));
+                }
+            }
+            if (matchesByDoc.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        String normalizedQuery = RequestTypeSearchIndex.normalize(query);
+        List<ScoredDocument> ranked = new ArrayList<>(matchesByDoc.size());
+        for (Map.Entry<Integer, List<TermMatch>> entry : matchesByDoc.entrySet()) {
+            Document doc = current.documents.get(entry.getKey());
+            TermMatch best = null;
+            MatchKind weakest = MatchKind.EXACT;
+            int score = 0;
+            for (TermMatch match : entry.getValue()) {
+                score += match.score;
+                if (match.kind.weight < weakest.weight) {
+                    weakest = match.kind;
+                }
+                if (match.field != Field.PROJECT_CONTEXT && (best == null || match.score > best.score)) {
+                    best = match;
+                }
+            }
+            if (best == null) {
+                continue; // Request type that only matched through its project
+            }
+            if (doc.normalizedTitle.equals(normalizedQuery)) {
+                score += BONUS_EXACT_TITLE;
+            } else if (doc.normalizedTitle.startsWith(normalizedQuery)) {
+                score += BONUS_TITLE_PREFIX;
+            }
+            ranked.add(new ScoredDocument(doc, score, weakest, best.field));
+        }
+        ranked.sort(Comparator.comparingInt((ScoredDocument d) -> d.score).reversed()
+                .thenComparing(d -> d.document.requestType != null)
+                .thenComparing(d -> d.document.normalizedTitle));
+
+        Set<String> browsable = browsableProjects.getBrowsableProjectKeys(user);
+        List<PortalSearchResultDTO> results = new ArrayList<>();
+        for (ScoredDocument scored : ranked) {
+            if (results.size() >= maxResults) {
+                break;
+            }
+            if (browsable.contains(scored.document.projectKey)) {
+                results.add(toResult(scored, queryTokens));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Drop the index; it is rebuilt from the request type index on the next search.
+     */
+    public void invalidate() {
+        index = null;
+    }
+
+    public Map<String, Object> getStats() {
+        Index current = index;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("built", current != null);
+        stats.put("documentCount", current != null ? current.documents.size() : 0);
+        stats.put("termCount", current != null ? current.terms.size() : 0);
+        stats.put("trigramCount", current != null ? current.trigrams.size() : 0);
+        stats.put("builtAt", current != null ? current.builtAt : null);
+        return stats;
+    }
+
+    /**
+     * Rebuilt whenever the request type index publishes a new snapshot (project refresh,
+     * invalidation, periodic rebuild); the source map is compared by identity.
+     */
+    private Index currentIndex() {
+        Map<String, List<RequestTypeSearchIndex.IndexedRequestType>> source = requestTypeSearchIndex.getRequestTypesByProject();
+        Index current = index;
+        if (current != null && current.source == source) {
+            return current;
+        }
+        synchronized (buildLock) {
+            current = index;
+            if (current != null && current.source == source) {
+                return current;
+            }
+            long start = System.currentTimeMillis();
+            Index built = Index.of(source);
+            index = built;
+            log.debug("Built portal search index: {} documents, {} terms in {}ms",
+                    built.documents.size(), built.terms.size(), System.currentTimeMillis() - start);
+            return built;
+        }
+    }
+
+    private PortalSearchResultDTO toResult(ScoredDocument scored, List<String> queryTokens) {
+        Document doc = scored.document;
+        PortalSearchResultDTO result = new PortalSearchResultDTO();
+        result.setType(doc.requestType != null ? PortalSearchResultDTO.TYPE_REQUEST_TYPE : PortalSearchResultDTO.TYPE_PORTAL);
+        result.setProjectKey(doc.projectKey);
+        result.setProjectName(doc.fields.get(Field.PROJECT_NAME));
+        result.setProjectDescription(doc.fields.get(Field.PROJECT_DESCRIPTION));
+        result.setServiceDeskId(doc.serviceDeskId);
+        result.setPortalId(doc.serviceDeskId);
+        result.setLive(doc.live);
+        result.setRequestType(doc.requestType);
+        result.setScore(scored.score);
+        result.setMatchType(scored.weakest.jsonName);
+        result.setMatchedField(scored.bestField.jsonName);
+
+        Map<String, List<Map<String, Integer>>> highlights = new LinkedHashMap<>();
+        for (Map.Entry<Field, String> field : doc.fields.entrySet()) {
+            if (field.getKey() == Field.PROJECT_CONTEXT) {
+                continue;
+            }
+            List<Map<String, Integer>> ranges = highlight(field.getValue(), queryTokens);
+            if (!ranges.isEmpty()) {
+                highlights.put(field.getKey().jsonName, ranges);
+            }
+        }
+        result.setHighlights(highlights);
+        return result;
+    }
+
+    /**
+     * Merged highlight ranges of every query token in {@code text}: the matched substring for
+     * exact/prefix/contains matches, the whole word for fuzzy matches (only when the token has
+     * no literal match in this text).
+     */
+    static List<Map<String, Integer>> highlight(String text, List<String> queryTokens) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<int[]> ranges = new ArrayList<>();
+        for (String queryToken : queryTokens) {
+            List<int[]> literal = new ArrayList<>();
+            List<int[]> fuzzy = new ArrayList<>();
+            Matcher matcher = WORD.matcher(text);
+            while (matcher.find()) {
+                String word = matcher.group();
+                String normalized = RequestTypeSearchIndex.normalize(word);
+                int at = normalized.indexOf(queryToken);
+                if (at >= 0) {
+                    // Lower-casing can change the length of a few characters; fall back to the whole word
+                    boolean aligned = normalized.length() == word.length();
+                    literal.add(aligned
+                            ? new int[]{matcher.start() + at, matcher.start() + at + queryToken.length()}
+                            : new int[]{matcher.start(), matcher.end()});
+                } else if (literal.isEmpty() && fuzzyEdits(queryToken, normalized) >= 0) {
+                    fuzzy.add(new int[]{matcher.start(), matcher.end()});
+                }
+            }
+            ranges.addAll(literal.isEmpty() ? fuzzy : literal);
+        }
+        if (ranges.isEmpty()) {
+            return Collections.emptyList();
+        }
+        ranges.sort(Comparator.comparingInt(range -> range[0]));
+        List<Map<String, Integer>> merged = new ArrayList<>();
+        int[] last = null;
+        for (int[] range : ranges) {
+            if (last != null && range[0] <= last[1]) {
+                last[1] = Math.max(last[1], range[1]);
+                continue;
+            }
+            if (last != null) {
+                merged.add(toRange(last));
+            }
+            last = new int[]{range[0], range[1]};
+        }
+        merged.add(toRange(last));
+        return merged;
+    }
+
+    private static Map<String, Integer> toRange(int[] range) {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("start", range[0]);
+        map.put("end", range[1]);
+        return map;
+    }
+
+    /**
+     * Edit distance between a query token and a term when it is within the fuzzy thresholds,
+     * otherwise -1.
+     */
+    static int fuzzyEdits(String queryToken, String term) {
+        if (queryToken.length() < FUZZY_MIN_TOKEN_LENGTH || term.length() < FUZZY_MIN_TOKEN_LENGTH) {
+            return -1;
+        }
+        int maxEdits = maxEdits(queryToken);
+        if (Math.abs(queryToken.length() - term.length()) > maxEdits) {
+            return -1;
+        }
+        int distance = editDistance(queryToken, term);
+        double similarity = 1.0 - (double) distance / Math.max(queryToken.length(), term.length());
+        return distance <= maxEdits && similarity >= FUZZY_MIN_SIMILARITY ? distance : -1;
+    }
+
+    private static int maxEdits(String queryToken) {
+        return queryToken.length() <= 4 ? FUZZY_MAX_EDIT_DISTANCE_SHORT : FUZZY_MAX_EDIT_DISTANCE_LONG;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions, so "poratl"
+     * is one edit away from "portal").
+     */
+    static int editDistance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    /**
+     * Trigrams of the term padded with '$' at both ends, so short terms and word starts/ends count.
+     */
+    static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static final class Document {
+        private final String projectKey;
+        private final String serviceDeskId;
+        private final boolean live;
+        private final RequestTypeDTO requestType;
+        private final Map<Field, String> fields;
+        private final String normalizedTitle;
+
+        private Document(String projectKey, String serviceDeskId, boolean live, RequestTypeDTO requestType,
+                         Map<Field, String> fields, String title) {
+            this.projectKey = projectKey;
+            this.serviceDeskId = serviceDeskId;
+            this.live = live;
+            this.requestType = requestType;
+            this.fields = fields;
+            this.normalizedTitle = RequestTypeSearchIndex.normalize(title);
+        }
+    }
+
+    private static final class Posting {
+        private final int docId;
+        private final Field field;
+
+        private Posting(int docId, Field field) {
+            this.docId = docId;
+            this.field = field;
+        }
+    }
+
+    private static final class TermMatch {
+        private final Field field;
+        private final MatchKind kind;
+        private final int score;
+
+        private TermMatch(Field field, MatchKind kind, int edits) {
+            this.field = field;
+            this.kind = kind;
+            this.score = kind.weight * KIND_WEIGHT + field.weight - edits * EDIT_PENALTY;
+        }
+    }
+
+    private static final class ScoredDocument {
+        private final Document document;
+        private final int score;
+        private final MatchKind weakest;
+        private final Field bestField;
+
+        private ScoredDocument(Document document, int score, MatchKind weakest, Field bestField) {
+            this.document = document;
+            this.score = score;
+            this.weakest = weakest;
+            this.bestField = bestField;
+        }
+    }
+
+    /**
+     * Immutable index: documents, term -> postings (sorted for prefix scans) and
+     * trigram -> terms (for contains and fuzzy candidates).
+     */
+    private static final class Index {
+        private final Map<String, List<RequestTypeSearchIndex.IndexedRequestType>> source;
+        private final List<Document> documents;
+        private final TreeMap<String, List<Posting>> terms;
+        private final Map<String, List<String>> trigrams;
+        private final long builtAt;
+
+        private Index(Map<String, List<RequestTypeSearchIndex.IndexedRequestType>> source, List<Document> documents,
+                      TreeMap<String, List<Posting>> terms, Map<String, List<String>> trigrams) {
+            this.source = source;
+            this.documents = documents;
+            this.terms = terms;
+            this.trigrams = trigrams;
+            this.builtAt = System.currentTimeMillis();
+        }
+
+        private static Index of(Map<String, List<RequestTypeSearchIndex.IndexedRequestType>> source) {
+            List<Document> documents = new ArrayList<>();
+            for (Map.Entry<String, List<RequestTypeSearchIndex.IndexedRequestType>> project : source.entrySet()) {
+                RequestTypeSearchIndex.IndexedRequestType first = project.getValue().get(0);
+                Map<Field, String> portalFields = new EnumMap<>(Field.class);
+                putIfPresent(portalFields, Field.PROJECT_NAME, first.getProjectName());
+                putIfPresent(portalFields, Field.PROJECT_KEY, project.getKey());
+                putIfPresent(portalFields, Field.PROJECT_DESCRIPTION, first.getProjectDescription());
+                documents.add(new Document(project.getKey(), first.getPortalId(), first.isLive(), null,
+                        portalFields, first.getProjectName()));
+
+                for (RequestTypeSearchIndex.IndexedRequestType rt : project.getValue()) {
+                    Map<Field, String> fields = new EnumMap<>(Field.class);
+                    putIfPresent(fields, Field.PROJECT_NAME, rt.getProjectName());
+                    putIfPresent(fields, Field.REQUEST_TYPE_NAME, rt.getRequestType().getName());
+                    putIfPresent(fields, Field.GROUPS, String.join(", ", rt.getGroupNames()));
+                    putIfPresent(fields, Field.REQUEST_TYPE_DESCRIPTION, rt.getRequestType().getDescription());
+                    putIfPresent(fields, Field.PROJECT_CONTEXT, rt.getProjectName() + " " + project.getKey());
+                    documents.add(new Document(project.getKey(), rt.getPortalId(), rt.isLive(), rt.getRequestType(),
+                            fields, rt.getRequestType().getName()));
+                }
+            }
+
+            TreeMap<String, List<Posting>> terms = new TreeMap<>();
+            for (int docId = 0; docId < documents.size(); docId++) {
+                Document doc = documents.get(docId);
+                for (Map.Entry<Field, String> field : doc.fields.entrySet()) {
+                    // A request type's project name is context only; the portal document ranks on it
+                    if (doc.requestType != null && field.getKey() == Field.PROJECT_NAME) {
+                        continue;
+                    }
+                    for (String token : RequestTypeSearchIndex.tokenize(field.getValue())) {
+                        terms.computeIfAbsent(token, t -> new ArrayList<>()).add(new Posting(docId, field.getKey()));
+                    }
+                }
+            }
+            Map<String, List<String>> trigrams = new HashMap<>();
+            for (String term : terms.keySet()) {
+                for (String gram : trigrams(term)) {
+                    trigrams.computeIfAbsent(gram, g -> new ArrayList<>()).add(term);
+                }
+            }
+            return new Index(source, Collections.unmodifiableList(documents), terms, trigrams);
+        }
+
+        private static void putIfPresent(Map<Field, String> fields, Field field, String value) {
+            if (value != null && !value.trim().isEmpty()) {
+                fields.put(field, value);
+            }
+        }
+
+        /**
+         * Best match per document for one query token.
+         */
+        private Map<Integer, TermMatch> match(String queryToken) {
+            Map<Integer, TermMatch> best = new HashMap<>();
+            List<Posting> exact = terms.get(queryToken);
+            if (exact != null) {
+                collect(best, exact, MatchKind.EXACT, 0);
+            }
+            for (List<Posting> postings : terms.subMap(queryToken, false, queryToken + Character.MAX_VALUE, false).values()) {
+                collect(best, postings, MatchKind.PREFIX, 0);
+            }
+
+            // Contains and fuzzy candidates come from the trigram index
+            Set<String> queryGrams = trigrams(queryToken);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String gram : queryGrams) {
+                List<String> gramTerms = trigrams.get(gram);
+                if (gramTerms != null) {
+                    for (String term : gramTerms) {
+                        shared.merge(term, 1, Integer::sum);
+                    }
+                }
+            }
+            // Each edit touches at most three trigrams
+            int minShared = Math.max(1, queryGrams.size() - 3 * maxEdits(queryToken));
+            for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+                String term = candidate.getKey();
+                if (term.startsWith(queryToken)) {
+                    continue; // Already matched as exact or prefix
+                }
+                if (queryToken.length() >= CONTAINS_MIN_TOKEN_LENGTH && term.contains(queryToken)) {
+                    collect(best, terms.get(term), MatchKind.CONTAINS, 0);
+                } else if (candidate.getValue() >= minShared) {
+                    int edits = fuzzyEdits(queryToken, term);
+                    if (edits >= 0) {
+                        collect(best, terms.get(term), MatchKind.FUZZY, edits);
+                    }
+                }
+            }
+            return best;
+        }
+
+        private static void collect(Map<Integer, TermMatch> best, List<Posting> postings, MatchKind kind, int edits) {
+            for (Posting posting : postings) {
+                TermMatch match = new TermMatch(posting.field, kind, edits);
+                TermMatch existing = best.get(posting.docId);
+                if (existing == null || match.score > existing.score) {
+                    best.put(posting.docId, match);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+// /rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/dto/PortalSearchResultDTO.java
+
+package com.samsungbuilder.jsm.dto;
+
+import org.codehaus.jackson.annotate.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One hit of the unified portal / request type search (GET /search).
+ *
+ * Highlights are character ranges ({start, end}, end exclusive) into the returned text fields,
+ * keyed by field name: projectName, projectKey, projectDescription, requestTypeName,
+ * requestTypeDescription, groups (ranges into the comma-separated group names).
+ */
+public class PortalSearchResultDTO {
+
+    public static final String TYPE_PORTAL = "portal";
+    public static final String TYPE_REQUEST_TYPE = "requestType";
+
+    @JsonProperty("type")
+    private String type;
+
+    @JsonProperty("projectKey")
+    private String projectKey;
+
+    @JsonProperty("projectName")
+    private String projectName;
+
+    @JsonProperty("projectDescription")
+    private String projectDescription;
+
+    @JsonProperty("serviceDeskId")
+    private String serviceDeskId;
+
+    @JsonProperty("portalId")
+    private String portalId;
+
+    @JsonProperty("isLive")
+    private boolean live;
+
+    @JsonProperty("requestType")
+    private RequestTypeDTO requestType;
+
+    @JsonProperty("score")
+    private int score;
+
+    @JsonProperty("matchType")
+    private String matchType;
+
+    @JsonProperty("matchedField")
+    private String matchedField;
+
+    @JsonProperty("highlights")
+    private Map<String, List<Map<String, Integer>>> highlights;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getProjectKey() {
+        return projectKey;
+    }
+
+    public void setProjectKey(String projectKey) {
+        this.projectKey = projectKey;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public void setProjectName(String projectName) {
+        this.projectName = projectName;
+    }
+
+    public String getProjectDescription() {
+        return projectDescription;
+    }
+
+    public void setProjectDescription(String projectDescription) {
+        this.projectDescription = projectDescription;
+    }
+
+    public String getServiceDeskId() {
+        return serviceDeskId;
+    }
+
+    public void setServiceDeskId(String serviceDeskId) {
+        this.serviceDeskId = serviceDeskId;
+    }
+
+    public String getPortalId() {
+        return portalId;
+    }
+
+    public void setPortalId(String portalId) {
+        this.portalId = portalId;
+    }
+
+    public boolean isLive() {
+        return live;
+    }
+
+    public void setLive(boolean live) {
+        this.live = live;
+    }
+
+    /**
+     * Null for portal results.
+     */
+    public RequestTypeDTO getRequestType() {
+        return requestType;
+    }
+
+    public void setRequestType(RequestTypeDTO requestType) {
+        this.requestType = requestType;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    /**
+     * Weakest match kind over the query tokens: exact, prefix, contains or fuzzy.
+     */
+    public String getMatchType() {
+        return matchType;
+    }
+
+    public void setMatchType(String matchType) {
+        this.matchType = matchType;
+    }
+
+    public String getMatchedField() {
+        return matchedField;
+    }
+
+    public void setMatchedField(String matchedField) {
+        this.matchedField = matchedField;
+    }
+
+    public Map<String, List<Map<String, Integer>>> getHighlights() {
+        return highlights;
+    }
+
+    public void setHighlights(Map<String, List<Map<String, Integer>>> highlights) {
+        this.highlights = highlights;
+    }
+}
@@ -5,29 +5,37 @@ import com.atlassian.jira.component.ComponentAccessor;
 import com.atlassian.jira.avatar.Avatar;
 import com.atlassian.jira.avatar.AvatarService;
 import com.atlassian.jira.project.Project;
-import com.atlassian.jira.project.ProjectCategory;
 import com.atlassian.jira.project.ProjectManager;
-import com.atlassian.jira.issue.fields.CustomField;
-import com.atlassian.jira.issue.fields.config.FieldConfigScheme;
 import com.atlassian.jira.security.JiraAuthenticationContext;
 import com.atlassian.jira.security.PermissionManager;
 import com.atlassian.jira.user.ApplicationUser;
 import com.atlassian.jira.permission.ProjectPermissions;
 import com.atlassian.jira.bc.user.search.UserSearchService;
-import com.atlassian.jira.security.groups.GroupManager;
 import com.atlassian.jira.bc.user.search.UserSearchParams;
 import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
 import com.atlassian.sal.api.ApplicationProperties;
 import com.samsungbuilder.jsm.dto.PortalConfigDTO;
 import com.samsungbuilder.jsm.dto.PortalHistoryDTO;
+import com.samsungbuilder.jsm.dto.PortalSearchResultDTO;
 import com.samsungbuilder.jsm.dto.ProjectDTO;
 import com.samsungbuilder.jsm.dto.RequestTypeDTO;
 import com.samsungbuilder.jsm.dto.RequestTypesResponseDTO;
 import com.samsungbuilder.jsm.dto.IssueDTO;
 import com.samsungbuilder.jsm.service.ProjectService;
+import com.samsungbuilder.jsm.service.BrowsableProjectCache;
+import com.samsungbuilder.jsm.service.GroupSearchIndex;
+import com.samsungbuilder.jsm.service.VisibilityRuleEvaluator;
 import com.samsungbuilder.jsm.service.PortalConfigService;
+import com.samsungbuilder.jsm.service.ConfigChangeBroadcaster;
+import com.samsungbuilder.jsm.service.PortalConfigCache;
+import com.samsungbuilder.jsm.service.PortalConfigStore;
+import com.samsungbuilder.jsm.service.PortalCatalog;
+import com.samsungbuilder.jsm.service.PortalHistoryStore;
+import com.samsungbuilder.jsm.service.PortalLiveStateRegistry;
 import com.samsungbuilder.jsm.service.PortalRequestTypeService;
+import com.samsungbuilder.jsm.service.PortalSearchIndex;
 import com.samsungbuilder.jsm.service.IssueService;
+import com.samsungbuilder.jsm.service.CustomFieldApplicabilityIndex;
 import com.samsungbuilder.jsm.dto.IssueSearchResponseDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,10 +69,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.samsungbuilder.jsm.service.PortalAssetService;
@@ -85,9 +95,20 @@ public class RailPortalResource {
     private final PortalRequestTypeService requestTypeService;
     private final ProjectService projectService;
     private final PortalConfigService portalConfigService;
+    private final PortalConfigCache portalConfigCache;
+    private final PortalConfigStore portalConfigStore;
+    private final PortalHistoryStore portalHistoryStore;
+    private final PortalLiveStateRegistry liveStateRegistry;
+    private final PortalSearchIndex portalSearchIndex;
+    private final PortalCatalog portalCatalog;
+    private final BrowsableProjectCache browsableProjects;
+    private final GroupSearchIndex groupSearchIndex;
+    private final VisibilityRuleEvaluator visibilityRuleEvaluator;
+    private final ConfigChangeBroadcaster changeBroadcaster;
     private final IssueService issueService;
     private final JiraAuthenticationContext authenticationContext;
     private final PortalAssetService portalAssetService;
+    private final CustomFieldApplicabilityIndex customFieldApplicabilityIndex;
 
     // Echo OAuth / API config (shared/public credentials per requirements)
     private static final String ECHO_TOKEN_URL = "https://auth.smartcloud.samsungaustin.com/realms/user_realm/protocol/openid-connect/token";
@@ -111,14 +132,36 @@ public class RailPortalResource {
             PortalRequestTypeService requestTypeService,
             ProjectService projectService,
             PortalConfigService portalConfigService,
+            PortalConfigCache portalConfigCache,
+            PortalConfigStore portalConfigStore,
+            PortalHistoryStore portalHistoryStore,
+            PortalLiveStateRegistry liveStateRegistry,
+            PortalSearchIndex portalSearchIndex,
+            PortalCatalog portalCatalog,
+            BrowsableProjectCache browsableProjects,
+            GroupSearchIndex groupSearchIndex,
+            VisibilityRuleEvaluator visibilityRuleEvaluator,
+            ConfigChangeBroadcaster changeBroadcaster,
             IssueService issueService,
             PortalAssetService portalAssetService,
+            CustomFieldApplicabilityIndex customFieldApplicabilityIndex,
             @ComponentImport JiraAuthenticationContext authenticationContext) {
         this.requestTypeService = requestTypeService;
         this.projectService = projectService;
         this.portalConfigService = portalConfigService;
+        this.portalConfigCache = portalConfigCache;
+        this.portalConfigStore = portalConfigStore;
+        this.portalHistoryStore = portalHistoryStore;
+        this.liveStateRegistry = liveStateRegistry;
+        this.portalSearchIndex = portalSearchIndex;
+        this.portalCatalog = portalCatalog;
+        this.browsableProjects = browsableProjects;
+        this.groupSearchIndex = groupSearchIndex;
+        this.visibilityRuleEvaluator = visibilityRuleEvaluator;
+        this.changeBroadcaster = changeBroadcaster;
         this.issueService = issueService;
         this.portalAssetService = portalAssetService;
+        this.customFieldApplicabilityIndex = customFieldApplicabilityIndex;
         this.authenticationContext = authenticationContext;
     }
 
@@ -151,6 +194,51 @@ public class RailPortalResource {
         return Response.ok(payload).build();
     }
 
+    /**
+     * Unified landing page search over portals and request types
+     * GET /rest/rail/1.0/search?q=term&limit=20
+     *
+     * Typo-tolerant, ranked server-side, filtered to projects the user can browse and returned
+     * with highlight ranges, so the client does not need the whole portal/request type catalog.
+     */
+    @GET
+    @Path("search")
+    public Response searchPortals(
+            @QueryParam("q") String searchTerm,
+            @QueryParam("limit") @DefaultValue("20") int limit) {
+        log.debug("GET /search?q={}&limit={}", searchTerm, limit);
+
+        ApplicationUser currentUser = authenticationContext.getLoggedInUser();
+        if (currentUser == null) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity(createErrorResponse("Authentication required"))
+                    .build();
+        }
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(createErrorResponse("Search term is required"))
+                    .build();
+        }
+
+        try {
+            int maxResults = Math.min(Math.max(limit, 1), 50); // Clamp between 1 and 50
+            List<PortalSearchResultDTO> results = portalSearchIndex.search(searchTerm, maxResults, currentUser);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("results", results);
+            response.put("count", results.size());
+            response.put("searchTerm", searchTerm);
+
+            return Response.ok(response).build();
+
+        } catch (Exception e) {
+            log.error("Error performing portal search", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse("Error searching portals: " + e.getMessage()))
+                    .build();
+        }
+    }
+
     /**
      * Get all portal configurations for projects user can access
      * GET /rest/rail/1.0/portals
@@ -166,94 +254,51 @@ public class RailPortalResource {
                         .build();
             }
 
-            com.atlassian.jira.project.ProjectManager projectManager = ComponentAccessor.getProjectManager();
-            com.atlassian.jira.security.PermissionManager permissionManager = ComponentAccessor.getPermissionManager();
-
-            if (projectManager == null || permissionManager == null) {
-                return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                        .entity(createErrorResponse("Required services not available"))
-                        .build();
-            }
+            // One (cached) permission resolution for the user, intersected with the precomputed catalog
+            Set<String> browsableKeys = browsableProjects.getBrowsableProjectKeys(currentUser);
 
             List<Map<String, Object>> portals = new ArrayList<>();
-            List<com.atlassian.jira.project.Project> allProjects = projectManager.getProjectObjects();
-
-            for (com.atlassian.jira.project.Project project : allProjects) {
-                // Only include projects user can browse
-                if (permissionManager.hasPermission(
-                        com.atlassian.jira.permission.ProjectPermissions.BROWSE_PROJECTS,
-                        project,
-                        currentUser)) {
-
-                    Optional<PortalConfigDTO> config = portalConfigService.getPortalConfig(
-                        project.getKey()
-                    );
-
-                    Map<String, Object> portalInfo = new HashMap<>();
-                    // Project basic info
-                    portalInfo.put("projectKey", project.getKey());
-                    portalInfo.put("projectName", project.getName());
-                    portalInfo.put("portalId", project.getKey().toLowerCase(Locale.ENGLISH) + "-portal");
-                    portalInfo.put("isLive", config.map(PortalConfigDTO::isLive).orElse(false));
-                    portalInfo.put("hasConfig", config.isPresent());
-
-                    // JSM portal ID for OOTB portal navigation
-                    // This is the numeric portal ID used in /plugins/servlet/desk/portal/{id}/
-                    // We need this for ALL portals, especially non-live ones that should navigate to OOTB portal
-                    String serviceDeskId = null;
-                    if (config.isPresent() && config.get().getServiceDeskId() != null) {
-                        serviceDeskId = config.get().getServiceDeskId();
-                    } else {
-                        // For portals without config, try to resolve service desk ID directly
-                        try {
-                            com.atlassian.servicedesk.api.ServiceDeskManager sdManager =
-                                ComponentAccessor.getOSGiComponentInstanceOfType(
-                                    com.atlassian.servicedesk.api.ServiceDeskManager.class
-                                );
-                            if (sdManager != null) {
-                                com.atlassian.servicedesk.api.ServiceDesk serviceDesk =
-                                    sdManager.getServiceDeskForProject(project);
-                                if (serviceDesk != null) {
-                                    serviceDeskId = String.valueOf(serviceDesk.getId());
-                                }
-                            }
-                        } catch (Exception e) {
-                            log.debug("Could not resolve service desk ID for project {}", project.getKey(), e);
-                        }
-                    }
-                    if (serviceDeskId != null) {
-                        portalInfo.put("jsmPortalId", serviceDeskId);
-                    }
+            for (PortalCatalog.Entry entry : portalCatalog.getEntries()) {
+                if (!browsableKeys.contains(entry.getProjectKey())) {
+                    continue;
+                }
 
-                    // Optional: project category information for grouping in navigation UI
-                    ProjectCategory category = project.getProjectCategory();
-                    if (category != null) {
-                        if (category.getId() != null) {
-                            portalInfo.put("categoryId", category.getId().toString());
-                        }
-                        portalInfo.put("categoryName", category.getName());
-                    }
+                // Header-only: the list never needs the page-builder components
+                PortalLiveStateRegistry.LiveState state = liveStateRegistry.getState(entry.getProjectKey());
+                boolean hasConfig = state != null && state.isConfigured();
+
+                Map<String, Object> portalInfo = new HashMap<>();
+                // Project basic info
+                portalInfo.put("projectKey", entry.getProjectKey());
+                portalInfo.put("projectName", entry.getProjectName());
+                portalInfo.put("portalId", entry.getProjectKey().toLowerCase(Locale.ENGLISH) + "-portal");
+                portalInfo.put("isLive", hasConfig && state.isLive());
+                portalInfo.put("hasConfig", hasConfig);
+
+                // JSM portal ID for OOTB portal navigation
+                // This is the numeric portal ID used in /plugins/servlet/desk/portal/{id}/
+                // We need this for ALL portals, especially non-live ones that should navigate to OOTB portal
+                String serviceDeskId = hasConfig && state.getServiceDeskId() != null
+                        ? state.getServiceDeskId()
+                        : entry.getJsmPortalId();
+                if (serviceDeskId != null) {
+                    portalInfo.put("jsmPortalId", serviceDeskId);
+                }
 
-                    // Optional: project avatar URL for visual cues in navigation
-                    try {
-                        AvatarService avatarService = ComponentAccessor.getComponent(AvatarService.class);
-                        Avatar avatar = project.getAvatar();
-                        if (avatarService != null && avatar != null && avatar.getId() != null) {
-                            URI avatarUri = avatarService.getAvatarURL(
-                                    null,
-                                    avatar.getId().toString(),
-                                    Avatar.Size.SMALL
-                            );
-                            if (avatarUri != null) {
-                                portalInfo.put("projectAvatarUrl", avatarUri.toString());
-                            }
-                        }
-                    } catch (Exception avatarEx) {
-                        log.debug("Could not resolve avatar for project {}", project.getKey(), avatarEx);
-                    }
+                // Optional: project category information for grouping in navigation UI
+                if (entry.getCategoryId() != null) {
+                    portalInfo.put("categoryId", entry.getCategoryId());
+                }
+                if (entry.getCategoryName() != null) {
+                    portalInfo.put("categoryName", entry.getCategoryName());
+                }
 
-                    portals.add(portalInfo);
+                // Optional: project avatar URL for visual cues in navigation
+                if (entry.getAvatarUrl() != null) {
+                    portalInfo.put("projectAvatarUrl", entry.getAvatarUrl());
                 }
+
+                portals.add(portalInfo);
             }
 
             Map<String, Object> response = new HashMap<>();
@@ -385,13 +430,17 @@ public class RailPortalResource {
 
     /**
      * Search for groups by query string
-     * GET /rest/rail/1.0/groups/search?query={query}&limit={limit}
+     * GET /rest/rail/1.0/groups/search?query={query}&limit={limit}&includeCounts={true|false}
+     *
+     * Served from the in-memory group name index. Member counts come from a cached count table;
+     * pickers that do not show them should pass includeCounts=false.
      */
     @GET
     @Path("groups/search")
     public Response searchGroups(
             @QueryParam("query") String query,
-            @QueryParam("limit") @DefaultValue("20") int limit) {
+            @QueryParam("limit") @DefaultValue("20") int limit,
+            @QueryParam("includeCounts") @DefaultValue("true") boolean includeCounts) {
 
         try {
             ApplicationUser currentUser = authenticationContext.getLoggedInUser();
@@ -406,34 +455,17 @@ public class RailPortalResource {
             }
 
             int maxLimit = Math.min(limit, 100);
-            GroupManager groupManager = ComponentAccessor.getGroupManager();
-            java.util.Collection<com.atlassian.crowd.embedded.api.Group> allGroups = groupManager.getAllGroups();
-
-            String queryLower = query.trim().toLowerCase();
             List<Map<String, Object>> groupList = new ArrayList<>();
 
-            for (com.atlassian.crowd.embedded.api.Group group : allGroups) {
-                if (group.getName().toLowerCase().contains(queryLower)) {
-                    Map<String, Object> groupData = new HashMap<>();
-                    groupData.put("name", group.getName());
-
-                    try {
-                        java.util.Collection<ApplicationUser> members = groupManager.getUsersInGroup(group);
-                        groupData.put("memberCount", members != null ? members.size() : 0);
-                    } catch (Exception e) {
-                        groupData.put("memberCount", 0);
-                    }
-
-                    groupList.add(groupData);
-
-                    if (groupList.size() >= maxLimit) break;
+            for (String groupName : groupSearchIndex.search(query, maxLimit)) {
+                Map<String, Object> groupData = new HashMap<>();
+                groupData.put("name", groupName);
+                if (includeCounts) {
+                    groupData.put("memberCount", Math.max(groupSearchIndex.getMemberCount(groupName), 0));
                 }
+                groupList.add(groupData);
             }
 
-            groupList.sort((g1, g2) ->
-                ((String) g1.get("name")).compareToIgnoreCase((String) g2.get("name"))
-            );
-
             return Response.ok(Map.of("groups", groupList, "count", groupList.size())).build();
 
         } catch (Exception e) {
@@ -462,7 +494,7 @@ public class RailPortalResource {
 
         try {
             Map<String, Object> response = new HashMap<>();
-            Optional<PortalConfigDTO> config = portalConfigService.getPortalConfig(projectKey);
+            Optional<PortalConfigDTO> config = portalConfigCache.getPortalConfig(projectKey);
 
             if (config.isPresent()) {
                 PortalConfigDTO dto = config.get();
@@ -491,7 +523,7 @@ public class RailPortalResource {
                 log.info("  Found config with {} components, converted to Map", dto.getComponents() != null ? dto.getComponents().size() : 0);
             } else {
                 PortalConfigDTO sample = buildSamplePortalConfig(projectKey, null);
-                portalConfigService.savePortalConfig(projectKey, sample);
+                portalConfigCache.savePortalConfig(projectKey, sample);
 
                 // Convert sample to Map too
                 Map<String, Object> configMap = new HashMap<>();
@@ -543,7 +575,7 @@ public class RailPortalResource {
         }
 
         try {
-            PortalConfigDTO saved = portalConfigService.savePortalConfig(projectKey, config);
+            PortalConfigDTO saved = portalConfigCache.savePortalConfig(projectKey, config);
 
             // FIX: Manually convert DTO to Map to bypass Jackson serialization issues
             Map<String, Object> configMap = new HashMap<>();
@@ -597,7 +629,7 @@ public class RailPortalResource {
     public Response getPortalConfigForProject(@PathParam("projectKey") String projectKey) {
         log.info("GET /portals/project/{} - Fetching portal configuration", projectKey);
 
-        Optional<PortalConfigDTO> config = portalConfigService.getPortalConfig(projectKey);
+        Optional<PortalConfigDTO> config = portalConfigCache.getPortalConfig(projectKey);
 
         if (config.isPresent()) {
             PortalConfigDTO dto = config.get();
@@ -621,7 +653,7 @@ public class RailPortalResource {
 
         log.info("  No config found - creating sample config");
         PortalConfigDTO sample = buildSamplePortalConfig(projectKey, null);
-        portalConfigService.savePortalConfig(projectKey, sample);
+        portalConfigCache.savePortalConfig(projectKey, sample);
         log.info("  Sample config created and saved with {} components", sample.getComponents().size());
 
         // FIX: Convert sample to Map as well
@@ -648,7 +680,8 @@ public class RailPortalResource {
         diagnostic.put("timestamp", System.currentTimeMillis());
 
         try {
-            Optional<PortalConfigDTO> config = portalConfigService.getPortalConfig(projectKey);
+            // Straight from storage, bypassing PortalConfigCache
+            Optional<PortalConfigDTO> config = portalConfigStore.getPortalConfig(projectKey);
 
             if (config.isPresent()) {
                 PortalConfigDTO dto = config.get();
@@ -720,7 +753,8 @@ public class RailPortalResource {
         }
 
         try {
-            PortalConfigDTO updated = portalConfigService.updateLiveState(projectKey, live);
+            PortalConfigDTO updated = portalConfigCache.updateLiveState(projectKey, live);
+            requestTypeService.onPortalConfigChanged(projectKey);
             // FIX: Convert to Map to bypass Jackson serialization issues
             return Response.ok(convertDtoToMap(updated)).build();
         } catch (IllegalArgumentException ex) {
@@ -738,7 +772,30 @@ public class RailPortalResource {
     }
 
     private Response getPortalConfigByIdInternal(String portalId) {
-        Optional<PortalConfigDTO> config = portalConfigService.getPortalConfigByPortalId(portalId);
+        Optional<PortalConfigDTO> config;
+        String trimmedId = portalId != null ? portalId.trim() : "";
+        if (trimmedId.toLowerCase(Locale.ENGLISH).endsWith("-portal")) {
+            // "{projectkey}-portal" ids map straight to the project key
+            config = portalConfigCache.getPortalConfig(trimmedId.substring(0, trimmedId.length() - "-portal".length()));
+        } else {
+            // Other id formats: portal/service desk id of a stored header, then the catalog's service
+            // desk ids, then legacy blobs of projects not migrated yet
+            List<String> projectKeys = portalCatalog.getEntries().stream()
+                    .map(PortalCatalog.Entry::getProjectKey)
+                    .collect(Collectors.toList());
+            Optional<String> projectKey = portalConfigStore.findProjectKeyByPortalId(projectKeys, trimmedId);
+            if (!projectKey.isPresent()) {
+                projectKey = portalCatalog.getEntries().stream()
+                        .filter(entry -> trimmedId.equals(entry.getJsmPortalId()))
+                        .map(PortalCatalog.Entry::getProjectKey)
+                        .findFirst();
+            }
+            if (!projectKey.isPresent()) {
+                projectKey = portalConfigService.getPortalConfigByPortalId(portalId)
+                        .map(PortalConfigDTO::getProjectKey);
+            }
+            config = projectKey.flatMap(portalConfigCache::getPortalConfig);
+        }
         if (config.isPresent()) {
             PortalConfigDTO dto = config.get();
             // FIX: Convert to Map to bypass Jackson serialization issues
@@ -747,7 +804,7 @@ public class RailPortalResource {
 
         PortalConfigDTO sample = buildSamplePortalConfig(null, portalId);
         if (sample.getProjectKey() != null) {
-            portalConfigService.savePortalConfig(sample.getProjectKey(), sample);
+            portalConfigCache.savePortalConfig(sample.getProjectKey(), sample);
         }
         // FIX: Convert to Map to bypass Jackson serialization issues
         return Response.ok(convertDtoToMap(sample)).build();
@@ -771,7 +828,7 @@ public class RailPortalResource {
             log.info("POST /portals/project/{} - Saving portal config", projectKey);
             log.info("  Received components count: {}", config.getComponents() != null ? config.getComponents().size() : 0);
 
-            PortalConfigDTO saved = portalConfigService.savePortalConfig(projectKey, config);
+            PortalConfigDTO saved = portalConfigCache.savePortalConfig(projectKey, config);
 
             log.info("  Saved successfully - components count: {}", saved.getComponents() != null ? saved.getComponents().size() : 0);
             log.info("  Returning saved config with projectKey: {}, portalId: {}", saved.getProjectKey(), saved.getPortalId());
@@ -923,7 +980,7 @@ public class RailPortalResource {
         }
 
         try {
-            Optional<PortalHistoryDTO> history = portalConfigService.getPortalHistory(projectKey);
+            Optional<PortalHistoryDTO> history = portalHistoryStore.getPortalHistory(projectKey);
             if (history.isPresent()) {
                 return Response.ok(history.get()).build();
             }
@@ -942,6 +999,63 @@ public class RailPortalResource {
         }
     }
 
+    /**
+     * Page through stored history versions (newest first) without rebuilding them
+     * GET /rest/rail/1.0/portals/project/{projectKey}/history/versions?offset=0&limit=20
+     */
+    @GET
+    @Path("portals/project/{projectKey}/history/versions")
+    public Response listPortalHistoryVersions(
+            @PathParam("projectKey") String projectKey,
+            @QueryParam("offset") @DefaultValue("0") int offset,
+            @QueryParam("limit") @DefaultValue("20") int limit) {
+
+        Response denial = enforceProjectAdmin(projectKey);
+        if (denial != null) {
+            return denial;
+        }
+
+        try {
+            return Response.ok(portalHistoryStore.listVersions(projectKey, offset, limit)).build();
+        } catch (Exception ex) {
+            log.error("Error listing portal history versions for project: " + projectKey, ex);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse("Error listing portal history: " + ex.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Rebuild a single history version
+     * GET /rest/rail/1.0/portals/project/{projectKey}/history/versions/{seq}
+     */
+    @GET
+    @Path("portals/project/{projectKey}/history/versions/{seq}")
+    public Response getPortalHistoryVersion(
+            @PathParam("projectKey") String projectKey,
+            @PathParam("seq") int seq) {
+
+        Response denial = enforceProjectAdmin(projectKey);
+        if (denial != null) {
+            return denial;
+        }
+
+        try {
+            Optional<Object> version = portalHistoryStore.getVersion(projectKey, seq);
+            if (!version.isPresent()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(createErrorResponse("History version " + seq + " not found"))
+                        .build();
+            }
+            return Response.ok(version.get()).build();
+        } catch (Exception ex) {
+            log.error("Error fetching portal history version " + seq + " for project: " + projectKey, ex);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse("Error fetching portal history: " + ex.getMessage()))
+                    .build();
+        }
+    }
+
     /**
      * Save portal history for a project
      * POST /rest/rail/1.0/portals/project/{projectKey}/history
@@ -961,7 +1075,8 @@ public class RailPortalResource {
         }
 
         try {
-            portalConfigService.savePortalHistory(projectKey, history);
+            portalHistoryStore.savePortalHistory(projectKey, history);
+            changeBroadcaster.publish(ConfigChangeBroadcaster.Scope.PORTAL_HISTORY, projectKey);
             // Frontend only cares about success/failure, not the payload
             // Use 204 No Content to avoid serializing PortalHistoryDTO
             return Response.noContent().build();
@@ -990,7 +1105,8 @@ public class RailPortalResource {
         }
 
         try {
-            portalConfigService.deletePortalHistory(projectKey);
+            portalHistoryStore.deletePortalHistory(projectKey);
+            changeBroadcaster.publish(ConfigChangeBroadcaster.Scope.PORTAL_HISTORY, projectKey);
             return Response.noContent().build();
         } catch (Exception ex) {
             log.error("Error deleting portal history for project: " + projectKey, ex);
@@ -13,7 +13,8 @@
         }
 
         try {
-            portalConfigService.deletePortalConfig(projectKey);
+            portalConfigCache.deletePortalConfig(projectKey);
+            requestTypeService.onPortalConfigChanged(projectKey);
             log.info("Successfully deleted portal config for project: {}", projectKey);
             return Response.noContent().build();
         } catch (Exception ex) {
@@ -37,7 +38,7 @@
         }
 
         try {
-            Optional<PortalConfigDTO> config = portalConfigService.getPortalConfig(projectKey);
+            Optional<PortalConfigDTO> config = portalConfigStore.getPortalConfig(projectKey);
 
             Map<String, Object> diagnostic = new HashMap<>();
             diagnostic.put("projectKey", projectKey);
@@ -346,8 +347,7 @@
             }
 
             // Check if user can see the project
-            var permissionManager = ComponentAccessor.getPermissionManager();
-            if (!permissionManager.hasPermission(com.atlassian.jira.security.Permissions.BROWSE, project, currentUser)) {
+            if (!browsableProjects.canBrowse(currentUser, project)) {
                 return Response.status(Response.Status.FORBIDDEN)
                         .entity(createErrorResponse("Access denied to project: " + projectKey))
                         .build();
@@ -416,8 +416,7 @@
             }
 
             // Check if user can see the project
-            var permissionManager = ComponentAccessor.getPermissionManager();
-            if (!permissionManager.hasPermission(com.atlassian.jira.security.Permissions.BROWSE, project, currentUser)) {
+            if (!browsableProjects.canBrowse(currentUser, project)) {
                 return Response.status(Response.Status.FORBIDDEN)
                         .entity(createErrorResponse("Access denied to project: " + projectKey))
                         .build();
@@ -441,30 +440,13 @@
             systemFields.add(createFieldInfo("fixVersions", "Fix Versions", "system", false));
             systemFields.add(createFieldInfo("affectedVersions", "Affected Versions", "system", false));
 
-            // Get custom fields for the project
+            // Get custom fields for the project (served from the prebuilt applicability index)
             List<Map<String, Object>> customFields = new ArrayList<>();
             try {
-                var customFieldManager = ComponentAccessor.getCustomFieldManager();
-                if (customFieldManager != null) {
-                    var allCustomFields = customFieldManager.getCustomFieldObjects();
-                    for (var cf : allCustomFields) {
-
-                        // Determine applicability by inspecting ALL field config schemes (contexts)
-                        // A global context is represented by an empty associated-project list on a scheme.
-                        boolean isForProject = isCustomFieldApplicableToProject(cf, project);
-
-                        if (isForProject) {
-                            String cfId = cf.getId(); // e.g., "customfield_10001"
-                            String cfName = cf.getName();
-                            String cfType = cf.getCustomFieldType() != null
-                                    ? cf.getCustomFieldType().getName()
-                                    : "unknown";
-
-                            Map<String, Object> fieldInfo = createFieldInfo(cfId, cfName, "custom", true);
-                            fieldInfo.put("customFieldType", cfType);
-                            customFields.add(fieldInfo);
-                        }
-                    }
+                for (CustomFieldApplicabilityIndex.FieldEntry cf : customFieldApplicabilityIndex.getApplicableFields(project)) {
+                    Map<String, Object> fieldInfo = createFieldInfo(cf.getId(), cf.getName(), "custom", true);
+                    fieldInfo.put("customFieldType", cf.getTypeName());
+                    customFields.add(fieldInfo);
                 }
             } catch (Exception e) {
                 log.warn("Error fetching custom fields for project {}: {}", projectKey, e.getMessage());
@@ -488,42 +470,41 @@
     }
 
     /**
-     * Helper: context-aware custom field applicability for a project.
-     *
-     * Why this exists:
-     * - cf.getAssociatedProjectObjects() can be misleading when a field has multiple contexts
-     *   (e.g., one global + one or more project-scoped contexts).
-     * - This method returns true if ANY scheme is global OR explicitly includes the project.
+     * Diagnostic: custom field contexts (schemes) per field and which ones apply to the project
+     * GET /rest/rail/1.0/diagnostic/projects/{projectKey}/fields
      */
-    private boolean isCustomFieldApplicableToProject(CustomField cf, Project project) {
-        try {
-            @SuppressWarnings("unchecked")
-            List<FieldConfigScheme> schemes = (List<FieldConfigScheme>) cf.getConfigurationSchemes();
-
-            if (schemes == null || schemes.isEmpty()) {
-                return false;
-            }
-
-            for (FieldConfigScheme scheme : schemes) {
-                List<Project> associated = scheme.getAssociatedProjectObjects();
+    @GET
+    @Path("diagnostic/projects/{projectKey}/fields")
+    public Response getDiagnosticProjectFields(@PathParam("projectKey") String projectKey) {
+        Response denial = enforceProjectAdmin(projectKey);
+        if (denial != null) {
+            return denial;
+        }
 
-                // Global context: applies to ALL projects
-                if (associated == null || associated.isEmpty()) {
-                    return true;
-                }
+        try {
+            Project project = ComponentAccessor.getProjectManager().getProjectObjByKey(projectKey);
 
-                // Project-scoped context
-                for (Project p : associated) {
-                    if (p != null && p.getId() != null && p.getId().equals(project.getId())) {
-                        return true;
-                    }
-                }
+            List<Map<String, Object>> fields = new ArrayList<>();
+            for (CustomFieldApplicabilityIndex.FieldEntry cf : customFieldApplicabilityIndex.getApplicableFields(project)) {
+                Map<String, Object> field = new HashMap<>();
+                field.put("id", cf.getId());
+                field.put("name", cf.getName());
+                field.put("customFieldType", cf.getTypeName());
+                field.put("global", cf.isGlobal());
+                field.put("schemes", cf.getSchemes());
+                fields.add(field);
             }
 
-            return false;
+            Map<String, Object> diagnostic = new HashMap<>();
+            diagnostic.put("projectKey", projectKey);
+            diagnostic.put("index", customFieldApplicabilityIndex.getStats());
+            diagnostic.put("applicableFields", fields);
+            return Response.ok(diagnostic).build();
         } catch (Exception e) {
-            log.warn("Failed to evaluate context schemes for custom field {}: {}", cf.getId(), e.getMessage());
-            return false;
+            log.error("Error in field diagnostic endpoint for project: {}", projectKey, e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse("Diagnostic failed: " + e.getMessage()))
+                    .build();
         }
     }
 
@@ -567,65 +548,9 @@
                         .build();
             }
 
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> conditions = (List<Map<String, Object>>) requestBody.get("conditions");
-            String logic = (String) requestBody.getOrDefault("logic", "AND");
-            String mode = (String) requestBody.getOrDefault("mode", "show");
             String projectKey = (String) requestBody.get("projectKey");
-
-            if (conditions == null || conditions.isEmpty()) {
-                Map<String, Object> response = new HashMap<>();
-                response.put("visible", true);
-                response.put("matchedConditions", 0);
-                response.put("totalConditions", 0);
-                return Response.ok(response).build();
-            }
-
-            int matchedCount = 0;
-            int totalCount = conditions.size();
-
-            for (Map<String, Object> condition : conditions) {
-                String type = (String) condition.get("type");
-                String operator = (String) condition.get("operator");
-                Object value = condition.get("value");
-
-                boolean conditionMatches = evaluateCondition(currentUser, type, operator, value, projectKey);
-
-                if (conditionMatches) {
-                    matchedCount++;
-                }
-
-                // Short-circuit evaluation
-                if ("AND".equalsIgnoreCase(logic) && !conditionMatches) {
-                    break; // One failure in AND means overall failure
-                }
-                if ("OR".equalsIgnoreCase(logic) && conditionMatches) {
-                    break; // One success in OR means overall success
-                }
-            }
-
-            // Determine if conditions are met
-            boolean conditionsMet;
-            if ("AND".equalsIgnoreCase(logic)) {
-                conditionsMet = matchedCount == totalCount;
-            } else {
-                conditionsMet = matchedCount > 0;
-            }
-
-            // Apply mode (show vs hide)
-            boolean visible;
-            if ("show".equalsIgnoreCase(mode)) {
-                visible = conditionsMet;
-            } else { // hide mode
-                visible = !conditionsMet;
-            }
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("visible", visible);
-            response.put("matchedConditions", matchedCount);
-            response.put("totalConditions", totalCount);
-            response.put("logic", logic);
-            response.put("mode", mode);
+            Map<String, Object> response = visibilityRuleEvaluator.evaluate(
+                    requestBody, projectKey, visibilityRuleEvaluator.newContext(currentUser));
 
             return Response.ok(response).build();
 
@@ -638,211 +563,72 @@
     }
 
     /**
-     * Helper method to evaluate a single visibility condition
+     * Evaluate the visibility rules of every conditional component on a page in one call
+     * POST /rest/rail/1.0/visibility/evaluate-batch
+     *
+     * Request body:
+     * {
+     *   "projectKey": "DEMO",
+     *   "rules": {
+     *     "component-1": {"conditions": [...], "logic": "AND", "mode": "show"},
+     *     "component-2": {"conditions": [...], "logic": "OR", "mode": "hide", "projectKey": "OTHER"}
+     *   }
+     * }
+     *
+     * Response: {"results": {"component-1": {"visible": true, ...}, ...}, "count": 2}
+     * Groups and roles are resolved once for the whole batch; identical rule sets share one
+     * compiled predicate.
      */
-    private boolean evaluateCondition(ApplicationUser user, String type, String operator, Object value, String projectKey) {
-        try {
-            switch (type.toLowerCase()) {
-                case "user":
-                    return evaluateUserCondition(user, operator, value);
-
-                case "group":
-                    return evaluateGroupCondition(user, operator, value);
-
-                case "role":
-                    return evaluateRoleCondition(user, operator, value, projectKey);
-
-                default:
-                    log.warn("Unknown condition type: {}", type);
-                    return false;
-            }
-        } catch (Exception e) {
-            log.error("Error evaluating condition: type={}, operator={}", type, operator, e);
-            return false;
-        }
-    }
-
-    private boolean evaluateUserCondition(ApplicationUser user, String operator, Object value) {
-        String username = user.getUsername();
+    @POST
+    @Path("visibility/evaluate-batch")
+    public Response evaluateVisibilityBatch(Map<String, Object> requestBody) {
+        log.debug("POST /visibility/evaluate-batch");
 
-        // Handle "is" operator - can be String or List containing single username
-        if ("is".equalsIgnoreCase(operator)) {
-            if (value instanceof String) {
-                return username.equals(value);
-            } else if (value instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<String> usernames = (List<String>) value;
-                // For "is", typically single value but handle list scenario
-                return usernames.size() == 1 && username.equals(usernames.get(0));
-            }
-            return false;
-        }
-        // Handle "is-not" operator - opposite of "is"
-        else if ("is-not".equalsIgnoreCase(operator)) {
-            if (value instanceof String) {
-                return !username.equals(value);
-            } else if (value instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<String> usernames = (List<String>) value;
-                // For "is-not", user must not match the single username
-                return usernames.size() == 1 && !username.equals(usernames.get(0));
+        try {
+            ApplicationUser currentUser = authenticationContext.getLoggedInUser();
+            if (currentUser == null) {
+                return Response.status(Response.Status.UNAUTHORIZED)
+                        .entity(createErrorResponse("User not authenticated"))
+                        .build();
             }
-            return true; // If no value, consider it as "is-not" match
-        }
-        // Handle "in" operator - username is in the list
-        else if ("in".equalsIgnoreCase(operator) && value instanceof List) {
-            @SuppressWarnings("unchecked")
-            List<String> usernames = (List<String>) value;
-            return usernames.contains(username);
-        }
-        // Handle "not-in" operator - username is not in the list
-        else if ("not-in".equalsIgnoreCase(operator) && value instanceof List) {
-            @SuppressWarnings("unchecked")
-            List<String> usernames = (List<String>) value;
-            return !usernames.contains(username);
-        }
-
-        return false;
-    }
 
-    private boolean evaluateGroupCondition(ApplicationUser user, String operator, Object value) {
-        var groupManager = ComponentAccessor.getGroupManager();
-
-        // Handle "is" operator - user is in exactly one group (for single-select UI)
-        if ("is".equalsIgnoreCase(operator)) {
-            if (value instanceof String) {
-                var group = groupManager.getGroup((String) value);
-                return group != null && groupManager.isUserInGroup(user, group);
-            } else if (value instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<String> groupNames = (List<String>) value;
-                // For "is" with list, typically single group but handle list scenario
-                if (groupNames.size() == 1) {
-                    var group = groupManager.getGroup(groupNames.get(0));
-                    return group != null && groupManager.isUserInGroup(user, group);
-                }
-                return false;
-            }
-            return false;
-        }
-        // Handle "is-not" operator - opposite of "is"
-        else if ("is-not".equalsIgnoreCase(operator)) {
-            if (value instanceof String) {
-                var group = groupManager.getGroup((String) value);
-                return group == null || !groupManager.isUserInGroup(user, group);
-            } else if (value instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<String> groupNames = (List<String>) value;
-                // For "is-not" with list, user must not be in the single group
-                if (groupNames.size() == 1) {
-                    var group = groupManager.getGroup(groupNames.get(0));
-                    return group == null || !groupManager.isUserInGroup(user, group);
-                }
-                return true;
+            Object rawRules = requestBody != null ? requestBody.get("rules") : null;
+            if (!(rawRules instanceof Map)) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(createErrorResponse("rules must be an object keyed by component id"))
+                        .build();
             }
-            return true;
-        }
-        // Handle "in" operator - user is in any of the groups (multi-select)
-        else if ("in".equalsIgnoreCase(operator) && value instanceof List) {
-            @SuppressWarnings("unchecked")
-            List<String> groupNames = (List<String>) value;
 
-            for (String groupName : groupNames) {
-                var group = groupManager.getGroup(groupName);
-                if (group != null && groupManager.isUserInGroup(user, group)) {
-                    return true;
-                }
-            }
-            return false;
-        }
-        // Handle "in" operator with single string value
-        else if ("in".equalsIgnoreCase(operator) && value instanceof String) {
-            var group = groupManager.getGroup((String) value);
-            return group != null && groupManager.isUserInGroup(user, group);
-        }
-        // Handle "not-in" operator - user is not in any of the groups (multi-select)
-        else if ("not-in".equalsIgnoreCase(operator) && value instanceof List) {
             @SuppressWarnings("unchecked")
-            List<String> groupNames = (List<String>) value;
-
-            for (String groupName : groupNames) {
-                var group = groupManager.getGroup(groupName);
-                if (group != null && groupManager.isUserInGroup(user, group)) {
-                    return false;
+            Map<String, Object> rules = (Map<String, Object>) rawRules;
+            String defaultProjectKey = (String) requestBody.get("projectKey");
+            VisibilityRuleEvaluator.UserContext context = visibilityRuleEvaluator.newContext(currentUser);
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> rule : rules.entrySet()) {
+                if (!(rule.getValue() instanceof Map)) {
+                    continue;
                 }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> ruleSet = (Map<String, Object>) rule.getValue();
+                String projectKey = ruleSet.get("projectKey") instanceof String
+                        ? (String) ruleSet.get("projectKey")
+                        : defaultProjectKey;
+                results.put(rule.getKey(), visibilityRuleEvaluator.evaluate(ruleSet, projectKey, context));
             }
-            return true;
-        }
-        // Handle "not-in" operator with single string value
-        else if ("not-in".equalsIgnoreCase(operator) && value instanceof String) {
-            var group = groupManager.getGroup((String) value);
-            return group == null || !groupManager.isUserInGroup(user, group);
-        }
-
-        return false;
-    }
-
-    private boolean evaluateRoleCondition(ApplicationUser user, String operator, Object value, String projectKey) {
-        if (projectKey == null || projectKey.trim().isEmpty()) {
-            log.warn("Project key required for role condition evaluation");
-            return false;
-        }
-
-        var projectManager = ComponentAccessor.getProjectManager();
-        var project = projectManager.getProjectObjByKey(projectKey);
-        if (project == null) {
-            log.warn("Project not found: {}", projectKey);
-            return false;
-        }
-
-        var projectRoleManager = ComponentAccessor.getComponent(com.atlassian.jira.security.roles.ProjectRoleManager.class);
 
-        if ("in".equalsIgnoreCase(operator) && value instanceof List) {
-            @SuppressWarnings("unchecked")
-            List<String> roleNames = (List<String>) value;
-
-            for (String roleName : roleNames) {
-                var role = projectRoleManager.getProjectRole(roleName);
-                if (role != null) {
-                    var roleActors = projectRoleManager.getProjectRoleActors(role, project);
-                    if (roleActors != null && roleActors.getUsers().contains(user)) {
-                        return true;
-                    }
-                }
-            }
-            return false;
+            Map<String, Object> response = new HashMap<>();
+            response.put("results", results);
+            response.put("count", results.size());
 
-        } else if ("not-in".equalsIgnoreCase(operator) && value instanceof List) {
-            @SuppressWarnings("unchecked")
-            List<String> roleNames = (List<String>) value;
-
-            for (String roleName : roleNames) {
-                var role = projectRoleManager.getProjectRole(roleName);
-                if (role != null) {
-                    var roleActors = projectRoleManager.getProjectRoleActors(role, project);
-                    if (roleActors != null && roleActors.getUsers().contains(user)) {
-                        return false;
-                    }
-                }
-            }
-            return true;
+            return Response.ok(response).build();
 
-        } else if ("in".equalsIgnoreCase(operator) && value instanceof String) {
-            var role = projectRoleManager.getProjectRole((String) value);
-            if (role != null) {
-                var roleActors = projectRoleManager.getProjectRoleActors(role, project);
-                return roleActors != null && roleActors.getUsers().contains(user);
-            }
-        } else if ("not-in".equalsIgnoreCase(operator) && value instanceof String) {
-            var role = projectRoleManager.getProjectRole((String) value);
-            if (role != null) {
-                var roleActors = projectRoleManager.getProjectRoleActors(role, project);
-                return roleActors == null || !roleActors.getUsers().contains(user);
-            }
-            return true;
+        } catch (Exception e) {
+            log.error("Error evaluating visibility batch", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse("Error evaluating visibility: " + e.getMessage()))
+                    .build();
         }
-
-        return false;
     }
 
     /**
@@ -913,6 +699,9 @@
      * @param searchTerm Optional text search (searches key, summary, description)
      * @param statusFilter Optional comma-separated status names to filter by
      * @param priorityFilter Optional comma-separated priority names to filter by
+     * @param fields Optional comma-separated field projection (e.g. summary,status,assignee,customfield_10001)
+     * @param cursor Optional page cursor ("*" for the first page, then the previous response's nextCursor);
+     *               replaces start when present
      */
     @GET
     @Path("issues/search")
@@ -925,9 +714,11 @@
             @QueryParam("priority") String priorityFilter,
             @QueryParam("sortField") String sortField,
             @QueryParam("sortDir") @DefaultValue("asc") String sortDir,
-            @QueryParam("facets") @DefaultValue("false") boolean includeFacets) {
-        log.debug("GET /issues/search?jql={}&start={}&limit={}&search={}&status={}&priority={}",
-                  jqlQuery, startIndex, pageSize, searchTerm, statusFilter, priorityFilter);
+            @QueryParam("facets") @DefaultValue("false") boolean includeFacets,
+            @QueryParam("fields") String fields,
+            @QueryParam("cursor") String cursor) {
+        log.debug("GET /issues/search?jql={}&start={}&limit={}&search={}&status={}&priority={}&fields={}&cursor={}",
+                  jqlQuery, startIndex, pageSize, searchTerm, statusFilter, priorityFilter, fields, cursor);
 
         if (jqlQuery == null || jqlQuery.trim().isEmpty()) {
             return Response.status(Response.Status.BAD_REQUEST)
@@ -937,7 +728,7 @@
 
         try {
             IssueSearchResponseDTO response = issueService.searchIssues(
-                    jqlQuery, startIndex, pageSize, searchTerm, statusFilter, priorityFilter, sortField, sortDir, includeFacets);
+                    jqlQuery, startIndex, pageSize, searchTerm, statusFilter, priorityFilter, sortField, sortDir, includeFacets, fields, cursor);
             return Response.ok(convertIssueSearchResponseToMap(response)).build();
 
         } catch (IllegalArgumentException e) {
@@ -956,14 +747,15 @@
 
     /**
      * Get issues for a specific project (current user's issues)
-     * GET /rest/rail/1.0/projects/{projectKey}/issues?start=0&limit=25
+     * GET /rest/rail/1.0/projects/{projectKey}/issues?start=0&limit=25&fields=summary,status
      */
     @GET
     @Path("projects/{projectKey}/issues")
     public Response getProjectIssues(
             @PathParam("projectKey") String projectKey,
             @QueryParam("start") @DefaultValue("0") int startIndex,
-            @QueryParam("limit") @DefaultValue("25") int pageSize) {
+            @QueryParam("limit") @DefaultValue("25") int pageSize,
+            @QueryParam("fields") String fields) {
         log.debug("GET /projects/{}/issues?start={}&limit={}", projectKey, startIndex, pageSize);
 
         try {
@@ -974,7 +766,7 @@
                         .build();
             }
 
-            IssueSearchResponseDTO response = issueService.searchProjectIssues(projectKey, startIndex, pageSize);
+            IssueSearchResponseDTO response = issueService.searchProjectIssues(projectKey, startIndex, pageSize, fields);
             return Response.ok(convertIssueSearchResponseToMap(response)).build();
 
         } catch (Exception e) {
@@ -987,12 +779,13 @@
 
     /**
      * Get all issues for a specific project (that user can see)
-     * GET /rest/rail/1.0/projects/{projectKey}/issues/all?start=0&limit=25
+     * GET /rest/rail/1.0/projects/{projectKey}/issues/all?start=0&limit=25&fields=summary,status
      */
     @GET
     @Path("projects/{projectKey}/issues/all")
     public Response getAllProjectIssues(
             @PathParam("projectKey") String projectKey,
             @QueryParam("start") @DefaultValue("0") int startIndex,
-            @QueryParam("limit") @DefaultValue("25") int pageSize) {
+            @QueryParam("limit") @DefaultValue("25") int pageSize,
+            @QueryParam("fields") String fields) {
         log.debug("GET /projects/{}/issues/all?start={}&limit={}", projectKey, startIndex, pageSize);
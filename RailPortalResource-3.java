@@ -6,7 +6,7 @@
                         .build();
             }
 
-            IssueSearchResponseDTO response = issueService.searchAllProjectIssues(projectKey, startIndex, pageSize);
+            IssueSearchResponseDTO response = issueService.searchAllProjectIssues(projectKey, startIndex, pageSize, fields);
             return Response.ok(convertIssueSearchResponseToMap(response)).build();
 
         } catch (Exception e) {
@@ -19,7 +19,7 @@
 
     /**
      * Get issues for a specific project with additional filter
-     * GET /rest/rail/1.0/projects/{projectKey}/issues/filter?filter=status=Open&start=0&limit=25
+     * GET /rest/rail/1.0/projects/{projectKey}/issues/filter?filter=status=Open&start=0&limit=25&fields=summary,status
      */
     @GET
     @Path("projects/{projectKey}/issues/filter")
@@ -27,7 +27,8 @@
             @PathParam("projectKey") String projectKey,
             @QueryParam("filter") String additionalFilter,
             @QueryParam("start") @DefaultValue("0") int startIndex,
-            @QueryParam("limit") @DefaultValue("25") int pageSize) {
+            @QueryParam("limit") @DefaultValue("25") int pageSize,
+            @QueryParam("fields") String fields) {
         log.debug("GET /projects/{}/issues/filter?filter={}&start={}&limit={}", projectKey, additionalFilter, startIndex, pageSize);
 
         try {
@@ -38,7 +39,7 @@
                         .build();
             }
 
-            IssueSearchResponseDTO response = issueService.searchProjectIssuesWithFilter(projectKey, additionalFilter, startIndex, pageSize);
+            IssueSearchResponseDTO response = issueService.searchProjectIssuesWithFilter(projectKey, additionalFilter, startIndex, pageSize, fields);
             return Response.ok(convertIssueSearchResponseToMap(response)).build();
 
         } catch (IllegalArgumentException e) {
@@ -701,9 +702,11 @@
     private Map<String, Object> convertIssueSearchResponseToMap(IssueSearchResponseDTO dto) {
         Map<String, Object> map = new HashMap<>();
 
+        // With a field projection, omit the fields that were not requested instead of sending nulls
+        boolean projected = dto.getFields() != null;
         List<Map<String, Object>> issueMaps = dto.getIssues() != null
                 ? dto.getIssues().stream()
-                        .map(this::convertIssueDtoToMap)
+                        .map(issue -> convertIssueDtoToMap(issue, projected))
                         .collect(Collectors.toList())
                 : Collections.emptyList();
 
@@ -724,14 +727,23 @@
         map.put("searchedAsUserName", dto.getSearchedAsUserName());
         map.put("searchedAsUserDisplayName", dto.getSearchedAsUserDisplayName());
         map.put("resolvedJqlQuery", dto.getResolvedJqlQuery());
+        map.put("conversionCacheStats", dto.getConversionCacheStats());
+        map.put("fields", dto.getFields());
         map.put("facets", dto.getFacets());
+        map.put("facetCounts", dto.getFacetCounts());
+        map.put("nextCursor", dto.getNextCursor());
+        map.put("resultsTruncated", dto.isResultsTruncated());
+        map.put("resultsLimit", dto.getResultsLimit());
+        map.put("searchEngine", dto.getSearchEngine());
+        map.put("searchPlan", dto.getSearchPlan());
         return map;
     }
 
     /**
      * Convert IssueDTO to Map for safe JSON serialization.
+     * When omitEmpty is set (field projection), null and empty values are left out of the payload.
      */
-    private Map<String, Object> convertIssueDtoToMap(IssueDTO issue) {
+    private Map<String, Object> convertIssueDtoToMap(IssueDTO issue, boolean omitEmpty) {
         Map<String, Object> map = new HashMap<>();
         map.put("key", issue.getKey());
         map.put("id", issue.getId());
@@ -775,6 +787,10 @@
         map.put("watcherCount", issue.getWatcherCount());
         // Include custom fields
         map.put("customFields", issue.getCustomFields());
+        if (omitEmpty) {
+            map.values().removeIf(value -> value == null
+                    || (value instanceof Map && ((Map<?, ?>) value).isEmpty()));
+        }
         return map;
     }
 }
@@ -140,6 +140,7 @@ public class RailPortalResource {
      *   &search=term&status=Open,Done&priority=High
      *   &sortField=status&sortDir=asc
      *   &facets=true
+     *   &fields=summary,status
      */
     @GET
     @Path("issues/search")
@@ -154,10 +155,11 @@ public class RailPortalResource {
             @QueryParam("sortField") String sortField,
             @QueryParam("sortDir") @DefaultValue("asc") String sortDir,
             // NEW: facets for dropdowns
-            @QueryParam("facets") @DefaultValue("false") boolean includeFacets
+            @QueryParam("facets") @DefaultValue("false") boolean includeFacets,
+            @QueryParam("fields") String fields
     ) {
-        log.debug("GET /issues/search?jql={}&start={}&limit={}&search={}&status={}&priority={}&sortField={}&sortDir={}&facets={}",
-                jqlQuery, startIndex, pageSize, searchTerm, statusFilter, priorityFilter, sortField, sortDir, includeFacets);
+        log.debug("GET /issues/search?jql={}&start={}&limit={}&search={}&status={}&priority={}&sortField={}&sortDir={}&facets={}&fields={}",
+                jqlQuery, startIndex, pageSize, searchTerm, statusFilter, priorityFilter, sortField, sortDir, includeFacets, fields);
 
         if (jqlQuery == null || jqlQuery.trim().isEmpty()) {
             return Response.status(Response.Status.BAD_REQUEST)
@@ -175,7 +177,8 @@ public class RailPortalResource {
                     priorityFilter,
                     sortField,
                     sortDir,
-                    includeFacets
+                    includeFacets,
+                    fields
             );
             return Response.ok(convertIssueSearchResponseToMap(response)).build();
 
@@ -195,14 +198,15 @@ public class RailPortalResource {
 
     /**
      * Get issues for a specific project (current user's issues)
-     * GET /rest/rail/1.0/projects/{projectKey}/issues?start=0&limit=25
+     * GET /rest/rail/1.0/projects/{projectKey}/issues?start=0&limit=25&fields=summary,status
      */
     @GET
     @Path("projects/{projectKey}/issues")
     public Response getProjectIssues(
             @PathParam("projectKey") String projectKey,
             @QueryParam("start") @DefaultValue("0") int startIndex,
-            @QueryParam("limit") @DefaultValue("25") int pageSize) {
+            @QueryParam("limit") @DefaultValue("25") int pageSize,
+            @QueryParam("fields") String fields) {
         log.debug("GET /projects/{}/issues?start={}&limit={}", projectKey, startIndex, pageSize);
 
         try {
@@ -212,7 +216,7 @@ public class RailPortalResource {
                         .build();
             }
 
-            IssueSearchResponseDTO response = issueService.searchProjectIssues(projectKey, startIndex, pageSize);
+            IssueSearchResponseDTO response = issueService.searchProjectIssues(projectKey, startIndex, pageSize, fields);
             return Response.ok(convertIssueSearchResponseToMap(response)).build();
 
         } catch (Exception e) {
@@ -225,14 +229,15 @@ public class RailPortalResource {
 
     /**
      * Get all issues for a specific project (that user can see)
-     * GET /rest/rail/1.0/projects/{projectKey}/issues/all?start=0&limit=25
+     * GET /rest/rail/1.0/projects/{projectKey}/issues/all?start=0&limit=25&fields=summary,status
      */
     @GET
     @Path("projects/{projectKey}/issues/all")
     public Response getAllProjectIssues(
             @PathParam("projectKey") String projectKey,
             @QueryParam("start") @DefaultValue("0") int startIndex,
-            @QueryParam("limit") @DefaultValue("25") int pageSize) {
+            @QueryParam("limit") @DefaultValue("25") int pageSize,
+            @QueryParam("fields") String fields) {
         log.debug("GET /projects/{}/issues/all?start={}&limit={}", projectKey, startIndex, pageSize);
 
         try {
@@ -242,7 +247,7 @@ public class RailPortalResource {
                         .build();
             }
 
-            IssueSearchResponseDTO response = issueService.searchAllProjectIssues(projectKey, startIndex, pageSize);
+            IssueSearchResponseDTO response = issueService.searchAllProjectIssues(projectKey, startIndex, pageSize, fields);
             return Response.ok(convertIssueSearchResponseToMap(response)).build();
 
         } catch (Exception e) {
@@ -255,7 +260,7 @@ public class RailPortalResource {
 
     /**
      * Get issues for a specific project with additional filter
-     * GET /rest/rail/1.0/projects/{projectKey}/issues/filter?filter=status=Open&start=0&limit=25
+     * GET /rest/rail/1.0/projects/{projectKey}/issues/filter?filter=status=Open&start=0&limit=25&fields=summary,status
      */
     @GET
     @Path("projects/{projectKey}/issues/filter")
@@ -263,7 +268,8 @@ public class RailPortalResource {
             @PathParam("projectKey") String projectKey,
             @QueryParam("filter") String additionalFilter,
             @QueryParam("start") @DefaultValue("0") int startIndex,
-            @QueryParam("limit") @DefaultValue("25") int pageSize) {
+            @QueryParam("limit") @DefaultValue("25") int pageSize,
+            @QueryParam("fields") String fields) {
         log.debug("GET /projects/{}/issues/filter?filter={}&start={}&limit={}", projectKey, additionalFilter, startIndex, pageSize);
 
         try {
@@ -273,7 +279,7 @@ public class RailPortalResource {
                         .build();
             }
 
-            IssueSearchResponseDTO response = issueService.searchProjectIssuesWithFilter(projectKey, additionalFilter, startIndex, pageSize);
+            IssueSearchResponseDTO response = issueService.searchProjectIssuesWithFilter(projectKey, additionalFilter, startIndex, pageSize, fields);
             return Response.ok(convertIssueSearchResponseToMap(response)).build();
 
         } catch (IllegalArgumentException e) {
@@ -297,9 +303,11 @@ public class RailPortalResource {
 private Map<String, Object> convertIssueSearchResponseToMap(IssueSearchResponseDTO dto) {
     Map<String, Object> map = new HashMap<>();
 
+    // With a field projection, omit the fields that were not requested instead of sending nulls
+    boolean projected = dto.getFields() != null;
     List<Map<String, Object>> issueMaps = dto.getIssues() != null
             ? dto.getIssues().stream()
-                    .map(this::convertIssueDtoToMap)
+                    .map(issue -> convertIssueDtoToMap(issue, projected))
                     .collect(Collectors.toList())
             : Collections.emptyList();
 
@@ -320,6 +328,7 @@ private Map<String, Object> convertIssueSearchResponseToMap(IssueSearchResponseD
     map.put("searchedAsUserName", dto.getSearchedAsUserName());
     map.put("searchedAsUserDisplayName", dto.getSearchedAsUserDisplayName());
     map.put("resolvedJqlQuery", dto.getResolvedJqlQuery());
+    map.put("fields", dto.getFields());
 
     // NEW: facets (Option A)
     // Keep a stable object shape even if null (frontend can rely on existence)
@@ -339,8 +348,9 @@ private Map<String, Object> convertIssueSearchResponseToMap(IssueSearchResponseD
 
     /**
      * Convert IssueDTO to Map for safe JSON serialization.
+     * When omitEmpty is set (field projection), null and empty values are left out of the payload.
      */
-    private Map<String, Object> convertIssueDtoToMap(IssueDTO issue) {
+    private Map<String, Object> convertIssueDtoToMap(IssueDTO issue, boolean omitEmpty) {
         Map<String, Object> map = new HashMap<>();
         map.put("key", issue.getKey());
         map.put("id", issue.getId());
@@ -384,6 +394,10 @@ private Map<String, Object> convertIssueSearchResponseToMap(IssueSearchResponseD
         map.put("votes", issue.getVotes());
         map.put("watcherCount", issue.getWatcherCount());
         map.put("customFields", issue.getCustomFields());
+        if (omitEmpty) {
+            map.values().removeIf(value -> value == null
+                    || (value instanceof Map && ((Map<?, ?>) value).isEmpty()));
+        }
         return map;
     }
 }
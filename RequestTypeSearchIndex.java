@@ -0,0 +1,503 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/RequestTypeSearchIndex.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.event.api.EventListener;
+import com.atlassian.event.api.EventPublisher;
+import com.atlassian.jira.event.ProjectCreatedEvent;
+import com.atlassian.jira.event.ProjectDeletedEvent;
+import com.atlassian.jira.event.ProjectUpdatedEvent;
+import com.atlassian.jira.project.Project;
+import com.atlassian.jira.project.ProjectManager;
+import com.atlassian.jira.security.JiraAuthenticationContext;
+import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
+import com.atlassian.servicedesk.api.ServiceDesk;
+import com.atlassian.servicedesk.api.ServiceDeskManager;
+import com.atlassian.servicedesk.api.requesttype.RequestType;
+import com.atlassian.servicedesk.api.requesttype.RequestTypeGroup;
+import com.atlassian.servicedesk.api.requesttype.RequestTypeService;
+import com.samsungbuilder.jsm.dto.RequestTypeDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory inverted index of request types across all service desks.
+ *
+ * Each request type is indexed by the tokens of its name, description, group names and
+ * the owning project's name/key/description (project descriptions carry portal keywords,
+ * see newsearch.md). Queries match every query token as a prefix of an indexed token and
+ * rank hits by where they matched (name > group > description > project), instead of
+ * returning the first N request types found while walking all projects.
+ *
+ * The index is built lazily, refreshed per project on portal/project changes (including portal
+ * changes made on other cluster nodes, via {@link ConfigChangeBroadcaster}), and fully
+ * rebuilt after {@link #MAX_AGE_MS} (request type edits publish no event). While a rebuild
+ * runs, other callers keep using the previous snapshot. Per-project refreshes never wait for a
+ * rebuild: they swap the current snapshot with a compare-and-set, and projects refreshed while a
+ * rebuild runs are reloaded into its result before it is published.
+ */
+@Named
+public class RequestTypeSearchIndex implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestTypeSearchIndex.class);
+    private static final long MAX_AGE_MS = TimeUnit.MINUTES.toMillis(10);
+
+    // Per-token field weights (higher = more relevant)
+    private static final int WEIGHT_NAME = 100;
+    private static final int WEIGHT_GROUP = 40;
+    private static final int WEIGHT_DESCRIPTION = 20;
+    private static final int WEIGHT_PROJECT = 10;
+    private static final int BONUS_EXACT_NAME = 1000;
+    private static final int BONUS_NAME_PREFIX = 500;
+    private static final int BONUS_FULL_TOKEN = 5;
+
+    private final ProjectManager projectManager;
+    private final ServiceDeskManager serviceDeskManager;
+    private final RequestTypeService jsdRequestTypeService;
+    private final JiraAuthenticationContext authenticationContext;
+    private final PortalLiveStateRegistry liveStateRegistry;
+    private final EventPublisher eventPublisher;
+    private final ConfigChangeBroadcaster changeBroadcaster;
+    private final ConfigChangeBroadcaster.Listener remoteChangeListener = (scope, key, version) -> {
+        if (key == null) {
+            invalidate();
+        } else {
+            refreshProject(key);
+        }
+    };
+
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    // Projects refreshed while a full rebuild runs (the rebuild may have loaded them before the change)
+    private final Set<String> refreshedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    @Inject
+    public RequestTypeSearchIndex(
+            @ComponentImport ProjectManager projectManager,
+            @ComponentImport ServiceDeskManager serviceDeskManager,
+            @ComponentImport RequestTypeService requestTypeService,
+            @ComponentImport JiraAuthenticationContext authenticationContext,
+            @ComponentImport EventPublisher eventPublisher,
+            PortalLiveStateRegistry liveStateRegistry,
+            ConfigChangeBroadcaster changeBroadcaster
+    ) {
+        this.projectManager = projectManager;
+        this.serviceDeskManager = serviceDeskManager;
+        this.jsdRequestTypeService = requestTypeService;
+        this.authenticationContext = authenticationContext;
+        this.eventPublisher = eventPublisher;
+        this.liveStateRegistry = liveStateRegistry;
+        this.changeBroadcaster = changeBroadcaster;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        eventPublisher.register(this);
+        // Subscribed after PortalLiveStateRegistry, so its live flag is already dropped when we re-index
+        changeBroadcaster.subscribe(ConfigChangeBroadcaster.Scope.PORTAL_CONFIG, remoteChangeListener);
+    }
+
+    @Override
+    public void destroy() {
+        eventPublisher.unregister(this);
+        changeBroadcaster.unsubscribe(ConfigChangeBroadcaster.Scope.PORTAL_CONFIG, remoteChangeListener);
+    }
+
+    /**
+     * Ranked search across all indexed request types.
+     */
+    public List<PortalRequestTypeService.GlobalRequestTypeSearchResult> search(String searchTerm, int maxResults) {
+        List<String> queryTokens = tokenize(searchTerm);
+        if (queryTokens.isEmpty() || maxResults <= 0) {
+            return Collections.emptyList();
+        }
+        String normalizedQuery = normalize(searchTerm);
+        Snapshot current = currentSnapshot();
+
+        // Every query token must match (AND); accumulate the best weight per document
+        Map<Integer, Integer> scores = null;
+        for (String queryToken : queryTokens) {
+            Map<Integer, Integer> tokenScores = new HashMap<>();
+            NavigableMap<String, Map<Integer, Integer>> matches =
+                    current.postings.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false);
+            for (Map.Entry<String, Map<Integer, Integer>> match : matches.entrySet()) {
+                boolean fullToken = match.getKey().equals(queryToken);
+                for (Map.Entry<Integer, Integer> posting : match.getValue().entrySet()) {
+                    int weight = posting.getValue() + (fullToken ? BONUS_FULL_TOKEN : 0);
+                    tokenScores.merge(posting.getKey(), weight, Math::max);
+                }
+            }
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                Map<Integer, Integer> intersection = new HashMap<>();
+                for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                    Integer tokenScore = tokenScores.get(entry.getKey());
+                    if (tokenScore != null) {
+                        intersection.put(entry.getKey(), entry.getValue() + tokenScore);
+                    }
+                }
+                scores = intersection;
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<ScoredDocument> ranked = new ArrayList<>(scores.size());
+        for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+            IndexedRequestType doc = current.documents.get(entry.getKey());
+            if (doc == null) {
+                continue;
+            }
+            int score = entry.getValue();
+            if (doc.normalizedName.equals(normalizedQuery)) {
+                score += BONUS_EXACT_NAME;
+            } else if (doc.normalizedName.startsWith(normalizedQuery)) {
+                score += BONUS_NAME_PREFIX;
+            }
+            ranked.add(new ScoredDocument(doc, score));
+        }
+        ranked.sort(Comparator.comparingInt((ScoredDocument d) -> d.score).reversed()
+                .thenComparing(d -> d.document.normalizedName));
+
+        List<PortalRequestTypeService.GlobalRequestTypeSearchResult> results = new ArrayList<>();
+        for (ScoredDocument scored : ranked) {
+            if (results.size() >= maxResults) {
+                break;
+            }
+            results.add(toResult(scored));
+        }
+        return results;
+    }
+
+    /**
+     * Indexed request types grouped by project key, building the index if needed. Shared with
+     * {@link PortalSearchIndex} so JSM is only walked once; the returned map is unmodifiable and
+     * is replaced (never mutated) when the index changes, so callers can detect changes by identity.
+     */
+    public Map<String, List<IndexedRequestType>> getRequestTypesByProject() {
+        return currentSnapshot().byProject;
+    }
+
+    /**
+     * Re-index a single project (portal config saved, live toggled, project edited).
+     */
+    public void refreshProject(String projectKey) {
+        if (snapshot.get() == null || projectKey == null) {
+            return; // Built lazily on the next search
+        }
+        if (buildLock.isLocked()) {
+            refreshedDuringBuild.add(projectKey);
+        }
+        List<IndexedRequestType> projectDocs = loadProject(projectKey);
+        Snapshot current;
+        do {
+            current = snapshot.get();
+            if (current == null) {
+                return;
+            }
+        } while (!snapshot.compareAndSet(current, current.withProject(projectKey, projectDocs)));
+    }
+
+    /**
+     * Drop the whole index; it is rebuilt on the next search.
+     */
+    public void invalidate() {
+        snapshot.set(null);
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("built", current != null);
+        stats.put("requestTypeCount", current != null ? current.documents.size() : 0);
+        stats.put("tokenCount", current != null ? current.postings.size() : 0);
+        stats.put("builtAt", current != null ? current.builtAt : null);
+        stats.put("buildTimeMs", current != null ? current.buildTimeMs : null);
+        return stats;
+    }
+
+    @EventListener
+    public void onProjectCreated(ProjectCreatedEvent event) {
+        refreshProject(event.getProject() != null ? event.getProject().getKey() : null);
+    }
+
+    @EventListener
+    public void onProjectUpdated(ProjectUpdatedEvent event) {
+        if (event.getOldProject() != null && event.getProject() != null
+                && !event.getOldProject().getKey().equals(event.getProject().getKey())) {
+            refreshProject(event.getOldProject().getKey());
+        }
+        refreshProject(event.getProject() != null ? event.getProject().getKey() : null);
+    }
+
+    @EventListener
+    public void onProjectDeleted(ProjectDeletedEvent event) {
+        refreshProject(event.getProject() != null ? event.getProject().getKey() : null);
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot.get();
+        boolean stale = current == null || System.currentTimeMillis() - current.builtAt >= MAX_AGE_MS;
+        if (!stale) {
+            return current;
+        }
+        // First build blocks; later rebuilds run on one thread while others read the old snapshot
+        if (current != null && !buildLock.tryLock()) {
+            return current;
+        }
+        if (current == null) {
+            buildLock.lock();
+        }
+        try {
+            Snapshot latest = snapshot.get();
+            if (latest != null && System.currentTimeMillis() - latest.builtAt < MAX_AGE_MS) {
+                return latest;
+            }
+            refreshedDuringBuild.clear();
+            Snapshot rebuilt = buildAll();
+            for (String projectKey : new ArrayList<>(refreshedDuringBuild)) {
+                refreshedDuringBuild.remove(projectKey);
+                rebuilt = rebuilt.withProject(projectKey, loadProject(projectKey));
+            }
+            snapshot.set(rebuilt);
+            return rebuilt;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private Snapshot buildAll() {
+        long start = System.currentTimeMillis();
+        Map<String, List<IndexedRequestType>> byProject = new LinkedHashMap<>();
+        for (Project project : projectManager.getProjectObjects()) {
+            List<IndexedRequestType> docs = loadProject(project);
+            if (!docs.isEmpty()) {
+                byProject.put(project.getKey(), docs);
+            }
+        }
+        Snapshot built = Snapshot.of(byProject, start);
+        log.debug("Built request type search index: {} request types, {} tokens in {}ms",
+                built.documents.size(), built.postings.size(), built.buildTimeMs);
+        return built;
+    }
+
+    private List<IndexedRequestType> loadProject(String projectKey) {
+        Project project = projectManager.getProjectObjByKey(projectKey);
+        return project != null ? loadProject(project) : Collections.emptyList();
+    }
+
+    private List<IndexedRequestType> loadProject(Project project) {
+        try {
+            ServiceDesk serviceDesk = serviceDeskManager.getServiceDeskForProject(project);
+            if (serviceDesk == null) {
+                return Collections.emptyList();
+            }
+
+            boolean isLive = false;
+            if (liveStateRegistry != null) {
+                isLive = liveStateRegistry.isLive(project.getKey());
+            }
+
+            String portalId = String.valueOf(serviceDesk.getId());
+            List<IndexedRequestType> docs = new ArrayList<>();
+            List<RequestType> requestTypes = PortalRequestTypeService.loadAllRequestTypes(
+                    jsdRequestTypeService, authenticationContext.getLoggedInUser(), serviceDesk);
+            for (RequestType rt : requestTypes) {
+                RequestTypeDTO dto = PortalRequestTypeService.toRequestTypeDto(rt, project, serviceDesk);
+                List<String> groupNames = new ArrayList<>();
+                if (rt.getGroups() != null) {
+                    for (RequestTypeGroup group : rt.getGroups()) {
+                        groupNames.add(group.getName());
+                    }
+                }
+                docs.add(new IndexedRequestType(dto, project.getKey(), project.getName(), project.getDescription(),
+                        portalId, isLive, groupNames));
+            }
+            return Collections.unmodifiableList(docs);
+        } catch (Exception e) {
+            log.warn("Error indexing request types for project {}: {}", project.getKey(), e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private PortalRequestTypeService.GlobalRequestTypeSearchResult toResult(ScoredDocument scored) {
+        IndexedRequestType doc = scored.document;
+        PortalRequestTypeService.GlobalRequestTypeSearchResult result = new PortalRequestTypeService.GlobalRequestTypeSearchResult();
+        result.setRequestType(doc.requestType);
+        result.setProjectKey(doc.projectKey);
+        result.setProjectName(doc.projectName);
+        result.setServiceDeskId(doc.portalId);
+        result.setPortalId(doc.portalId);
+        result.setLive(doc.live);
+        result.setScore(scored.score);
+        return result;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ENGLISH);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : normalize(text).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * One indexed request type with the project/portal data it is searched and displayed with.
+     */
+    public static final class IndexedRequestType {
+        private final RequestTypeDTO requestType;
+        private final String projectKey;
+        private final String projectName;
+        private final String projectDescription;
+        private final String portalId;
+        private final boolean live;
+        private final List<String> groupNames;
+        private final String normalizedName;
+
+        private IndexedRequestType(RequestTypeDTO requestType, String projectKey, String projectName,
+                                   String projectDescription, String portalId, boolean live, List<String> groupNames) {
+            this.requestType = requestType;
+            this.projectKey = projectKey;
+            this.projectName = projectName;
+            this.projectDescription = projectDescription;
+            this.portalId = portalId;
+            this.live = live;
+            this.groupNames = groupNames;
+            this.normalizedName = normalize(requestType.getName());
+        }
+
+        public RequestTypeDTO getRequestType() {
+            return requestType;
+        }
+
+        public String getProjectKey() {
+            return projectKey;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public String getProjectDescription() {
+            return projectDescription;
+        }
+
+        public String getPortalId() {
+            return portalId;
+        }
+
+        public boolean isLive() {
+            return live;
+        }
+
+        public List<String> getGroupNames() {
+            return groupNames;
+        }
+    }
+
+    private static final class ScoredDocument {
+        private final IndexedRequestType document;
+        private final int score;
+
+        private ScoredDocument(IndexedRequestType document, int score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Immutable index snapshot: documents by id plus token -> (document id -> field weight).
+     */
+    private static final class Snapshot {
+        private final Map<String, List<IndexedRequestType>> byProject;
+        private final Map<Integer, IndexedRequestType> documents;
+        private final TreeMap<String, Map<Integer, Integer>> postings;
+        private final long builtAt;
+        private final long buildTimeMs;
+
+        private Snapshot(Map<String, List<IndexedRequestType>> byProject, Map<Integer, IndexedRequestType> documents,
+                         TreeMap<String, Map<Integer, Integer>> postings, long builtAt, long buildTimeMs) {
+            this.byProject = byProject;
+            this.documents = documents;
+            this.postings = postings;
+            this.builtAt = builtAt;
+            this.buildTimeMs = buildTimeMs;
+        }
+
+        private static Snapshot of(Map<String, List<IndexedRequestType>> byProject, long startedAt) {
+            Map<Integer, IndexedRequestType> documents = new HashMap<>();
+            TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+            int docId = 0;
+            for (List<IndexedRequestType> docs : byProject.values()) {
+                for (IndexedRequestType doc : docs) {
+                    int id = docId++;
+                    documents.put(id, doc);
+                    addTokens(postings, id, tokenize(doc.requestType.getName()), WEIGHT_NAME);
+                    for (String groupName : doc.groupNames) {
+                        addTokens(postings, id, tokenize(groupName), WEIGHT_GROUP);
+                    }
+                    addTokens(postings, id, tokenize(doc.requestType.getDescription()), WEIGHT_DESCRIPTION);
+                    addTokens(postings, id, tokenize(doc.projectName), WEIGHT_PROJECT);
+                    addTokens(postings, id, tokenize(doc.projectKey), WEIGHT_PROJECT);
+                    addTokens(postings, id, tokenize(doc.projectDescription), WEIGHT_PROJECT);
+                }
+            }
+            long now = System.currentTimeMillis();
+            return new Snapshot(Collections.unmodifiableMap(byProject), documents, postings, now, now - startedAt);
+        }
+
+        private static void addTokens(TreeMap<String, Map<Integer, Integer>> postings, int docId,
+                                      List<String> tokens, int weight) {
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, t -> new HashMap<>()).merge(docId, weight, Math::max);
+            }
+        }
+
+        /**
+         * Copy of this snapshot with one project's documents replaced (removed when empty).
+         * Only that project is reloaded from JSM; postings are rebuilt from the cached documents.
+         * Keeps the original build time so the periodic full rebuild still happens.
+         */
+        private Snapshot withProject(String projectKey, List<IndexedRequestType> projectDocs) {
+            Map<String, List<IndexedRequestType>> updated = new LinkedHashMap<>(byProject);
+            if (projectDocs.isEmpty()) {
+                updated.remove(projectKey);
+            } else {
+                updated.put(projectKey, projectDocs);
+            }
+            Snapshot rebuilt = of(updated, System.currentTimeMillis());
+            return new Snapshot(rebuilt.byProject, rebuilt.documents, rebuilt.postings, builtAt, buildTimeMs);
+        }
+    }
+}
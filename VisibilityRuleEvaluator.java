@@ -0,0 +1,365 @@
+// rail-at-sas/backend/src/main/java/com/samsungbuilder/jsm/service/VisibilityRuleEvaluator.java
+package com.samsungbuilder.jsm.service;
+
+import com.atlassian.jira.project.Project;
+import com.atlassian.jira.project.ProjectManager;
+import com.atlassian.jira.security.groups.GroupManager;
+import com.atlassian.jira.security.roles.ProjectRole;
+import com.atlassian.jira.security.roles.ProjectRoleManager;
+import com.atlassian.jira.user.ApplicationUser;
+import com.atlassian.plugin.spring.scanner.annotation.imports.ComponentImport;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Evaluates page-builder component visibility rules (user / group / role conditions).
+ *
+ * Rule sets are compiled once into predicates and cached by their canonical JSON, so the same
+ * rules on many components and many page views are parsed once. Predicates run against a
+ * {@link UserContext} that resolves the user's groups once and each project's roles at most once,
+ * instead of looking groups and roles up again for every condition.
+ *
+ * Semantics match the original per-condition evaluation in RailPortalResource, including its
+ * edge cases (e.g. "is-not" with a multi-value list is true for group conditions but false for
+ * user conditions, role conditions without a project are false).
+ */
+@Named
+public class VisibilityRuleEvaluator {
+
+    private static final Logger log = LoggerFactory.getLogger(VisibilityRuleEvaluator.class);
+    private static final int MAX_COMPILED_RULE_SETS = 1000;
+
+    private final GroupManager groupManager;
+    private final ProjectManager projectManager;
+    private final ProjectRoleManager projectRoleManager;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Access-ordered for LRU eviction; guarded by "this"
+    private final LinkedHashMap<String, CompiledRuleSet> compiled = new LinkedHashMap<String, CompiledRuleSet>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompiledRuleSet> eldest) {
+            return size() > MAX_COMPILED_RULE_SETS;
+        }
+    };
+
+    private final AtomicLong compileHits = new AtomicLong();
+    private final AtomicLong compilations = new AtomicLong();
+
+    @Inject
+    public VisibilityRuleEvaluator(
+            @ComponentImport GroupManager groupManager,
+            @ComponentImport ProjectManager projectManager,
+            @ComponentImport ProjectRoleManager projectRoleManager) {
+        this.groupManager = groupManager;
+        this.projectManager = projectManager;
+        this.projectRoleManager = projectRoleManager;
+    }
+
+    /**
+     * Start evaluating rules for one user. Reuse the context for every rule set of a request.
+     */
+    public UserContext newContext(ApplicationUser user) {
+        return new UserContext(user);
+    }
+
+    /**
+     * Evaluate one rule set ({"conditions": [...], "logic": "AND"|"OR", "mode": "show"|"hide"}).
+     * The result map holds visible, matchedConditions, totalConditions, logic and mode.
+     */
+    public Map<String, Object> evaluate(Map<String, Object> ruleSet, String projectKey, UserContext context) {
+        return compile(ruleSet).evaluate(context, projectKey);
+    }
+
+    public synchronized void invalidateAll() {
+        compiled.clear();
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("compiledRuleSets", compiled.size());
+        stats.put("maxCompiledRuleSets", MAX_COMPILED_RULE_SETS);
+        stats.put("compileHits", compileHits.get());
+        stats.put("compilations", compilations.get());
+        return stats;
+    }
+
+    private CompiledRuleSet compile(Map<String, Object> ruleSet) {
+        Map<String, Object> canonical = new LinkedHashMap<>();
+        canonical.put("conditions", ruleSet.get("conditions"));
+        canonical.put("logic", ruleSet.getOrDefault("logic", "AND"));
+        canonical.put("mode", ruleSet.getOrDefault("mode", "show"));
+        String cacheKey;
+        try {
+            cacheKey = objectMapper.writeValueAsString(canonical);
+        } catch (Exception e) {
+            return CompiledRuleSet.of(canonical); // Not cacheable; still evaluate it
+        }
+        synchronized (this) {
+            CompiledRuleSet cached = compiled.get(cacheKey);
+            if (cached != null) {
+                compileHits.incrementAndGet();
+                return cached;
+            }
+        }
+        CompiledRuleSet built = CompiledRuleSet.of(canonical);
+        compilations.incrementAndGet();
+        synchronized (this) {
+            compiled.put(cacheKey, built);
+        }
+        return built;
+    }
+
+    /**
+     * The user's identity, groups and (lazily, per project) roles for one request.
+     */
+    public final class UserContext {
+        private final String username;
+        private Set<String> groupNames;
+        private final Map<String, Set<String>> rolesByProject = new HashMap<>();
+        private final ApplicationUser user;
+
+        private UserContext(ApplicationUser user) {
+            this.user = user;
+            this.username = user.getUsername();
+        }
+
+        private boolean isInGroup(String groupName) {
+            if (groupName == null) {
+                return false;
+            }
+            if (groupNames == null) {
+                Set<String> names = new HashSet<>();
+                for (String name : groupManager.getGroupNamesForUser(user)) {
+                    names.add(name.toLowerCase(Locale.ROOT));
+                }
+                groupNames = names;
+            }
+            return groupNames.contains(groupName.toLowerCase(Locale.ROOT));
+        }
+
+        /**
+         * Lower-case names of the roles the user has in the project, or null when the project
+         * key is blank or unknown.
+         */
+        private Set<String> roles(String projectKey) {
+            if (projectKey == null || projectKey.trim().isEmpty()) {
+                return null;
+            }
+            return rolesByProject.computeIfAbsent(projectKey, key -> {
+                Project project = projectManager.getProjectObjByKey(key);
+                if (project == null) {
+                    log.warn("Project not found: {}", key);
+                    return null;
+                }
+                Set<String> names = new HashSet<>();
+                Collection<ProjectRole> roles = projectRoleManager.getProjectRoles(user, project);
+                for (ProjectRole role : roles) {
+                    names.add(role.getName().toLowerCase(Locale.ROOT));
+                }
+                return names;
+            });
+        }
+
+        private boolean hasRole(String projectKey, String roleName) {
+            Set<String> roles = roles(projectKey);
+            return roles != null && roleName != null && roles.contains(roleName.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * One condition bound to the project key it is evaluated for.
+     */
+    private interface Condition {
+        boolean test(UserContext context, String projectKey);
+    }
+
+    private static final class CompiledRuleSet {
+        private final List<Condition> conditions;
+        private final String logic;
+        private final String mode;
+
+        private CompiledRuleSet(List<Condition> conditions, String logic, String mode) {
+            this.conditions = conditions;
+            this.logic = logic;
+            this.mode = mode;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static CompiledRuleSet of(Map<String, Object> ruleSet) {
+            List<Condition> conditions = new ArrayList<>();
+            Object raw = ruleSet.get("conditions");
+            if (raw instanceof List) {
+                for (Object item : (List<Object>) raw) {
+                    conditions.add(item instanceof Map ? compileCondition((Map<String, Object>) item) : (c, p) -> false);
+                }
+            }
+            return new CompiledRuleSet(Collections.unmodifiableList(conditions),
+                    String.valueOf(ruleSet.get("logic")), String.valueOf(ruleSet.get("mode")));
+        }
+
+        private Map<String, Object> evaluate(UserContext context, String projectKey) {
+            Map<String, Object> result = new HashMap<>();
+            if (conditions.isEmpty()) {
+                result.put("visible", true);
+                result.put("matchedConditions", 0);
+                result.put("totalConditions", 0);
+                return result;
+            }
+
+            boolean and = "AND".equalsIgnoreCase(logic);
+            int matched = 0;
+            for (Condition condition : conditions) {
+                boolean matches;
+                try {
+                    matches = condition.test(context, projectKey);
+                } catch (Exception e) {
+                    log.error("Error evaluating visibility condition", e);
+                    matches = false;
+                }
+                if (matches) {
+                    matched++;
+                }
+                // Short-circuit evaluation
+                if (and && !matches) {
+                    break;
+                }
+                if ("OR".equalsIgnoreCase(logic) && matches) {
+                    break;
+                }
+            }
+
+            boolean conditionsMet = and ? matched == conditions.size() : matched > 0;
+            result.put("visible", "show".equalsIgnoreCase(mode) ? conditionsMet : !conditionsMet);
+            result.put("matchedConditions", matched);
+            result.put("totalConditions", conditions.size());
+            result.put("logic", logic);
+            result.put("mode", mode);
+            return result;
+        }
+    }
+
+    private static Condition compileCondition(Map<String, Object> condition) {
+        Object type = condition.get("type");
+        String operator = condition.get("operator") instanceof String ? (String) condition.get("operator") : "";
+        Object value = condition.get("value");
+        if (!(type instanceof String)) {
+            return (c, p) -> false;
+        }
+        switch (((String) type).toLowerCase(Locale.ROOT)) {
+            case "user":
+                return userCondition(operator, value);
+            case "group":
+                return groupCondition(operator, value);
+            case "role":
+                return roleCondition(operator, value);
+            default:
+                log.warn("Unknown condition type: {}", type);
+                return (c, p) -> false;
+        }
+    }
+
+    private static Condition userCondition(String operator, Object value) {
+        List<String> values = stringList(value);
+        if ("is".equalsIgnoreCase(operator)) {
+            if (value instanceof String) {
+                return (c, p) -> c.username.equals(value);
+            }
+            // For "is", typically single value but handle list scenario
+            return values != null && values.size() == 1 ? (c, p) -> c.username.equals(values.get(0)) : (c, p) -> false;
+        }
+        if ("is-not".equalsIgnoreCase(operator)) {
+            if (value instanceof String) {
+                return (c, p) -> !c.username.equals(value);
+            }
+            if (values != null) {
+                return values.size() == 1 ? (c, p) -> !c.username.equals(values.get(0)) : (c, p) -> false;
+            }
+            return (c, p) -> true; // If no value, consider it as "is-not" match
+        }
+        if ("in".equalsIgnoreCase(operator) && values != null) {
+            Set<String> usernames = new HashSet<>(values);
+            return (c, p) -> usernames.contains(c.username);
+        }
+        if ("not-in".equalsIgnoreCase(operator) && values != null) {
+            Set<String> usernames = new HashSet<>(values);
+            return (c, p) -> !usernames.contains(c.username);
+        }
+        return (c, p) -> false;
+    }
+
+    private static Condition groupCondition(String operator, Object value) {
+        List<String> values = stringList(value);
+        Predicate<UserContext> inAny = values != null
+                ? c -> values.stream().anyMatch(c::isInGroup)
+                : c -> value instanceof String && c.isInGroup((String) value);
+
+        // "is" / "is-not": single-select UI; a list only counts when it holds exactly one group
+        if ("is".equalsIgnoreCase(operator)) {
+            if (value instanceof String || (values != null && values.size() == 1)) {
+                return (c, p) -> inAny.test(c);
+            }
+            return (c, p) -> false;
+        }
+        if ("is-not".equalsIgnoreCase(operator)) {
+            if (value instanceof String || (values != null && values.size() == 1)) {
+                return (c, p) -> !inAny.test(c);
+            }
+            return (c, p) -> true;
+        }
+        // "in" / "not-in": multi-select, any of the groups
+        if ("in".equalsIgnoreCase(operator) && (values != null || value instanceof String)) {
+            return (c, p) -> inAny.test(c);
+        }
+        if ("not-in".equalsIgnoreCase(operator) && (values != null || value instanceof String)) {
+            return (c, p) -> !inAny.test(c);
+        }
+        return (c, p) -> false;
+    }
+
+    private static Condition roleCondition(String operator, Object value) {
+        List<String> values = stringList(value);
+        if ("in".equalsIgnoreCase(operator) && values != null) {
+            return (c, p) -> c.roles(p) != null && values.stream().anyMatch(role -> c.hasRole(p, role));
+        }
+        if ("not-in".equalsIgnoreCase(operator) && values != null) {
+            return (c, p) -> c.roles(p) != null && values.stream().noneMatch(role -> c.hasRole(p, role));
+        }
+        if ("in".equalsIgnoreCase(operator) && value instanceof String) {
+            String role = (String) value;
+            return (c, p) -> c.roles(p) != null && c.hasRole(p, role);
+        }
+        if ("not-in".equalsIgnoreCase(operator) && value instanceof String) {
+            String role = (String) value;
+            return (c, p) -> c.roles(p) != null && !c.hasRole(p, role);
+        }
+        return (c, p) -> false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> stringList(Object value) {
+        if (!(value instanceof List)) {
+            return null;
+        }
+        List<String> strings = new ArrayList<>();
+        for (Object item : (List<Object>) value) {
+            strings.add(item != null ? item.toString() : null);
+        }
+        return strings;
+    }
+}
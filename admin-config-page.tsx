@@ -9,6 +9,7 @@ import { ADMIN_TABS, type AdminTab } from "@/types/admin-config.types";
 import { GeneralSettingsTab } from "./general-settings-tab";
 import { RestrictedProjectsTab } from "./restricted-projects-tab";
 import { EchoAiSettingsTab } from "./echo-ai-settings-tab";
+import { RedirectTraceSettingsTab } from "./redirect-trace-settings-tab";
 
 /**
  * Global Admin Configuration Page
@@ -193,7 +194,12 @@ export function AdminConfigPage() {
 
       {/* Tab content */}
       <div>
-        {activeTab === "general-settings" && <GeneralSettingsTab onDirty={markDirty} />}
+        {activeTab === "general-settings" && (
+          <>
+            <GeneralSettingsTab onDirty={markDirty} />
+            <RedirectTraceSettingsTab />
+          </>
+        )}
         {activeTab === "restricted-projects" && <RestrictedProjectsTab onDirty={markDirty} />}
         {activeTab === "echo-ai" && <EchoAiSettingsTab onDirty={markDirty} />}
       </div>
@@ -9,3 +9,4 @@ export { GeneralSettingsTab } from "./general-settings-tab";
 export { RestrictedProjectsTab } from "./restricted-projects-tab";
 export { EchoAiSettingsTab } from "./echo-ai-settings-tab";
 
+export { RedirectTraceSettingsTab } from "./redirect-trace-settings-tab";
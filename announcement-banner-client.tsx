@@ -11,8 +11,11 @@ export type AnnouncementBannerConfig = {
   textColor: string;
   updatedBy?: string;
   updatedAtEpochMs?: number;
+  version?: number;
 };
 
+// The endpoint sends an ETag with "Cache-Control: private, no-cache", so the browser
+// revalidates with If-None-Match and reuses its cached copy on 304.
 export async function fetchAnnouncementBanner(): Promise<AnnouncementBannerConfig> {
   const response = await fetch(`${API_BASE}/announcement-banner`, {
     credentials: "same-origin",
@@ -74,8 +74,14 @@ export interface ProjectFieldsResponse {
 export interface IssueSearchFacets {
   statuses: string[];
   priorities: string[];
+  issueTypes?: string[];
+  assignees?: string[];
+  resolutions?: string[];
 }
 
+/** Per-facet value counts (value label -> number of matching issues) */
+export type IssueSearchFacetCounts = Partial<Record<keyof IssueSearchFacets, Record<string, number>>>;
+
 export interface IssueSearchResponse {
   issues: Issue[];
   totalCount: number;
@@ -93,7 +99,27 @@ export interface IssueSearchResponse {
   searchedAsUserName?: string | null;
   searchedAsUserDisplayName?: string | null;
   resolvedJqlQuery?: string | null;
-  facets?: IssueSearchFacets
+  // Per-search lookup cache counters (hits, misses, ...) for debugging
+  conversionCacheStats?: Record<string, number> | null;
+  facets?: IssueSearchFacets;
+  facetCounts?: IssueSearchFacetCounts;
+  /** Cursor of the next page (cursor mode only; null on the last page) */
+  nextCursor?: string | null;
+  /** True when a customer-request result covers only the newest requests (totalCount is a lower bound) */
+  resultsTruncated?: boolean;
+  /** With resultsTruncated: how many of the newest requests were searched */
+  resultsLimit?: number | null;
+  /** Engine that served the page: JQL index, or the service desk customer request fallback */
+  searchEngine?: 'jql' | 'customer-requests';
+  /** How the server planned the search (engine, projectKey, reason, cached) for debugging */
+  searchPlan?: {
+    engine: 'jql' | 'customer-requests';
+    projectKey?: string | null;
+    reason: string;
+    serviceDeskId?: number | null;
+    cached: boolean;
+    plannedAt: number;
+  } | null;
 }
 
 export interface IssueSearchParams {
@@ -113,8 +139,34 @@ export interface IssueSearchParams {
   sortField?: string;
   /** Server-side sort direction (asc|desc). Default handled server-side. */
   sortDir?: 'asc' | 'desc';
-  /** Include facets (status + priority) computed across the ENTIRE result set */
+  /** Include facets (values + counts) computed across the ENTIRE result set */
   includeFacets?: boolean;
+  /**
+   * Field projection - only these fields are loaded and returned (e.g. table column ids).
+   * id, key, projectKey and serviceDeskId are always returned. Omit to get every field.
+   */
+  fields?: string[];
+  /**
+   * Cursor paging - FIRST_PAGE_CURSOR for the first page, then the previous response's nextCursor.
+   * Replaces startIndex; deep pages cost the same as the first one and do not shift when issues are created.
+   */
+  cursor?: string;
+}
+
+/** Requests the first page in cursor mode */
+export const FIRST_PAGE_CURSOR = '*';
+
+/**
+ * Add the "fields" projection param (deduplicated) when provided
+ */
+function applyFieldsParam(searchParams: URLSearchParams, fields?: string[]): void {
+  if (!fields || fields.length === 0) {
+    return;
+  }
+  const unique = Array.from(new Set(fields.map(f => f.trim()).filter(Boolean)));
+  if (unique.length > 0) {
+    searchParams.set('fields', unique.join(','));
+  }
 }
 
 /**
@@ -132,6 +184,8 @@ export async function searchIssues(params: IssueSearchParams): Promise<IssueSear
     sortField,
     sortDir,
     includeFacets,
+    fields,
+    cursor,
   } = params;
 
   if (!jqlQuery) {
@@ -169,6 +223,13 @@ export async function searchIssues(params: IssueSearchParams): Promise<IssueSear
     searchParams.set('facets', 'true');
   }
 
+  applyFieldsParam(searchParams, fields);
+
+  // Cursor paging (server ignores "start" when a cursor is sent)
+  if (cursor) {
+    searchParams.set('cursor', cursor);
+  }
+
   const response = await fetch(`${API_BASE}/issues/search?${searchParams}`, {
     credentials: 'same-origin',
   });
@@ -185,7 +246,7 @@ export async function searchIssues(params: IssueSearchParams): Promise<IssueSear
  * Get issues for a specific project (current user's issues)
  */
 export async function fetchProjectIssues(params: IssueSearchParams): Promise<IssueSearchResponse> {
-  const { projectKey, startIndex = 0, pageSize = 25 } = params;
+  const { projectKey, startIndex = 0, pageSize = 25, fields } = params;
   
   if (!projectKey) {
     throw new Error('Project key is required');
@@ -195,6 +256,7 @@ export async function fetchProjectIssues(params: IssueSearchParams): Promise<Iss
     start: startIndex.toString(),
     limit: pageSize.toString(),
   });
+  applyFieldsParam(searchParams, fields);
 
   const response = await fetch(`${API_BASE}/projects/${projectKey}/issues?${searchParams}`, {
     credentials: 'same-origin',
@@ -212,7 +274,7 @@ export async function fetchProjectIssues(params: IssueSearchParams): Promise<Iss
  * Get all issues for a specific project (that user can see)
  */
 export async function fetchAllProjectIssues(params: IssueSearchParams): Promise<IssueSearchResponse> {
-  const { projectKey, startIndex = 0, pageSize = 25 } = params;
+  const { projectKey, startIndex = 0, pageSize = 25, fields } = params;
   
   if (!projectKey) {
     throw new Error('Project key is required');
@@ -222,6 +284,7 @@ export async function fetchAllProjectIssues(params: IssueSearchParams): Promise<
     start: startIndex.toString(),
     limit: pageSize.toString(),
   });
+  applyFieldsParam(searchParams, fields);
 
   const response = await fetch(`${API_BASE}/projects/${projectKey}/issues/all?${searchParams}`, {
     credentials: 'same-origin',
@@ -239,7 +302,7 @@ export async function fetchAllProjectIssues(params: IssueSearchParams): Promise<
  * Get issues for a specific project with additional filter
  */
 export async function fetchProjectIssuesWithFilter(params: IssueSearchParams): Promise<IssueSearchResponse> {
-  const { projectKey, filter, startIndex = 0, pageSize = 25 } = params;
+  const { projectKey, filter, startIndex = 0, pageSize = 25, fields } = params;
   
   if (!projectKey) {
     throw new Error('Project key is required');
@@ -253,6 +316,7 @@ export async function fetchProjectIssuesWithFilter(params: IssueSearchParams): P
   if (filter) {
     searchParams.set('filter', filter);
   }
+  applyFieldsParam(searchParams, fields);
 
   const response = await fetch(`${API_BASE}/projects/${projectKey}/issues/filter?${searchParams}`, {
     credentials: 'same-origin',
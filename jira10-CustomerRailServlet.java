@@ -10,8 +10,8 @@ import com.atlassian.jira.user.ApplicationUser;
 import com.atlassian.sal.api.ApplicationProperties;
 import com.atlassian.servicedesk.api.ServiceDesk;
 import com.atlassian.servicedesk.api.ServiceDeskManager;
-import com.samsungbuilder.jsm.dto.PortalConfigDTO;
-import com.samsungbuilder.jsm.service.PortalConfigService;
+import com.samsungbuilder.jsm.service.PortalLiveStateRegistry;
+import com.samsungbuilder.jsm.service.PortalRedirectTracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,7 +25,6 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * Customer Rail Servlet - Customer-facing portal interface
@@ -50,7 +49,8 @@ public class CustomerRailServlet extends HttpServlet {
     private static final String JS_RESOURCE_NAME = "rail-portal.js";
 
     // Lazily resolved OSGi services
-    private PortalConfigService portalConfigService;
+    private PortalLiveStateRegistry liveStateRegistry;
+    private PortalRedirectTracer tracer;
     private ServiceDeskManager serviceDeskManager;
 
     @Override
@@ -105,21 +105,32 @@ public class CustomerRailServlet extends HttpServlet {
             return;
         }
 
+        resolveServices();
+        PortalRedirectTracer.Trace trace = tracer != null
+                ? tracer.start("servlet", req.getRequestURI())
+                : PortalRedirectTracer.Trace.NOOP;
+        trace.route("customer-rail").project(project.getKey(), null);
+
         // CHECK IF PORTAL IS LIVE - if not, redirect to OOTB JSM portal
-        if (!isPortalLive(projectKey)) {
+        boolean live = isPortalLive(projectKey);
+        trace.live(live);
+        if (!live) {
             log.info("CustomerRailServlet - Portal for {} is NOT Live, redirecting to OOTB JSM portal", projectKey);
             String ootbPortalUrl = buildOotbPortalUrl(req, contextPath, projectKey);
             if (ootbPortalUrl != null) {
+                trace.finish("redirect-ootb-portal", ootbPortalUrl);
                 resp.sendRedirect(ootbPortalUrl);
                 return;
             }
             // If we can't determine the OOTB URL, show an error
+            trace.finish("portal-not-available", null);
             renderError(resp, contextPath, "Portal Not Available",
                        "The custom portal for '" + projectKey + "' is not currently active.");
             return;
         }
 
         // Render customer portal for the project
+        trace.finish("render", null);
         renderCustomerPortal(resp, contextPath, baseUrl, project);
     }
 
@@ -136,33 +147,21 @@ public class CustomerRailServlet extends HttpServlet {
      */
     private boolean isPortalLive(String projectKey) {
         try {
-            System.out.println(">>> CustomerRailServlet - isPortalLive check for: " + projectKey);
-
             // Try to resolve services - will use OSGi export now
             resolveServices();
 
-            if (portalConfigService == null) {
+            if (liveStateRegistry == null) {
                 // Service STILL unavailable after resolve attempt
-                System.out.println(">>> CustomerRailServlet - PortalConfigService NULL after resolve, returning FALSE");
-                log.warn("CustomerRailServlet - PortalConfigService unavailable for {}, redirecting to OOTB", projectKey);
+                log.warn("CustomerRailServlet - PortalLiveStateRegistry unavailable for {}, redirecting to OOTB", projectKey);
                 return false;
             }
 
-            System.out.println(">>> CustomerRailServlet - PortalConfigService resolved OK, checking config for: " + projectKey);
-            Optional<PortalConfigDTO> configOpt = portalConfigService.getPortalConfig(projectKey);
+            PortalLiveStateRegistry.LiveState state = liveStateRegistry.getState(projectKey);
 
-            if (configOpt.isPresent()) {
-                boolean isLive = configOpt.get().isLive();
-                System.out.println(">>> CustomerRailServlet - Portal " + projectKey + " isLive=" + isLive);
-                return isLive;
-            } else {
-                // No config exists - portal not set up yet, redirect to OOTB
-                System.out.println(">>> CustomerRailServlet - No config for " + projectKey + ", returning FALSE");
-                return false;
-            }
+            // No config exists - portal not set up yet, redirect to OOTB
+            return state != null && state.isConfigured() && state.isLive();
         } catch (Exception e) {
             // Error during check - redirect to OOTB for safety
-            System.out.println(">>> CustomerRailServlet - Error: " + e.getMessage() + ", returning FALSE");
             log.error("CustomerRailServlet - Error checking Live status for {}: {}", projectKey, e.getMessage());
             return false;
         }
@@ -176,7 +175,7 @@ public class CustomerRailServlet extends HttpServlet {
         try {
             resolveServices();
             if (serviceDeskManager == null) {
-                System.out.println(">>> CustomerRailServlet - ServiceDeskManager NULL for OOTB redirect");
+                log.warn("CustomerRailServlet - ServiceDeskManager unavailable for OOTB redirect");
                 return null;
             }
 
@@ -189,17 +188,16 @@ public class CustomerRailServlet extends HttpServlet {
 
             ServiceDesk serviceDesk = serviceDeskManager.getServiceDeskForProject(project);
             if (serviceDesk == null) {
-                System.out.println(">>> CustomerRailServlet - No ServiceDesk for project " + projectKey);
+                log.debug("CustomerRailServlet - No ServiceDesk for project {}", projectKey);
                 return null;
             }
 
             int portalId = serviceDesk.getId();
             // Add skipRail=true query parameter so the filter knows not to redirect this
             String ootbUrl = contextPath + "/servicedesk/customer/portal/" + portalId + "/?skipRail=true";
-            System.out.println(">>> CustomerRailServlet - Redirecting to OOTB: " + ootbUrl);
             return ootbUrl;
         } catch (Exception e) {
-            System.out.println(">>> CustomerRailServlet - Error building OOTB URL: " + e.getMessage());
+            log.warn("CustomerRailServlet - Error building OOTB URL for {}: {}", projectKey, e.getMessage());
             return null;
         }
     }
@@ -208,8 +206,11 @@ public class CustomerRailServlet extends HttpServlet {
      * Resolve OSGi services lazily.
      */
     private void resolveServices() {
-        if (portalConfigService == null) {
-            portalConfigService = ComponentAccessor.getOSGiComponentInstanceOfType(PortalConfigService.class);
+        if (liveStateRegistry == null) {
+            liveStateRegistry = ComponentAccessor.getOSGiComponentInstanceOfType(PortalLiveStateRegistry.class);
+        }
+        if (tracer == null) {
+            tracer = ComponentAccessor.getOSGiComponentInstanceOfType(PortalRedirectTracer.class);
         }
         if (serviceDeskManager == null) {
             serviceDeskManager = ComponentAccessor.getOSGiComponentInstanceOfType(ServiceDeskManager.class);
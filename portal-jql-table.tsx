@@ -18,7 +18,7 @@ import { usePortalBuilderStore } from "@/stores/portal-builder-store";
 import { useShallow } from "zustand/react/shallow";
 import { useState, useMemo, useEffect } from "react";
 import { useJQLSearch, useProjectIssues } from "@/hooks/use-issues";
-import { Issue, FieldInfo, fetchProjectFields } from "@/lib/api/issues-client";
+import { Issue, FieldInfo, FIRST_PAGE_CURSOR, fetchProjectFields } from "@/lib/api/issues-client";
 import { useQuery } from "@tanstack/react-query";
 import {
   DndContext,
@@ -157,17 +157,25 @@ export function PortalJQLTable(
   const [sortColumn, setSortColumn] = useState("");
   const [sortDirection, setSortDirection] = useState<"asc" | "desc">("asc");
   const [currentPage, setCurrentPage] = useState(0);
+  // Cursor of each visited page; deeper pages resume after the previous page's last row instead of an offset
+  const [pageCursors, setPageCursors] = useState<string[]>([FIRST_PAGE_CURSOR]);
   const [statusFilter, setStatusFilter] = useState<string[]>([]);
   const [priorityFilter, setPriorityFilter] = useState<string[]>([]);
   const [isFilterOpen, setIsFilterOpen] = useState(false);
 
+  // A query change starts over from the first page; cursors of the previous query are rejected by the server
+  const resetPaging = () => {
+    setCurrentPage(0);
+    setPageCursors([FIRST_PAGE_CURSOR]);
+  };
+
   // Debounce search term to avoid excessive API calls (300ms delay)
   useEffect(() => {
     const timer = setTimeout(() => {
       setDebouncedSearchTerm(searchInput);
       // Reset to first page when search changes
       if (searchInput !== debouncedSearchTerm) {
-        setCurrentPage(0);
+        resetPaging();
       }
     }, 300);
     return () => clearTimeout(timer);
@@ -175,7 +183,7 @@ export function PortalJQLTable(
 
   // Reset to first page when filters change
   useEffect(() => {
-    setCurrentPage(0);
+    resetPaging();
   }, [statusFilter, priorityFilter]);
 
   // Determine whether to use JQL or project-based query
@@ -208,6 +216,18 @@ export function PortalJQLTable(
   }, [jqlQuery, effectiveProjectKey]);
 
   const shouldUseJQL = Boolean(resolvedJqlQuery);
+
+  // Reset to first page when the table's JQL changes
+  useEffect(() => {
+    resetPaging();
+  }, [resolvedJqlQuery]);
+
+  // Only request the fields the table renders (status/priority are always needed for the filter badges)
+  const columnIdsKey = columns.map((column) => column.id).join(",");
+  const requestedFields = useMemo(
+    () => [...columnIdsKey.split(","), "status", "priority"],
+    [columnIdsKey],
+  );
   const fallbackProjectKey = resolvedApiProjectKey || "DEMO"; // Fallback for development
 
   // Build server-side filter params (comma-separated strings)
@@ -217,7 +237,13 @@ export function PortalJQLTable(
   // Use JQL search if query contains project, otherwise use project-based search
   // SERVER-SIDE SEARCH/FILTER: Pass search and filter params to the API
   // This enables searching across the ENTIRE result set, not just the current page
-  const { data: jqlData, isLoading: isJqlLoading, error: jqlError, isFetching: isJqlFetching } = useJQLSearch(
+  const {
+    data: jqlData,
+    isLoading: isJqlLoading,
+    error: jqlError,
+    isFetching: isJqlFetching,
+    isPlaceholderData: isJqlPlaceholderData,
+  } = useJQLSearch(
     shouldUseJQL ? resolvedJqlQuery : null,
     {
       startIndex: currentPage * pageSize,
@@ -232,15 +258,31 @@ export function PortalJQLTable(
       sortDir: sortDirection,
       // Include facets so filter dropdowns can show ALL available values
       includeFacets: shouldUseJQL,
+      fields: requestedFields,
+      // Cursor paging (page 0 always starts from the first page)
+      cursor: currentPage === 0 ? FIRST_PAGE_CURSOR : pageCursors[currentPage],
     }
   );
 
+  // Remember where the page after this one starts (not from previous data shown while the new query loads)
+  useEffect(() => {
+    const nextCursor = jqlData?.nextCursor;
+    if (!nextCursor || isJqlPlaceholderData) return;
+    setPageCursors((prev) => {
+      if (prev[currentPage + 1] === nextCursor) return prev;
+      const next = prev.slice(0, currentPage + 1);
+      next[currentPage + 1] = nextCursor;
+      return next;
+    });
+  }, [jqlData?.nextCursor, isJqlPlaceholderData, currentPage]);
+
   const { data: projectData, isLoading: isProjectLoading, error: projectError } = useProjectIssues(
     !shouldUseJQL ? fallbackProjectKey : null,
     {
       startIndex: currentPage * pageSize,
       pageSize,
       enabled: !shouldUseJQL,
+      fields: requestedFields,
     }
   );
 
@@ -295,12 +337,12 @@ export function PortalJQLTable(
     if (sortColumn === columnId) {
       setSortDirection(sortDirection === "asc" ? "desc" : "asc");
       // Sorting changes affect ordering across entire set; reset to first page
-      setCurrentPage(0);
+      resetPaging();
     } else {
       setSortColumn(columnId);
       setSortDirection("asc");
       // Sorting changes affect ordering across entire set; reset to first page
-      setCurrentPage(0);
+      resetPaging();
     }
   };
 
@@ -974,6 +1016,12 @@ export function PortalJQLTable(
               <span className="ml-1">(filtered)</span>
             )}
           </span>
+          {/* Customer request fallback: only the newest requests were searched, older matches are missing */}
+          {data?.resultsTruncated && (
+            <span>
+              Results limited to the newest {data.resultsLimit ? `${data.resultsLimit} ` : ""}requests
+            </span>
+          )}
         </div>
       )}
 
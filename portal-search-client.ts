@@ -0,0 +1,89 @@
+/**
+ * API Client for the unified portal search
+ * Portals and request types ranked, highlighted and permission-filtered by the backend
+ */
+
+const API_BASE = '/rest/rail/1.0';
+
+export type PortalSearchMatchType = 'exact' | 'prefix' | 'contains' | 'fuzzy';
+
+export interface HighlightRange {
+  start: number;
+  end: number; // exclusive
+}
+
+export interface PortalSearchResult {
+  type: 'portal' | 'requestType';
+  projectKey: string;
+  projectName: string;
+  projectDescription?: string;
+  serviceDeskId?: string;
+  portalId?: string;
+  isLive: boolean;
+  requestType?: {
+    id: string;
+    name: string;
+    description?: string;
+    iconUrl?: string;
+    groups?: string[];
+  } | null;
+  score: number;
+  matchType: PortalSearchMatchType;
+  matchedField: string;
+  // Keyed by projectName, projectKey, projectDescription, requestTypeName, requestTypeDescription, groups
+  highlights: Record<string, HighlightRange[]>;
+}
+
+export interface PortalSearchResponse {
+  results: PortalSearchResult[];
+  count: number;
+  searchTerm: string;
+}
+
+// /rail-at-sas/frontend/lib/api/portal-search-client.ts
+/**
+ * Search portals and request types in one call
+ */
+export async function searchPortals(
+  searchTerm: string,
+  limit: number = 20,
+  signal?: AbortSignal
+): Promise<PortalSearchResponse> {
+  const params = new URLSearchParams({ q: searchTerm, limit: String(limit) });
+  const response = await fetch(`${API_BASE}/search?${params}`, { signal });
+
+  if (!response.ok) {
+    throw new Error(`Failed to search portals: ${response.statusText}`);
+  }
+
+  return response.json();
+}
+
+/**
+ * Split text into highlighted / plain parts using server-provided ranges
+ */
+export function splitByHighlights(
+  text: string,
+  ranges: HighlightRange[] | undefined
+): Array<{ text: string; highlight: boolean }> {
+  if (!text || !ranges?.length) {
+    return [{ text, highlight: false }];
+  }
+
+  const parts: Array<{ text: string; highlight: boolean }> = [];
+  let cursor = 0;
+
+  for (const range of ranges) {
+    if (range.start > cursor) {
+      parts.push({ text: text.slice(cursor, range.start), highlight: false });
+    }
+    parts.push({ text: text.slice(range.start, range.end), highlight: true });
+    cursor = range.end;
+  }
+
+  if (cursor < text.length) {
+    parts.push({ text: text.slice(cursor), highlight: false });
+  }
+
+  return parts;
+}
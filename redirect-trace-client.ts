@@ -0,0 +1,75 @@
+// /rail-at-sas/frontend/lib/api/redirect-trace-client.ts
+const API_BASE = "/rest/rail/1.0";
+
+export type RedirectTraceSettings = {
+  enabled: boolean;
+  sampleRate: number;
+  capacity: number;
+  recorded?: number;
+  sampledOut?: number;
+};
+
+export type RedirectTraceEntry = {
+  sequence: number;
+  timestamp: number;
+  source: "filter" | "servlet";
+  path: string;
+  route?: string | null;
+  portalId?: number | null;
+  projectKey?: string | null;
+  cacheHit?: boolean | null;
+  live?: boolean | null;
+  outcome: string;
+  target?: string | null;
+  detail?: string | null;
+  durationMicros: number;
+};
+
+export type RedirectTraceResponse = {
+  settings: RedirectTraceSettings;
+  traces: RedirectTraceEntry[];
+};
+
+export async function fetchRedirectTrace(limit = 100): Promise<RedirectTraceResponse> {
+  const response = await fetch(`${API_BASE}/admin/diagnostics/redirect-trace?limit=${limit}`, {
+    credentials: "same-origin",
+  });
+
+  if (!response.ok) {
+    throw new Error(`Failed to fetch redirect traces: ${response.status}`);
+  }
+
+  return response.json();
+}
+
+export async function updateRedirectTraceSettings(
+  payload: Partial<Pick<RedirectTraceSettings, "enabled" | "sampleRate" | "capacity">>
+): Promise<RedirectTraceSettings> {
+  const response = await fetch(`${API_BASE}/admin/diagnostics/redirect-trace`, {
+    method: "PUT",
+    credentials: "same-origin",
+    headers: {
+      "Content-Type": "application/json",
+    },
+    body: JSON.stringify(payload),
+  });
+
+  if (!response.ok) {
+    throw new Error(`Failed to update redirect trace settings: ${response.status}`);
+  }
+
+  return response.json();
+}
+
+export async function clearRedirectTrace(): Promise<RedirectTraceSettings> {
+  const response = await fetch(`${API_BASE}/admin/diagnostics/redirect-trace`, {
+    method: "DELETE",
+    credentials: "same-origin",
+  });
+
+  if (!response.ok) {
+    throw new Error(`Failed to clear redirect traces: ${response.status}`);
+  }
+
+  return response.json();
+}
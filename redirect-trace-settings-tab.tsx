@@ -0,0 +1,189 @@
+// /rail-at-sas/frontend/components/admin/redirect-trace-settings-tab.tsx
+
+"use client";
+
+import { useCallback, useEffect, useState } from "react";
+import { RefreshCw, Trash2 } from "lucide-react";
+import { Button } from "@/components/ui/button";
+import { Card, CardContent, CardHeader, CardTitle, CardDescription } from "@/components/ui/card";
+import { Input } from "@/components/ui/input";
+import { Label } from "@/components/ui/label";
+import { Switch } from "@/components/ui/switch";
+import {
+    clearRedirectTrace,
+    fetchRedirectTrace,
+    updateRedirectTraceSettings,
+    type RedirectTraceEntry,
+    type RedirectTraceSettings,
+} from "@/lib/api/redirect-trace-client";
+import { toast } from "sonner";
+
+const DEFAULTS: RedirectTraceSettings = {
+    enabled: false,
+    sampleRate: 1,
+    capacity: 200,
+};
+
+/**
+ * Portal redirect tracing - runtime toggle and viewer for the last N redirect decisions
+ * made by the customer portal redirect filter and the customer-rail servlet.
+ */
+export function RedirectTraceSettingsTab() {
+    const [settings, setSettings] = useState<RedirectTraceSettings>(DEFAULTS);
+    const [traces, setTraces] = useState<RedirectTraceEntry[]>([]);
+    const [isLoading, setIsLoading] = useState(false);
+
+    const load = useCallback(async () => {
+        setIsLoading(true);
+        try {
+            const data = await fetchRedirectTrace(100);
+            setSettings(data.settings);
+            setTraces(data.traces);
+        } catch (error) {
+            console.error(error);
+            toast.error("Failed to load redirect traces");
+        } finally {
+            setIsLoading(false);
+        }
+    }, []);
+
+    useEffect(() => {
+        void load();
+    }, [load]);
+
+    const apply = async (updates: Partial<RedirectTraceSettings>) => {
+        try {
+            const saved = await updateRedirectTraceSettings(updates);
+            setSettings(saved);
+        } catch (error) {
+            console.error(error);
+            toast.error("Failed to update redirect trace settings");
+        }
+    };
+
+    const onClear = async () => {
+        try {
+            const saved = await clearRedirectTrace();
+            setSettings(saved);
+            setTraces([]);
+        } catch (error) {
+            console.error(error);
+            toast.error("Failed to clear redirect traces");
+        }
+    };
+
+    return (
+        <Card>
+            <CardHeader>
+                <CardTitle>Portal Redirect Tracing</CardTitle>
+                <CardDescription>
+                    Record how legacy portal URLs are routed. Takes effect immediately and resets on plugin restart.
+                </CardDescription>
+            </CardHeader>
+            <CardContent className="space-y-6">
+                <div className="flex items-center justify-between rounded-md border p-4">
+                    <div className="space-y-1">
+                        <Label htmlFor="redirect-trace-enabled">Enable tracing</Label>
+                        <p className="text-sm text-muted-foreground">
+                            Keep the most recent redirect decisions in memory.
+                        </p>
+                    </div>
+                    <Switch
+                        id="redirect-trace-enabled"
+                        checked={settings.enabled}
+                        onCheckedChange={(checked) => void apply({ enabled: checked })}
+                    />
+                </div>
+
+                <div className="grid gap-4 md:grid-cols-2">
+                    <div className="space-y-2">
+                        <Label>Sample rate (1 in N requests)</Label>
+                        <Input
+                            type="number"
+                            min={1}
+                            value={settings.sampleRate}
+                            onChange={(e) => setSettings((prev) => ({ ...prev, sampleRate: parseInt(e.target.value, 10) || 1 }))}
+                            onBlur={() => void apply({ sampleRate: settings.sampleRate })}
+                        />
+                    </div>
+
+                    <div className="space-y-2">
+                        <Label>Buffer size</Label>
+                        <Input
+                            type="number"
+                            min={1}
+                            max={5000}
+                            value={settings.capacity}
+                            onChange={(e) => setSettings((prev) => ({ ...prev, capacity: parseInt(e.target.value, 10) || 200 }))}
+                            onBlur={() => void apply({ capacity: settings.capacity })}
+                        />
+                    </div>
+                </div>
+
+                <div className="flex items-center justify-between">
+                    <p className="text-sm text-muted-foreground">
+                        {settings.recorded ?? 0} recorded, {settings.sampledOut ?? 0} skipped by sampling
+                    </p>
+                    <div className="flex gap-2">
+                        <Button variant="outline" onClick={() => void load()} disabled={isLoading} className="cursor-pointer">
+                            <RefreshCw className="mr-2 h-4 w-4" />
+                            Refresh
+                        </Button>
+                        <Button variant="outline" onClick={() => void onClear()} className="cursor-pointer">
+                            <Trash2 className="mr-2 h-4 w-4" />
+                            Clear
+                        </Button>
+                    </div>
+                </div>
+
+                <div className="max-h-96 overflow-auto rounded-md border">
+                    <table className="w-full text-xs">
+                        <thead className="sticky top-0 bg-muted">
+                            <tr className="text-left">
+                                <th className="p-2">Time</th>
+                                <th className="p-2">Path</th>
+                                <th className="p-2">Route</th>
+                                <th className="p-2">Project</th>
+                                <th className="p-2">Live</th>
+                                <th className="p-2">Outcome</th>
+                                <th className="p-2">Target</th>
+                                <th className="p-2 text-right">µs</th>
+                            </tr>
+                        </thead>
+                        <tbody>
+                            {traces.length === 0 ? (
+                                <tr>
+                                    <td colSpan={8} className="p-3 text-center text-muted-foreground">
+                                        No redirect decisions recorded.
+                                    </td>
+                                </tr>
+                            ) : (
+                                traces.map((trace) => (
+                                    <tr key={trace.sequence} className="border-t align-top">
+                                        <td className="p-2 whitespace-nowrap">
+                                            {new Date(trace.timestamp).toLocaleTimeString()}
+                                        </td>
+                                        <td className="p-2 break-all">{trace.path}</td>
+                                        <td className="p-2">{trace.route ?? "-"}</td>
+                                        <td className="p-2">
+                                            {trace.projectKey ?? "-"}
+                                            {trace.cacheHit != null && (
+                                                <span className="ml-1 text-muted-foreground">
+                                                    ({trace.cacheHit ? "cached" : "loaded"})
+                                                </span>
+                                            )}
+                                        </td>
+                                        <td className="p-2">{trace.live == null ? "-" : trace.live ? "yes" : "no"}</td>
+                                        <td className="p-2" title={trace.detail ?? undefined}>{trace.outcome}</td>
+                                        <td className="p-2 break-all">{trace.target ?? "-"}</td>
+                                        <td className="p-2 text-right">{trace.durationMicros}</td>
+                                    </tr>
+                                ))
+                            )}
+                        </tbody>
+                    </table>
+                </div>
+            </CardContent>
+        </Card>
+    );
+}
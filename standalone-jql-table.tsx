@@ -26,7 +26,7 @@ import { Popover, PopoverTrigger, PopoverContent } from "@/components/ui/popover
 import { ArrowUp, ArrowDown, ArrowUpDown, Search, Filter, ExternalLink, Loader2 } from "lucide-react";
 import { cn } from "@/lib/utils";
 import { useJQLSearch } from "@/hooks/use-issues";
-import { Issue } from "@/lib/api/issues-client";
+import { FIRST_PAGE_CURSOR, Issue } from "@/lib/api/issues-client";
 import type { StandaloneJQLTableProps, ColumnConfig } from "@/types/landing.types";
 
 // Default columns if none provided
@@ -52,17 +52,25 @@ export function StandaloneJQLTable({
   const [sortColumn, setSortColumn] = useState("");
   const [sortDirection, setSortDirection] = useState<"asc" | "desc">("asc");
   const [currentPage, setCurrentPage] = useState(0);
+  // Cursor of each visited page; deeper pages resume after the previous page's last row instead of an offset
+  const [pageCursors, setPageCursors] = useState<string[]>([FIRST_PAGE_CURSOR]);
   const [statusFilter, setStatusFilter] = useState<string[]>([]);
   const [priorityFilter, setPriorityFilter] = useState<string[]>([]);
   const [isFilterOpen, setIsFilterOpen] = useState(false);
 
+  // A query change starts over from the first page; cursors of the previous query are rejected by the server
+  const resetPaging = () => {
+    setCurrentPage(0);
+    setPageCursors([FIRST_PAGE_CURSOR]);
+  };
+
   // Debounce search term to avoid excessive API calls (300ms delay)
   useEffect(() => {
     const timer = setTimeout(() => {
       setDebouncedSearchTerm(searchInput);
       // Reset to first page when search changes
       if (searchInput !== debouncedSearchTerm) {
-        setCurrentPage(0);
+        resetPaging();
       }
     }, 300);
     return () => clearTimeout(timer);
@@ -70,15 +78,27 @@ export function StandaloneJQLTable({
 
   // Reset to first page when filters change
   useEffect(() => {
-    setCurrentPage(0);
+    resetPaging();
   }, [statusFilter, priorityFilter]);
 
+  // Reset to first page when the table's JQL changes
+  useEffect(() => {
+    resetPaging();
+  }, [jqlQuery]);
+
   // Build server-side filter params (comma-separated strings)
   const serverStatusFilter = statusFilter.length > 0 ? statusFilter.join(",") : undefined;
   const serverPriorityFilter = priorityFilter.length > 0 ? priorityFilter.join(",") : undefined;
 
+  // Only request the fields the table renders (status/priority are always needed for the filter badges)
+  const columnIdsKey = columns.map((column) => column.id).join(",");
+  const requestedFields = useMemo(
+    () => [...columnIdsKey.split(","), "status", "priority"],
+    [columnIdsKey],
+  );
+
   // Fetch issues using JQL with server-side search and filtering
-  const { data, isLoading, error, isFetching } = useJQLSearch(
+  const { data, isLoading, error, isFetching, isPlaceholderData } = useJQLSearch(
     jqlQuery,
     {
       startIndex: currentPage * pageSize,
@@ -92,9 +112,24 @@ export function StandaloneJQLTable({
       sortDir: sortDirection,
       // Include facets so filter dropdowns show ALL available values (across full match-set)
       includeFacets: true,
+      fields: requestedFields,
+      // Cursor paging (page 0 always starts from the first page)
+      cursor: currentPage === 0 ? FIRST_PAGE_CURSOR : pageCursors[currentPage],
     }
   );
 
+  // Remember where the page after this one starts (not from previous data shown while the new query loads)
+  useEffect(() => {
+    const nextCursor = data?.nextCursor;
+    if (!nextCursor || isPlaceholderData) return;
+    setPageCursors((prev) => {
+      if (prev[currentPage + 1] === nextCursor) return prev;
+      const next = prev.slice(0, currentPage + 1);
+      next[currentPage + 1] = nextCursor;
+      return next;
+    });
+  }, [data?.nextCursor, isPlaceholderData, currentPage]);
+
   // Show loading indicator when fetching (includes refetches for search/filter)
   const isSearching = isFetching && debouncedSearchTerm !== "";
 
@@ -146,7 +181,7 @@ export function StandaloneJQLTable({
       setSortDirection("asc");
     }
     // Sorting changes affect ordering across entire set; reset to first page
-    setCurrentPage(0);
+    resetPaging();
   };
 
   /**
@@ -822,6 +857,12 @@ export function StandaloneJQLTable({
               <span className="ml-1">(filtered)</span>
             )}
           </span>
+          {/* Customer request fallback: only the newest requests were searched, older matches are missing */}
+          {data?.resultsTruncated && (
+            <span>
+              Results limited to the newest {data.resultsLimit ? `${data.resultsLimit} ` : ""}requests
+            </span>
+          )}
         </div>
       )}
 
@@ -1,4 +1,5 @@
 /* rail-at-sas/frontend/hooks/use-issues.ts  */
+import { useEffect } from 'react';
 import { useQuery, useQueryClient } from '@tanstack/react-query';
 import { fetchIssues, IssueSearchParams, IssueSearchResponse } from '@/lib/api/issues-client';
 
@@ -40,8 +41,12 @@ export function useJQLSearch(jqlQuery: string | null, options?: {
   sortField?: string;
   /** Server-side sort direction (asc|desc) */
   sortDir?: 'asc' | 'desc';
-  /** Include facets (status + priority) computed across the ENTIRE result set */
+  /** Include facets (values + counts) computed across the ENTIRE result set */
   includeFacets?: boolean;
+  /** Field projection (e.g. visible column ids) - only these fields are returned */
+  fields?: string[];
+  /** Page cursor (FIRST_PAGE_CURSOR or a previous response's nextCursor); replaces startIndex */
+  cursor?: string;
 }) {
   const {
     startIndex = 0,
@@ -53,22 +58,37 @@ export function useJQLSearch(jqlQuery: string | null, options?: {
     sortField,
     sortDir,
     includeFacets,
+    fields,
+    cursor,
   } = options || {};
 
-  return useIssues(
-    {
-      jqlQuery: jqlQuery || undefined,
-      startIndex,
-      pageSize,
-      searchTerm,
-      statusFilter,
-      priorityFilter,
-      sortField,
-      sortDir,
-      includeFacets,
-    },
-    enabled && !!jqlQuery
-  );
+  const params: IssueSearchParams = {
+    jqlQuery: jqlQuery || undefined,
+    startIndex,
+    pageSize,
+    searchTerm,
+    statusFilter,
+    priorityFilter,
+    sortField,
+    sortDir,
+    includeFacets,
+    fields,
+    cursor,
+  };
+  const query = useIssues(params, enabled && !!jqlQuery);
+
+  // Customer request fallback pages come from a server-side list of the user's requests,
+  // so the next page is cheap to load ahead of the click
+  const prefetchNextPage = usePrefetchIssuesNextPage();
+  const data = query.data;
+  useEffect(() => {
+    if (data?.searchEngine === 'customer-requests' && data.hasNextPage) {
+      prefetchNextPage(params, data.nextCursor);
+    }
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [data]);
+
+  return query;
 }
 
 /**
@@ -80,13 +100,16 @@ export function useProjectIssues(projectKey: string | null, options?: {
   filter?: string;
   includeAllProjectIssues?: boolean;
   enabled?: boolean;
+  /** Field projection (e.g. visible column ids) - only these fields are returned */
+  fields?: string[];
 }) {
   const { 
     startIndex = 0, 
     pageSize = 25, 
     filter, 
     includeAllProjectIssues = false, 
-    enabled = true
+    enabled = true,
+    fields,
   } = options || {};
   
   return useIssues(
@@ -96,6 +119,7 @@ export function useProjectIssues(projectKey: string | null, options?: {
       pageSize,
       filter,
       includeAllProjectIssues,
+      fields,
     },
     enabled && !!projectKey
   );
@@ -107,10 +131,15 @@ export function useProjectIssues(projectKey: string | null, options?: {
 export function usePrefetchIssuesNextPage() {
   const queryClient = useQueryClient();
   
-  return (params: IssueSearchParams) => {
+  return (params: IssueSearchParams, nextCursor?: string | null) => {
+    // Cursor-paged searches continue from the current response's nextCursor
+    if (params.cursor && !nextCursor) {
+      return;
+    }
     const nextPageParams = {
       ...params,
       startIndex: (params.startIndex || 0) + (params.pageSize || 25),
+      ...(params.cursor ? { cursor: nextCursor as string } : {}),
     };
     
     queryClient.prefetchQuery({
@@ -1,6 +1,7 @@
 // /rail-at-sas/frontend/hooks/use-request-types.ts
 import { useQuery } from '@tanstack/react-query';
 import { fetchRequestTypes, fetchRequestTypeById, searchRequestTypes, searchAllRequestTypes } from '@/lib/api/request-types-client';
+import { searchPortals } from '@/lib/api/portal-search-client';
 
 export function useRequestTypes(projectKey: string | null) {
   return useQuery({
@@ -41,3 +42,16 @@ export function useGlobalRequestTypeSearch(searchTerm: string, limit: number = 2
     staleTime: 2 * 60 * 1000,
   });
 }
+
+/**
+ * Hook for the unified portal + request type search (ranked and highlighted server-side)
+ */
+export function usePortalSearch(searchTerm: string, limit: number = 20) {
+  const trimmed = searchTerm.trim();
+  return useQuery({
+    queryKey: ['portal-search', trimmed, limit],
+    queryFn: ({ signal }) => searchPortals(trimmed, limit, signal),
+    enabled: trimmed.length >= 2, // Only search with 2+ characters
+    staleTime: 2 * 60 * 1000,
+  });
+}